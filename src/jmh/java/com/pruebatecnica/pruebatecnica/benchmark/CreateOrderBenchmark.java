@@ -0,0 +1,82 @@
+package com.pruebatecnica.pruebatecnica.benchmark;
+
+import com.pruebatecnica.pruebatecnica.PruebatecnicaApplication;
+import com.pruebatecnica.pruebatecnica.dto.CreateOrderRequest;
+import com.pruebatecnica.pruebatecnica.dto.OrderItemRequest;
+import com.pruebatecnica.pruebatecnica.model.Order;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.repository.ProductRepository;
+import com.pruebatecnica.pruebatecnica.service.order.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderService.createOrder de extremo a extremo contra H2 en memoria.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CreateOrderBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    public int lines;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private JdbcTemplate jdbcTemplate;
+    private CreateOrderRequest request;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(PruebatecnicaApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:jmh-create-order",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.com.pruebatecnica.pruebatecnica=WARN",
+                        "logging.level.org.springframework.web=WARN")
+                .run();
+        orderService = context.getBean(OrderService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        List<OrderItemRequest> items = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            Product product = productRepository.save(
+                    new Product("Benchmark " + i, new BigDecimal("19.99"), Integer.MAX_VALUE));
+            items.add(new OrderItemRequest(product.getId(), 1));
+        }
+        request = new CreateOrderRequest("Benchmark", "bench@test.com", items);
+    }
+
+    /**
+     * Vacía las órdenes entre iteraciones para que el tamaño de la base de
+     * datos no sesgue las mediciones siguientes.
+     */
+    @Setup(Level.Iteration)
+    public void clearOrders() {
+        jdbcTemplate.update("DELETE FROM order_items");
+        jdbcTemplate.update("DELETE FROM orders");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Order createOrder() {
+        return orderService.createOrder(request);
+    }
+}
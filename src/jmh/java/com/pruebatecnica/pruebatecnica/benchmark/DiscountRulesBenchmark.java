@@ -0,0 +1,73 @@
+package com.pruebatecnica.pruebatecnica.benchmark;
+
+import com.pruebatecnica.pruebatecnica.model.OrderLine;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.service.order.discount.rules.DiscountRule;
+import com.pruebatecnica.pruebatecnica.service.order.discount.rules.DiscountRuleEngine;
+import com.pruebatecnica.pruebatecnica.service.order.discount.rules.DiscountRuleType;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de DiscountRuleEngine según el número de reglas activas, para un
+ * pedido fijo de 20 líneas. Debe mantenerse plano al crecer rules.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiscountRulesBenchmark {
+
+    private static final int ORDER_LINES = 20;
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    public int rules;
+
+    private final DiscountRuleEngine engine = new DiscountRuleEngine();
+
+    private List<OrderLine> orderLines;
+    private long subtotalCents;
+
+    @Setup
+    public void setUp() {
+        orderLines = new ArrayList<>(ORDER_LINES);
+        for (int i = 0; i < ORDER_LINES; i++) {
+            Product product = new Product("Product " + i, new BigDecimal("19.99"), 1_000);
+            product.setId((long) i + 1);
+            orderLines.add(new OrderLine(product, 1 + i % 5));
+            subtotalCents += product.getPriceCents() * (1 + i % 5);
+        }
+        engine.reload(buildRules(rules));
+    }
+
+    /**
+     * Reparte las reglas entre los cuatro tipos; las de producto y cliente
+     * apuntan en su mayoría a ids y emails que no están en el pedido.
+     */
+    private static List<DiscountRule> buildRules(int count) {
+        List<DiscountRule> built = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            DiscountRuleType type = DiscountRuleType.values()[i % DiscountRuleType.values().length];
+            DiscountRule rule = new DiscountRule("rule-" + i, type, i % 7, i % 3 == 0, 100 + i % 900);
+            switch (type) {
+                case VARIETY -> rule.setMinDistinctProducts(1 + i % 30);
+                case VOLUME_TIER -> rule.setMinQuantity(1 + i % 100);
+                case PRODUCT -> rule.setProductId((long) i);
+                case CUSTOMER -> rule.setCustomerEmail("customer" + i + "@test.com");
+            }
+            built.add(rule);
+        }
+        return built;
+    }
+
+    @Benchmark
+    public long applyDiscount() {
+        return engine.applyDiscount(subtotalCents, orderLines, "customer3@test.com");
+    }
+}
@@ -0,0 +1,137 @@
+package com.pruebatecnica.pruebatecnica.benchmark;
+
+import com.pruebatecnica.pruebatecnica.PruebatecnicaApplication;
+import com.pruebatecnica.pruebatecnica.dto.OrderPageResponse;
+import com.pruebatecnica.pruebatecnica.model.OrderStatus;
+import com.pruebatecnica.pruebatecnica.service.order.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Historial de cliente y órdenes por estado sobre una tabla orders grande
+ * (10M filas por defecto), con los índices compuestos y, como referencia,
+ * la misma consulta obligada a recorrer la tabla.
+ *
+ * Los datos se generan una vez en una base H2 en fichero bajo build/jmh y
+ * se reutilizan en ejecuciones siguientes con el mismo número de órdenes.
+ * Ejecutar con -PjmhIncludes=OrderHistoryQueryBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class OrderHistoryQueryBenchmark {
+
+    private static final int CUSTOMERS = 100_000;
+    private static final int PENDING_EVERY = 50;
+    private static final int INSERT_CHUNK = 1_000_000;
+    private static final LocalDateTime FIRST_ORDER = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    // Orden i: cliente i % CUSTOMERS, creada FIRST_ORDER + 3i segundos, PENDING si i % PENDING_EVERY == 0
+    private static final String INSERT_ORDERS = """
+            INSERT INTO orders (id, customer_name, customer_email, total_amount, created_at, status)
+            SELECT x,
+                   'Customer ' || MOD(x, %1$d),
+                   'customer' || MOD(x, %1$d) || '@bench.test',
+                   10.00,
+                   DATEADD(SECOND, x * 3, TIMESTAMP '2020-01-01 00:00:00'),
+                   CASE WHEN MOD(x, %2$d) = 0 THEN 'PENDING' ELSE 'CONFIRMED' END
+            FROM SYSTEM_RANGE(?, ?)
+            """.formatted(CUSTOMERS, PENDING_EVERY);
+
+    private static final String CUSTOMER_PAGE_WITHOUT_INDEX = """
+            SELECT o.id FROM orders o USE INDEX ()
+            WHERE o.customer_email = ?
+            ORDER BY o.created_at DESC, o.id DESC
+            LIMIT 20
+            """;
+
+    @Param({"10000000"})
+    public int orders;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private JdbcTemplate jdbcTemplate;
+    private String deepPendingCursor;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(PruebatecnicaApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:file:./build/jmh/order-history-" + orders,
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.com.pruebatecnica.pruebatecnica=WARN",
+                        "logging.level.org.springframework.web=WARN")
+                .run();
+        orderService = context.getBean(OrderService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Long.class);
+        if (existing != orders) {
+            jdbcTemplate.update("DELETE FROM order_items");
+            jdbcTemplate.update("DELETE FROM orders");
+            for (long from = 1; from <= orders; from += INSERT_CHUNK) {
+                jdbcTemplate.update(INSERT_ORDERS, from, Math.min(from + INSERT_CHUNK - 1, orders));
+            }
+            jdbcTemplate.execute("ANALYZE");
+        }
+
+        // Cursor a mitad de las órdenes PENDING para medir una página profunda
+        OrderPageResponse page = orderService.getOrdersByStatus(
+                OrderStatus.PENDING, null, FIRST_ORDER.plusSeconds(3L * orders / 2), null, 1);
+        deepPendingCursor = page.getNextCursor();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    private static String randomCustomer() {
+        return "customer" + ThreadLocalRandom.current().nextInt(CUSTOMERS) + "@bench.test";
+    }
+
+    @Benchmark
+    public OrderPageResponse customerHistoryFirstPage() {
+        return orderService.getCustomerOrders(randomCustomer(), null, null, null, 20);
+    }
+
+    @Benchmark
+    public OrderPageResponse customerHistoryInDateRange() {
+        LocalDateTime from = FIRST_ORDER.plusSeconds(ThreadLocalRandom.current().nextLong(3L * orders));
+        return orderService.getCustomerOrders(randomCustomer(), from, from.plusDays(7), null, 20);
+    }
+
+    @Benchmark
+    public OrderPageResponse pendingOrdersFirstPage() {
+        return orderService.getOrdersByStatus(OrderStatus.PENDING, null, null, null, 20);
+    }
+
+    @Benchmark
+    public OrderPageResponse pendingOrdersDeepPage() {
+        return orderService.getOrdersByStatus(OrderStatus.PENDING, null, null, deepPendingCursor, 20);
+    }
+
+    /**
+     * Referencia sin índice: lo que costaba antes filtrar por cliente.
+     */
+    @Benchmark
+    @Warmup(iterations = 1, time = 1)
+    @Measurement(iterations = 3, time = 1)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Long> customerHistoryTableScan() {
+        return jdbcTemplate.queryForList(CUSTOMER_PAGE_WITHOUT_INDEX, Long.class, randomCustomer());
+    }
+}
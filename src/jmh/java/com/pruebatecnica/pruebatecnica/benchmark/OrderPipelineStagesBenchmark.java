@@ -0,0 +1,100 @@
+package com.pruebatecnica.pruebatecnica.benchmark;
+
+import com.pruebatecnica.pruebatecnica.dto.CreateOrderRequest;
+import com.pruebatecnica.pruebatecnica.dto.OrderItemRequest;
+import com.pruebatecnica.pruebatecnica.dto.OrderResponse;
+import com.pruebatecnica.pruebatecnica.model.Order;
+import com.pruebatecnica.pruebatecnica.model.OrderItem;
+import com.pruebatecnica.pruebatecnica.model.OrderLine;
+import com.pruebatecnica.pruebatecnica.model.OrderStatus;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.service.order.discount.VarietyDiscountPolicy;
+import com.pruebatecnica.pruebatecnica.service.order.pricing.PriceCalculator;
+import com.pruebatecnica.pruebatecnica.service.order.validation.OrderRequestValidator;
+import com.pruebatecnica.pruebatecnica.service.order.validation.StockValidator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de cada etapa en memoria de OrderService.createOrder, por número de
+ * líneas del pedido.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderPipelineStagesBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    public int lines;
+
+    private final OrderRequestValidator orderRequestValidator = new OrderRequestValidator();
+    private final StockValidator stockValidator = new StockValidator();
+    private final PriceCalculator priceCalculator = new PriceCalculator();
+    private final VarietyDiscountPolicy discountPolicy = new VarietyDiscountPolicy();
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    private CreateOrderRequest request;
+    private List<OrderLine> orderLines;
+    private long subtotalCents;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        List<OrderItemRequest> items = new ArrayList<>(lines);
+        orderLines = new ArrayList<>(lines);
+        order = new Order("Benchmark", "bench@test.com");
+        order.setId(1L);
+        order.setStatus(OrderStatus.CONFIRMED);
+
+        for (int i = 0; i < lines; i++) {
+            Product product = new Product("Product " + i, new BigDecimal("19.99"), 1_000_000);
+            product.setId((long) i + 1);
+            int quantity = 1 + i % 5;
+
+            items.add(new OrderItemRequest(product.getId(), quantity));
+            orderLines.add(new OrderLine(product, quantity));
+            order.addItem(new OrderItem(product, quantity));
+        }
+
+        request = new CreateOrderRequest("Benchmark", "bench@test.com", items);
+        subtotalCents = priceCalculator.calculateSubtotalCents(orderLines);
+        order.setTotalAmount(priceCalculator.calculateSubtotal(orderLines));
+    }
+
+    @Benchmark
+    public void validateRequest(Blackhole blackhole) {
+        orderRequestValidator.validate(request);
+        blackhole.consume(request);
+    }
+
+    @Benchmark
+    public void validateStock(Blackhole blackhole) {
+        stockValidator.validate(orderLines);
+        blackhole.consume(orderLines);
+    }
+
+    @Benchmark
+    public long calculateSubtotal() {
+        return priceCalculator.calculateSubtotalCents(orderLines);
+    }
+
+    @Benchmark
+    public long applyDiscount() {
+        return discountPolicy.applyDiscount(subtotalCents, orderLines);
+    }
+
+    @Benchmark
+    public byte[] serializeOrder() {
+        return objectMapper.writeValueAsBytes(OrderResponse.from(order));
+    }
+}
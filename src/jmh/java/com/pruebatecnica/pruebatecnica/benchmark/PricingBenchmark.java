@@ -0,0 +1,64 @@
+package com.pruebatecnica.pruebatecnica.benchmark;
+
+import com.pruebatecnica.pruebatecnica.model.Money;
+import com.pruebatecnica.pruebatecnica.model.OrderLine;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.service.order.discount.VarietyDiscountPolicy;
+import com.pruebatecnica.pruebatecnica.service.order.pricing.PriceCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Precio de un pedido completo (subtotal + descuento): cálculo en céntimos
+ * frente al anterior con BigDecimal y streams. Ejecutar con el profiler gc
+ * para comparar gc.alloc.rate.norm (bytes por pedido).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingBenchmark {
+
+    private static final BigDecimal LEGACY_DISCOUNT_RATE = new BigDecimal("0.10");
+
+    @Param({"1", "10", "100", "1000"})
+    public int lines;
+
+    private List<OrderLine> orderLines;
+    private final PriceCalculator priceCalculator = new PriceCalculator();
+    private final VarietyDiscountPolicy discountPolicy = new VarietyDiscountPolicy();
+
+    @Setup
+    public void setUp() {
+        orderLines = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            Product product = new Product("Product " + i, new BigDecimal("19.99"), 1_000);
+            product.setId((long) i);
+            orderLines.add(new OrderLine(product, 1 + i % 5));
+        }
+    }
+
+    @Benchmark
+    public BigDecimal fixedPointCents() {
+        long subtotal = priceCalculator.calculateSubtotalCents(orderLines);
+        return Money.toBigDecimal(discountPolicy.applyDiscount(subtotal, orderLines));
+    }
+
+    @Benchmark
+    public BigDecimal legacyBigDecimalStreams() {
+        BigDecimal subtotal = orderLines.stream()
+                .map(line -> line.getProduct().getPrice().multiply(BigDecimal.valueOf(line.getQuantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long distinct = orderLines.stream()
+                .map(line -> line.getProduct().getId())
+                .distinct()
+                .count();
+        return distinct >= 4 ? subtotal.subtract(subtotal.multiply(LEGACY_DISCOUNT_RATE)) : subtotal;
+    }
+}
@@ -0,0 +1,81 @@
+package com.pruebatecnica.pruebatecnica.benchmark;
+
+import com.pruebatecnica.pruebatecnica.PruebatecnicaApplication;
+import com.pruebatecnica.pruebatecnica.model.OrderLine;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.repository.ProductRepository;
+import com.pruebatecnica.pruebatecnica.service.order.InventoryUpdater;
+import com.pruebatecnica.pruebatecnica.service.order.inventory.StockBucketService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Descuentos concurrentes de una unidad sobre un mismo producto, con 16
+ * hilos, según el número de buckets (0 = producto normal, una sola fila).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class StockBucketsBenchmark {
+
+    @Param({"0", "1", "2", "4", "8", "16"})
+    public int buckets;
+
+    private ConfigurableApplicationContext context;
+    private InventoryUpdater inventoryUpdater;
+    private TransactionTemplate transactionTemplate;
+    private Product product;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(PruebatecnicaApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:jmh-stock-buckets",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.com.pruebatecnica.pruebatecnica=WARN",
+                        "logging.level.org.springframework.web=WARN")
+                .run();
+        inventoryUpdater = context.getBean(InventoryUpdater.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        product = context.getBean(ProductRepository.class)
+                .save(new Product("Hot SKU", new BigDecimal("9.99"), Integer.MAX_VALUE));
+        if (buckets > 0) {
+            context.getBean(StockBucketService.class).markHot(product.getId(), buckets);
+            product.setHot(true);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Buyer {
+        OrderLine line;
+
+        @Setup
+        public void setUp(StockBucketsBenchmark benchmark) {
+            line = new OrderLine(benchmark.product, 1);
+        }
+    }
+
+    @Benchmark
+    public void decrement(Buyer buyer) {
+        transactionTemplate.executeWithoutResult(status ->
+                inventoryUpdater.updateStock(List.of(buyer.line)));
+    }
+}
@@ -0,0 +1,79 @@
+package com.pruebatecnica.pruebatecnica.load;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma log-lineal de latencias en microsegundos, seguro para hilos.
+ *
+ * Cada potencia de dos se divide en 64 cubetas, así que un percentil se
+ * reporta con un error relativo menor del 1,6% y la memoria es fija
+ * (unos pocos KB) sin importar cuántas muestras haya. Los percentiles
+ * devuelven el límite superior de su cubeta: nunca subestiman.
+ */
+class LatencyHistogram {
+
+    // Valores por encima (~12 días) se registran en la última cubeta
+    private static final int MAX_BIT = 40;
+    private static final long MAX_VALUE = (1L << MAX_BIT) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(indexOf(MAX_VALUE) + 1);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    void recordNanos(long nanos) {
+        long micros = Math.clamp(nanos / 1_000, 0, MAX_VALUE);
+        counts.incrementAndGet(indexOf(micros));
+        total.incrementAndGet();
+        max.accumulateAndGet(micros, Math::max);
+    }
+
+    long count() {
+        return total.get();
+    }
+
+    long maxMicros() {
+        return max.get();
+    }
+
+    /**
+     * Latencia por debajo de la que queda la fracción percentile de las
+     * muestras (0.99 para p99), en microsegundos.
+     */
+    long percentileMicros(double percentile) {
+        long samples = total.get();
+        if (samples == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile * samples));
+        long seen = 0;
+        for (int index = 0; index < counts.length(); index++) {
+            seen += counts.get(index);
+            if (seen >= target) {
+                return Math.min(highestValueAt(index), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Hasta 127 la cubeta es el propio valor; por encima, los 7 bits más
+     * altos del valor y su desplazamiento.
+     */
+    private static int indexOf(long value) {
+        if (value < 128) {
+            return (int) value;
+        }
+        int shift = 57 - Long.numberOfLeadingZeros(value);
+        return shift * 64 + (int) (value >>> shift);
+    }
+
+    private static long highestValueAt(int index) {
+        if (index < 128) {
+            return index;
+        }
+        int shift = index / 64 - 1;
+        long mantissa = index - shift * 64L;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
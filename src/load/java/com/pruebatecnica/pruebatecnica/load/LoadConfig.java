@@ -0,0 +1,150 @@
+package com.pruebatecnica.pruebatecnica.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parámetros de la carga, leídos de propiedades del sistema load.* (el task
+ * loadReport las toma de -Pload.*).
+ */
+class LoadConfig {
+
+    private final double rate;
+    private final Duration duration;
+    private final Duration warmup;
+    private final Map<Operation, Integer> mix;
+    private final int products;
+    private final double skew;
+    private final int customers;
+    private final long seed;
+    private final int maxInFlight;
+    private final Path report;
+    private final List<String> appProperties;
+
+    private LoadConfig(double rate, Duration duration, Duration warmup, Map<Operation, Integer> mix, int products,
+                       double skew, int customers, long seed, int maxInFlight, Path report,
+                       List<String> appProperties) {
+        if (rate <= 0 || duration.isNegative() || duration.isZero() || warmup.isNegative()) {
+            throw new IllegalArgumentException("load.rate and load.duration must be positive");
+        }
+        if (products < 1 || customers < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("load.products, load.customers and load.max-in-flight must be positive");
+        }
+        this.rate = rate;
+        this.duration = duration;
+        this.warmup = warmup;
+        this.mix = mix;
+        this.products = products;
+        this.skew = skew;
+        this.customers = customers;
+        this.seed = seed;
+        this.maxInFlight = maxInFlight;
+        this.report = report;
+        this.appProperties = appProperties;
+    }
+
+    static LoadConfig fromSystemProperties() {
+        return new LoadConfig(
+                Double.parseDouble(property("rate", "200")),
+                Duration.parse(property("duration", "PT30S")),
+                Duration.parse(property("warmup", "PT10S")),
+                parseMix(property("mix", "product=60,search=15,order=20,history=5")),
+                Integer.parseInt(property("products", "1000")),
+                Double.parseDouble(property("skew", "1.0")),
+                Integer.parseInt(property("customers", "500")),
+                Long.parseLong(property("seed", "42")),
+                Integer.parseInt(property("max-in-flight", "2000")),
+                Path.of(property("report", "build/reports/load/load-report.txt")),
+                parseList(property("app", ""))
+        );
+    }
+
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty("load." + name);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    /**
+     * "product=60,order=40" -> pesos por operación; las no nombradas no se usan.
+     */
+    static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : parseList(value)) {
+            String[] parts = entry.split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entries look like operation=weight: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weights must not be negative: " + entry);
+            }
+            if (weight > 0) {
+                mix.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("load.mix needs at least one operation with weight > 0");
+        }
+        return mix;
+    }
+
+    private static List<String> parseList(String value) {
+        List<String> items = new ArrayList<>();
+        for (String item : value.split(",")) {
+            if (!item.isBlank()) {
+                items.add(item.trim());
+            }
+        }
+        return items;
+    }
+
+    // Getters
+    double getRate() {
+        return rate;
+    }
+
+    Duration getDuration() {
+        return duration;
+    }
+
+    Duration getWarmup() {
+        return warmup;
+    }
+
+    Map<Operation, Integer> getMix() {
+        return mix;
+    }
+
+    int getProducts() {
+        return products;
+    }
+
+    double getSkew() {
+        return skew;
+    }
+
+    int getCustomers() {
+        return customers;
+    }
+
+    long getSeed() {
+        return seed;
+    }
+
+    int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    Path getReport() {
+        return report;
+    }
+
+    List<String> getAppProperties() {
+        return appProperties;
+    }
+}
@@ -0,0 +1,226 @@
+package com.pruebatecnica.pruebatecnica.load;
+
+import com.pruebatecnica.pruebatecnica.PruebatecnicaApplication;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.repository.ProductRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Arranca la aplicación en un puerto aleatorio, siembra un catálogo y le
+ * aplica una carga abierta: las peticiones llegan a load.rate por segundo
+ * (llegadas de Poisson) respondan o no las anteriores, como harían usuarios
+ * independientes. Escribe el informe en load.report.
+ *
+ * Se ejecuta con ./gradlew loadReport -Pload.rate=500 -Pload.skew=1.2 ...
+ */
+public final class LoadGenerator {
+
+    // Stock suficiente para que ningún pedido falle por falta de unidades
+    private static final int SEED_STOCK = 1_000_000_000;
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+    private static final Duration SEED_TIMEOUT = Duration.ofMinutes(5);
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadConfig config = LoadConfig.fromSystemProperties();
+
+        try (ConfigurableApplicationContext context = startApplication(config);
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().executor(executor).connectTimeout(Duration.ofSeconds(10)).build()) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            String baseUrl = "http://localhost:" + port;
+
+            List<Long> productIds = seedCatalog(http, baseUrl, context, config);
+            Workload workload = new Workload(baseUrl, productIds, config);
+            // Una sola secuencia aleatoria: mismas peticiones en el mismo orden en cada ejecución
+            SplittableRandom random = new SplittableRandom(config.getSeed());
+
+            System.out.printf("Warming up for %s at %.1f req/s%n", config.getWarmup(), config.getRate());
+            drive(http, executor, workload, random, config, config.getWarmup(), new LoadResult(config.getMix().keySet()));
+
+            System.out.printf("Measuring for %s at %.1f req/s%n", config.getDuration(), config.getRate());
+            LoadResult result = new LoadResult(config.getMix().keySet());
+            drive(http, executor, workload, random, config, config.getDuration(), result);
+
+            String report = LoadReport.format(config, result);
+            Path path = config.getReport().toAbsolutePath();
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, report);
+            System.out.println();
+            System.out.print(report);
+            System.out.println();
+            System.out.println("Report written to " + path);
+        }
+    }
+
+    /**
+     * Los argumentos de línea de comandos tienen prioridad sobre
+     * application.properties, a diferencia de las propiedades por defecto.
+     */
+    private static ConfigurableApplicationContext startApplication(LoadConfig config) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:load-report",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.com.pruebatecnica.pruebatecnica=INFO",
+                "--logging.level.org.springframework.web=INFO"));
+        config.getAppProperties().forEach(property -> args.add("--" + property));
+        return new SpringApplicationBuilder(PruebatecnicaApplication.class).run(args.toArray(new String[0]));
+    }
+
+    /**
+     * Importa load.products SKUs por POST /api/products/import y devuelve sus
+     * ids en orden de rango (el rango 0 es el más pedido).
+     */
+    private static List<Long> seedCatalog(HttpClient http, String baseUrl, ConfigurableApplicationContext context,
+                                          LoadConfig config) throws Exception {
+        SplittableRandom prices = new SplittableRandom(config.getSeed());
+        StringBuilder csv = new StringBuilder("sku,name,price,stock\n");
+        for (int rank = 0; rank < config.getProducts(); rank++) {
+            csv.append(Workload.sku(rank)).append(',')
+                    .append(Workload.productName(rank)).append(',')
+                    .append(BigDecimal.valueOf(100 + prices.nextInt(100_000), 2)).append(',')
+                    .append(SEED_STOCK).append('\n');
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/products/import"))
+                .timeout(SEED_TIMEOUT)
+                .header("Content-Type", "text/csv")
+                .POST(HttpRequest.BodyPublishers.ofString(csv.toString()))
+                .build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Catalog import failed with " + response.statusCode() + ": " + response.body());
+        }
+
+        Map<String, Long> idsBySku = context.getBean(ProductRepository.class).findAll().stream()
+                .filter(product -> product.getSku() != null && product.getSku().startsWith(Workload.SKU_PREFIX))
+                .collect(Collectors.toMap(Product::getSku, Product::getId));
+        List<Long> productIds = new ArrayList<>(config.getProducts());
+        for (int rank = 0; rank < config.getProducts(); rank++) {
+            Long id = idsBySku.get(Workload.sku(rank));
+            if (id == null) {
+                throw new IllegalStateException("Seeded product " + Workload.sku(rank) + " was not imported");
+            }
+            productIds.add(id);
+        }
+        return productIds;
+    }
+
+    /**
+     * Envía peticiones en sus instantes previstos durante duration. La
+     * latencia se mide desde el instante previsto, no desde el envío: si el
+     * generador se retrasa (el hilo despierta tarde o hay pausas de GC), ese
+     * retraso cuenta como espera, igual que para un usuario real. Las
+     * peticiones descartadas o sin respuesta al agotarse la espera final se
+     * registran con lo que llevaban esperando en ese momento.
+     */
+    private static void drive(HttpClient http, ExecutorService executor, Workload workload, SplittableRandom random,
+                              LoadConfig config, Duration duration, LoadResult result) throws InterruptedException {
+        if (duration.isZero()) {
+            return;
+        }
+        AtomicInteger inFlight = new AtomicInteger();
+        Set<Pending> unanswered = ConcurrentHashMap.newKeySet();
+        List<Pending> dropped = new ArrayList<>();
+        double meanGapNanos = 1_000_000_000.0 / config.getRate();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long intended = start;
+
+        while (true) {
+            // Huecos exponenciales de media 1/rate: llegadas de Poisson
+            intended += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+            if (intended - end >= 0) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            // Se construye antes de decidir si se descarta para no alterar la secuencia aleatoria
+            Operation operation = workload.pick(random);
+            HttpRequest request = workload.build(operation, random);
+            Pending pending = new Pending(operation, intended);
+            if (inFlight.incrementAndGet() > config.getMaxInFlight()) {
+                inFlight.decrementAndGet();
+                dropped.add(pending);
+                continue;
+            }
+
+            unanswered.add(pending);
+            executor.execute(() -> {
+                long sent = System.nanoTime();
+                boolean ok;
+                try {
+                    ok = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+                } catch (Exception e) {
+                    ok = false;
+                }
+                long done = System.nanoTime();
+                // Si ya se contó como sin respuesta, no se registra dos veces
+                if (unanswered.remove(pending)) {
+                    result.record(operation, done - pending.intendedStart, done - sent, ok);
+                }
+                inFlight.decrementAndGet();
+            });
+        }
+
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() - drainDeadline < 0) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+
+        long now = System.nanoTime();
+        for (Pending pending : dropped) {
+            result.recordDropped(pending.operation, now - pending.intendedStart);
+        }
+        int unfinished = 0;
+        for (Pending pending : unanswered) {
+            if (unanswered.remove(pending)) {
+                result.recordUnfinished(pending.operation, now - pending.intendedStart);
+                unfinished++;
+            }
+        }
+        if (unfinished > 0) {
+            System.out.printf("%d requests still in flight after %s, counted as errors at their wait so far%n",
+                    unfinished, DRAIN_TIMEOUT);
+        }
+    }
+
+    private static final class Pending {
+
+        private final Operation operation;
+        private final long intendedStart;
+
+        private Pending(Operation operation, long intendedStart) {
+            this.operation = operation;
+            this.intendedStart = intendedStart;
+        }
+    }
+}
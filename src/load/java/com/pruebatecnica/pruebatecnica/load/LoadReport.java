@@ -0,0 +1,104 @@
+package com.pruebatecnica.pruebatecnica.load;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Informe en texto plano, con columnas fijas y sin marcas de tiempo, para
+ * poder compararlo con diff entre commits.
+ */
+final class LoadReport {
+
+    private static final double[] PERCENTILES = {0.50, 0.90, 0.99, 0.999};
+    private static final double[] DISTRIBUTION = {0.50, 0.75, 0.90, 0.95, 0.99, 0.995, 0.999, 0.9999, 1.0};
+
+    private LoadReport() {
+    }
+
+    static String format(LoadConfig config, LoadResult result) {
+        StringBuilder report = new StringBuilder();
+        double seconds = config.getDuration().toMillis() / 1000.0;
+
+        report.append("# Load report (./gradlew loadReport)\n");
+        line(report, "arrivals", "open model, poisson, %.1f req/s offered", config.getRate());
+        line(report, "duration", "%s after %s warmup", config.getDuration(), config.getWarmup());
+        line(report, "mix", "%s", config.getMix().entrySet().stream()
+                .map(entry -> entry.getKey().name().toLowerCase(Locale.ROOT) + "=" + entry.getValue())
+                .collect(Collectors.joining(" ")));
+        line(report, "catalog", "%d products, zipf skew %.2f, %d customers",
+                config.getProducts(), config.getSkew(), config.getCustomers());
+        line(report, "seed", "%d", config.getSeed());
+        line(report, "max-in-flight", "%d", config.getMaxInFlight());
+        line(report, "app", "%s", config.getAppProperties().isEmpty() ? "-" : String.join(" ", config.getAppProperties()));
+
+        report.append("\n## Latency from intended start (coordinated-omission corrected), ms\n");
+        LoadResult.Stats total = result.getAll();
+        if (total.getDropped() > 0 || total.getUnfinished() > 0) {
+            report.append(String.format(Locale.ROOT,
+                    "WARNING: %d dropped and %d unfinished requests are counted at their wait when the run ended;"
+                            + " corrected percentiles are lower bounds%n",
+                    total.getDropped(), total.getUnfinished()));
+        }
+        report.append(String.format(Locale.ROOT, "%-10s %9s %8s %8s %10s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "dropped", "unfinished", "req/s",
+                "p50", "p90", "p99", "p99.9", "max"));
+        corrected(report, "all", result.getAll(), seconds);
+        for (Map.Entry<Operation, LoadResult.Stats> entry : result.getByOperation().entrySet()) {
+            corrected(report, entry.getKey().name().toLowerCase(Locale.ROOT), entry.getValue(), seconds);
+        }
+
+        report.append("\n## Service time from actual send (uncorrected), ms\n");
+        report.append(String.format(Locale.ROOT, "%-10s %9s %9s %9s %9s %9s%n",
+                "operation", "p50", "p90", "p99", "p99.9", "max"));
+        service(report, "all", result.getAll().getService());
+        for (Map.Entry<Operation, LoadResult.Stats> entry : result.getByOperation().entrySet()) {
+            service(report, entry.getKey().name().toLowerCase(Locale.ROOT), entry.getValue().getService());
+        }
+
+        report.append("\n## Percentile distribution, all operations, corrected, ms\n");
+        LatencyHistogram all = result.getAll().getCorrected();
+        for (double percentile : DISTRIBUTION) {
+            report.append(String.format(Locale.ROOT, "%-10s %9s%n",
+                    String.format(Locale.ROOT, "%.4f", percentile), millis(all.percentileMicros(percentile))));
+        }
+
+        report.append("\n## Endpoints\n");
+        for (Operation operation : result.getByOperation().keySet()) {
+            report.append(String.format(Locale.ROOT, "%-10s %s%n",
+                    operation.name().toLowerCase(Locale.ROOT), operation.getEndpoint()));
+        }
+        return report.toString();
+    }
+
+    private static void line(StringBuilder report, String name, String format, Object... args) {
+        report.append(String.format(Locale.ROOT, "%-14s", name))
+                .append(String.format(Locale.ROOT, format, args))
+                .append('\n');
+    }
+
+    private static void corrected(StringBuilder report, String name, LoadResult.Stats stats, double seconds) {
+        LatencyHistogram histogram = stats.getCorrected();
+        // req/s son respuestas recibidas; requests incluye las que no llegaron
+        report.append(String.format(Locale.ROOT, "%-10s %9d %8d %8d %10d %9.1f",
+                name, histogram.count(), stats.getErrors(), stats.getDropped(), stats.getUnfinished(),
+                stats.getService().count() / seconds));
+        percentiles(report, histogram);
+    }
+
+    private static void service(StringBuilder report, String name, LatencyHistogram histogram) {
+        report.append(String.format(Locale.ROOT, "%-10s", name));
+        percentiles(report, histogram);
+    }
+
+    private static void percentiles(StringBuilder report, LatencyHistogram histogram) {
+        for (double percentile : PERCENTILES) {
+            report.append(String.format(Locale.ROOT, " %9s", millis(histogram.percentileMicros(percentile))));
+        }
+        report.append(String.format(Locale.ROOT, " %9s%n", millis(histogram.maxMicros())));
+    }
+
+    private static String millis(long micros) {
+        return String.format(Locale.ROOT, "%.2f", micros / 1000.0);
+    }
+}
@@ -0,0 +1,107 @@
+package com.pruebatecnica.pruebatecnica.load;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latencias y errores de una ejecución, por operación y en total.
+ *
+ * Cada respuesta se registra dos veces: desde el instante en que la carga
+ * abierta debía enviarla (corregida por omisión coordinada: incluye la
+ * espera si el generador o el servidor iban atrasados) y desde el envío
+ * real (solo tiempo de servicio).
+ *
+ * Las peticiones sin respuesta (descartadas por load.max-in-flight o aún en
+ * vuelo al agotarse la espera final) también entran en la latencia
+ * corregida, con lo que llevaban esperando al cerrar la medición: son las
+ * más lentas y dejarlas fuera haría optimistas los percentiles.
+ */
+class LoadResult {
+
+    private final Map<Operation, Stats> byOperation = new EnumMap<>(Operation.class);
+    private final Stats all = new Stats();
+
+    LoadResult(Collection<Operation> operations) {
+        operations.forEach(operation -> byOperation.put(operation, new Stats()));
+    }
+
+    void record(Operation operation, long correctedNanos, long serviceNanos, boolean ok) {
+        byOperation.get(operation).record(correctedNanos, serviceNanos, ok);
+        all.record(correctedNanos, serviceNanos, ok);
+    }
+
+    /**
+     * Petición no enviada por superar load.max-in-flight.
+     */
+    void recordDropped(Operation operation, long waitedNanos) {
+        byOperation.get(operation).recordUnanswered(waitedNanos, true);
+        all.recordUnanswered(waitedNanos, true);
+    }
+
+    /**
+     * Petición enviada que no respondió antes del fin de la espera final;
+     * cuenta también como error.
+     */
+    void recordUnfinished(Operation operation, long waitedNanos) {
+        byOperation.get(operation).recordUnanswered(waitedNanos, false);
+        all.recordUnanswered(waitedNanos, false);
+    }
+
+    Map<Operation, Stats> getByOperation() {
+        return byOperation;
+    }
+
+    Stats getAll() {
+        return all;
+    }
+
+    static class Stats {
+
+        private final LatencyHistogram corrected = new LatencyHistogram();
+        private final LatencyHistogram service = new LatencyHistogram();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicLong unfinished = new AtomicLong();
+
+        void record(long correctedNanos, long serviceNanos, boolean ok) {
+            corrected.recordNanos(correctedNanos);
+            service.recordNanos(serviceNanos);
+            if (!ok) {
+                errors.incrementAndGet();
+            }
+        }
+
+        void recordUnanswered(long waitedNanos, boolean wasDropped) {
+            corrected.recordNanos(waitedNanos);
+            if (wasDropped) {
+                dropped.incrementAndGet();
+            } else {
+                unfinished.incrementAndGet();
+                errors.incrementAndGet();
+            }
+        }
+
+        // Getters
+        LatencyHistogram getCorrected() {
+            return corrected;
+        }
+
+        LatencyHistogram getService() {
+            return service;
+        }
+
+        long getErrors() {
+            return errors.get();
+        }
+
+        long getDropped() {
+            return dropped.get();
+        }
+
+        long getUnfinished() {
+            return unfinished.get();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.pruebatecnica.pruebatecnica.load;
+
+/**
+ * Peticiones que puede mezclar la carga (load.mix usa estos nombres en
+ * minúsculas).
+ */
+enum Operation {
+    PRODUCT("GET /api/products/{id}"),
+    SEARCH("GET /api/products/search?name={prefix}"),
+    ORDER("POST /api/orders"),
+    HISTORY("GET /api/orders/history?customerEmail={email}");
+
+    private final String endpoint;
+
+    Operation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    String getEndpoint() {
+        return endpoint;
+    }
+}
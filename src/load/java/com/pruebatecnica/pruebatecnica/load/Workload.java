@@ -0,0 +1,108 @@
+package com.pruebatecnica.pruebatecnica.load;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Genera las peticiones de la carga. Los productos se eligen con una Zipf
+ * sobre el catálogo sembrado (rango 0 = el más pedido), así que load.skew
+ * controla cuánto se concentra la carga en pocos SKUs.
+ */
+class Workload {
+
+    static final String SKU_PREFIX = "LOAD-";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final List<Long> productIdsByRank;
+    private final ZipfDistribution products;
+    private final int customers;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    Workload(String baseUrl, List<Long> productIdsByRank, LoadConfig config) {
+        this.baseUrl = baseUrl;
+        this.productIdsByRank = productIdsByRank;
+        this.products = new ZipfDistribution(productIdsByRank.size(), config.getSkew());
+        this.customers = config.getCustomers();
+
+        Map<Operation, Integer> mix = config.getMix();
+        this.operations = mix.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += mix.get(operations[i]);
+            cumulativeWeights[i] = sum;
+        }
+    }
+
+    static String sku(int rank) {
+        return SKU_PREFIX + String.format("%06d", rank + 1);
+    }
+
+    static String productName(int rank) {
+        return "Load Product " + String.format("%06d", rank + 1);
+    }
+
+    Operation pick(SplittableRandom random) {
+        int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < operations.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    HttpRequest build(Operation operation, SplittableRandom random) {
+        return switch (operation) {
+            case PRODUCT -> get("/api/products/" + productIdsByRank.get(products.sample(random)));
+            // Prefijo compartido por los 10 SKUs vecinos del elegido
+            case SEARCH -> get("/api/products/search?size=20&name="
+                    + encode(productName(products.sample(random)).substring(0, 18)));
+            case ORDER -> post("/api/orders", orderBody(random));
+            case HISTORY -> get("/api/orders/history?size=20&customerEmail=" + encode(customerEmail(random)));
+        };
+    }
+
+    private String orderBody(SplittableRandom random) {
+        StringBuilder items = new StringBuilder();
+        int lines = 1 + random.nextInt(3);
+        for (int i = 0; i < lines; i++) {
+            if (i > 0) {
+                items.append(',');
+            }
+            items.append("{\"productId\":").append(productIdsByRank.get(products.sample(random)))
+                    .append(",\"quantity\":").append(1 + random.nextInt(3)).append('}');
+        }
+        return """
+                {"customerName":"Load Customer","customerEmail":"%s","items":[%s]}
+                """.formatted(customerEmail(random), items);
+    }
+
+    private String customerEmail(SplittableRandom random) {
+        return "load-" + random.nextInt(customers) + "@test.com";
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
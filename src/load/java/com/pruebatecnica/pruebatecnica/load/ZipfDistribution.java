@@ -0,0 +1,35 @@
+package com.pruebatecnica.pruebatecnica.load;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Rangos 0..n-1 con probabilidad proporcional a 1 / (rango + 1)^exponent.
+ * Con exponent 0 es uniforme; con 1, el 20% de los rangos más bajos se
+ * lleva aproximadamente el 80% de las muestras (para unos miles de rangos).
+ */
+class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    ZipfDistribution(int n, double exponent) {
+        if (n < 1 || exponent < 0) {
+            throw new IllegalArgumentException("Zipf needs n >= 1 and exponent >= 0");
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
@@ -1,18 +1,31 @@
 package com.pruebatecnica.pruebatecnica.config;
 
-import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.dto.ProductImportResult;
 import com.pruebatecnica.pruebatecnica.repository.ProductRepository;
+import com.pruebatecnica.pruebatecnica.service.catalog.ProductImportFormat;
+import com.pruebatecnica.pruebatecnica.service.catalog.ProductImportService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
+import java.io.InputStream;
 
 @Component
 public class DataLoader implements CommandLineRunner {
     
     @Autowired
     private ProductRepository productRepository;
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    // Fichero CSV o NDJSON alternativo para sembrar catálogos grandes en local
+    @Value("${catalog.seed.file:}")
+    private String seedFile;
     
     @Override
     public void run(String... args) throws Exception {
@@ -22,19 +35,19 @@ public class DataLoader implements CommandLineRunner {
         }
     }
     
-    private void loadSampleData() {
-        // Productos para la prueba técnica
-        productRepository.save(new Product("Manzana", BigDecimal.valueOf(1.50), 100));
-        productRepository.save(new Product("Pera", BigDecimal.valueOf(2.00), 80));
-        productRepository.save(new Product("Uva", BigDecimal.valueOf(3.50), 60));
-        productRepository.save(new Product("Sandia", BigDecimal.valueOf(5.00), 25));
-        productRepository.save(new Product("iPhone 15", BigDecimal.valueOf(999.99), 10));
-        productRepository.save(new Product("Laptop", BigDecimal.valueOf(800.00), 15));
-        productRepository.save(new Product("Mouse", BigDecimal.valueOf(25.99), 50));
-        productRepository.save(new Product("Teclado", BigDecimal.valueOf(45.00), 30));
-        productRepository.save(new Product("Monitor", BigDecimal.valueOf(299.99), 20));
-        productRepository.save(new Product("Audifonos", BigDecimal.valueOf(150.00), 40));
+    private void loadSampleData() throws Exception {
+        // Productos para la prueba técnica, por el mismo camino que POST /api/products/import
+        Resource seed = seedFile.isBlank()
+                ? new ClassPathResource("seed/products.csv")
+                : new FileSystemResource(seedFile);
+        ProductImportFormat format = ProductImportFormat.fromFileName(seed.getFilename());
+
+        ProductImportResult result;
+        try (InputStream in = seed.getInputStream()) {
+            result = productImportService.importCatalog(in, format);
+        }
         
-        System.out.println("Datos de ejemplo cargados: " + productRepository.count() + " productos");
+        System.out.println("Datos de ejemplo cargados: " + result.getImported() + " productos"
+                + (result.getFailed() > 0 ? " (" + result.getFailed() + " filas con error)" : ""));
     }
-}
\ No newline at end of file
+}
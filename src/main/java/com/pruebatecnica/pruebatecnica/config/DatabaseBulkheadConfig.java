@@ -0,0 +1,38 @@
+package com.pruebatecnica.pruebatecnica.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Envuelve el DataSource de la aplicación en un BulkheadDataSource. Se
+ * activa con db.bulkhead.enabled y está pensado para el modo de hilos
+ * virtuales (spring.threads.virtual.enabled=true).
+ */
+@Configuration
+@ConditionalOnProperty(name = "db.bulkhead.enabled", havingValue = "true")
+public class DatabaseBulkheadConfig {
+
+    @Bean
+    public static BeanPostProcessor databaseBulkheadPostProcessor(Environment environment) {
+        int maxConcurrent = environment.getProperty("db.bulkhead.max-concurrent", Integer.class,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        Duration acquireTimeout = environment.getProperty("db.bulkhead.acquire-timeout", Duration.class,
+                Duration.ofSeconds(5));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)) {
+                    return new BulkheadDataSource(dataSource, maxConcurrent, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,60 @@
+package com.pruebatecnica.pruebatecnica.controller;
+
+import com.pruebatecnica.pruebatecnica.dto.CreateOrderRequest;
+import com.pruebatecnica.pruebatecnica.dto.OrderResponse;
+import com.pruebatecnica.pruebatecnica.dto.OrderStatusResponse;
+import com.pruebatecnica.pruebatecnica.dto.ReservationResponse;
+import com.pruebatecnica.pruebatecnica.exception.ReservationExpiredException;
+import com.pruebatecnica.pruebatecnica.model.OrderStatus;
+import com.pruebatecnica.pruebatecnica.service.order.reservation.ReservationService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/checkout")
+public class CheckoutController {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    /**
+     * Reserva el stock del carrito y deja la orden PENDING hasta que se pague
+     * o venza la reserva.
+     */
+    @PostMapping
+    public ResponseEntity<ReservationResponse> reserve(@Valid @RequestBody CreateOrderRequest request) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(reservationService.reserve(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @PostMapping("/{orderId}/pay")
+    public ResponseEntity<OrderResponse> pay(@PathVariable Long orderId) {
+        try {
+            return ResponseEntity.ok(OrderResponse.from(reservationService.pay(orderId)));
+        } catch (ReservationExpiredException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PostMapping("/{orderId}/cancel")
+    public ResponseEntity<OrderStatusResponse> cancel(@PathVariable Long orderId) {
+        try {
+            if (!reservationService.cancel(orderId)) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
+            return ResponseEntity.ok(new OrderStatusResponse(orderId, OrderStatus.CANCELLED));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
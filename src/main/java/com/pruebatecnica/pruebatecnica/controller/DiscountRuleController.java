@@ -0,0 +1,40 @@
+package com.pruebatecnica.pruebatecnica.controller;
+
+import com.pruebatecnica.pruebatecnica.service.order.discount.rules.DiscountRule;
+import com.pruebatecnica.pruebatecnica.service.order.discount.rules.DiscountRuleEngine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/discount-rules")
+@ConditionalOnProperty(name = "discount.engine", havingValue = "rules", matchIfMissing = true)
+public class DiscountRuleController {
+
+    @Autowired
+    private DiscountRuleEngine discountRuleEngine;
+
+    @GetMapping
+    public ResponseEntity<List<DiscountRule>> getRules() {
+        return ResponseEntity.ok(discountRuleEngine.getRules());
+    }
+
+    /**
+     * Sustituye el conjunto completo de reglas sin reiniciar la aplicación.
+     */
+    @PutMapping
+    public ResponseEntity<?> replaceRules(@RequestBody List<DiscountRule> rules) {
+        try {
+            discountRuleEngine.reload(rules);
+            return ResponseEntity.ok(discountRuleEngine.getRules());
+        } catch (IllegalArgumentException e) {
+            // El mensaje dice qué regla y qué campo no son válidos
+            return ResponseEntity.of(ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage())).build();
+        }
+    }
+}
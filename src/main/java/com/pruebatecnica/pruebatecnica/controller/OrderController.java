@@ -1,28 +1,91 @@
 package com.pruebatecnica.pruebatecnica.controller;
 
+import com.pruebatecnica.pruebatecnica.dto.BatchOrderResponse;
 import com.pruebatecnica.pruebatecnica.dto.CreateOrderRequest;
+import com.pruebatecnica.pruebatecnica.dto.OrderPageResponse;
+import com.pruebatecnica.pruebatecnica.dto.OrderResponse;
+import com.pruebatecnica.pruebatecnica.dto.OrderStatusResponse;
+import com.pruebatecnica.pruebatecnica.exception.GroupCommitUnavailableException;
+import com.pruebatecnica.pruebatecnica.exception.IdempotencyKeyReusedException;
+import com.pruebatecnica.pruebatecnica.exception.IdempotentRequestInProgressException;
+import com.pruebatecnica.pruebatecnica.exception.OrderQueueFullException;
 import com.pruebatecnica.pruebatecnica.model.Order;
+import com.pruebatecnica.pruebatecnica.model.OrderStatus;
+import com.pruebatecnica.pruebatecnica.service.order.AsyncOrderService;
+import com.pruebatecnica.pruebatecnica.service.order.BatchOrderService;
+import com.pruebatecnica.pruebatecnica.service.order.GroupCommitOrderService;
+import com.pruebatecnica.pruebatecnica.service.order.OrderExportFormat;
+import com.pruebatecnica.pruebatecnica.service.order.OrderExportService;
 import com.pruebatecnica.pruebatecnica.service.order.OrderService;
+import com.pruebatecnica.pruebatecnica.service.order.idempotency.IdempotencyStore;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/orders")
 public class OrderController {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
     
     @Autowired
     private OrderService orderService;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private BatchOrderService batchOrderService;
+
+    @Autowired
+    private AsyncOrderService asyncOrderService;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    // Solo existe con orders.group-commit.enabled=true
+    @Autowired(required = false)
+    private GroupCommitOrderService groupCommitOrderService;
     
     @PostMapping
-    public ResponseEntity<Order> createOrder(@Valid @RequestBody CreateOrderRequest request) {
+    public ResponseEntity<OrderResponse> createOrder(
+            @Valid @RequestBody CreateOrderRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return create(request);
+        }
+        try {
+            // Se conservan las respuestas definitivas; un 409 o un 503 pueden cambiar al reintentar
+            return idempotencyStore.execute(idempotencyKey, request, () -> create(request),
+                    response -> response.getStatusCode() != HttpStatus.CONFLICT
+                            && response.getStatusCode() != HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (IdempotencyKeyReusedException e) {
+            return ResponseEntity.status(422).build();
+        } catch (IdempotentRequestInProgressException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    private ResponseEntity<OrderResponse> create(CreateOrderRequest request) {
         try {
-            Order order = orderService.createOrder(request);
-            return ResponseEntity.status(HttpStatus.CREATED).body(order);
+            Order order = groupCommitOrderService != null
+                    ? groupCommitOrderService.createOrder(request)
+                    : orderService.createOrder(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(OrderResponse.from(order));
+        } catch (GroupCommitUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         } catch (RuntimeException e) {
@@ -30,10 +93,49 @@ public class OrderController {
         }
     }
     
+    /**
+     * Acepta la orden como PENDING y responde 202 sin esperar a procesarla;
+     * el estado se consulta en la URL de Location.
+     */
+    @PostMapping("/async")
+    public ResponseEntity<OrderStatusResponse> submitOrder(@Valid @RequestBody CreateOrderRequest request) {
+        try {
+            Order order = asyncOrderService.submit(request);
+            OrderStatusResponse body = new OrderStatusResponse(order.getId(), order.getStatus());
+            return ResponseEntity.accepted().location(URI.create(body.getStatusUrl())).body(body);
+        } catch (OrderQueueFullException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @GetMapping("/{id}/status")
+    public ResponseEntity<OrderStatusResponse> getOrderStatus(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(new OrderStatusResponse(id, orderService.getOrderStatus(id)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @PostMapping("/batch")
+    public ResponseEntity<BatchOrderResponse> createOrders(@RequestBody List<CreateOrderRequest> requests) {
+        try {
+            return ResponseEntity.ok(batchOrderService.createOrders(requests));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     @GetMapping("/{id}")
-    public ResponseEntity<Order> getOrder(@PathVariable Long id) {
+    public ResponseEntity<OrderResponse> getOrder(@PathVariable Long id) {
         try {
-            Order order = orderService.getOrderById(id);
+            OrderResponse order = orderService.getOrderById(id);
             return ResponseEntity.ok(order);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
@@ -41,8 +143,82 @@ public class OrderController {
     }
     
     @GetMapping
-    public ResponseEntity<List<Order>> getAllOrders() {
-        List<Order> orders = orderService.getAllOrders();
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<OrderPageResponse> getOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + OrderService.DEFAULT_PAGE_SIZE) int size) {
+        try {
+            return ResponseEntity.ok(orderService.getOrdersPage(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Historial de un cliente, de la más reciente a la más antigua.
+     */
+    @GetMapping("/history")
+    public ResponseEntity<OrderPageResponse> getCustomerOrders(
+            @RequestParam String customerEmail,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + OrderService.DEFAULT_PAGE_SIZE) int size) {
+        try {
+            return ResponseEntity.ok(orderService.getCustomerOrders(customerEmail, from, to, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Órdenes en un estado (por ejemplo PENDING), de la más reciente a la más antigua.
+     */
+    @GetMapping("/by-status")
+    public ResponseEntity<OrderPageResponse> getOrdersByStatus(
+            @RequestParam OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + OrderService.DEFAULT_PAGE_SIZE) int size) {
+        try {
+            return ResponseEntity.ok(orderService.getOrdersByStatus(status, from, to, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public void streamOrders(HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        orderService.writeOrdersAsNdjson(response.getOutputStream());
+    }
+
+    /**
+     * Exporta una fila por línea de las órdenes creadas en [from, to) como CSV
+     * o NDJSON, leyendo de un cursor JDBC y escribiendo según se lee.
+     */
+    @GetMapping("/export")
+    public void exportOrders(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletResponse response) throws IOException {
+        OrderExportFormat exportFormat;
+        try {
+            exportFormat = OrderExportFormat.fromParameter(format);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+            return;
+        }
+        if (!from.isBefore(to)) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "from must be before to");
+            return;
+        }
+
+        response.setContentType(exportFormat.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"orders." + exportFormat.getFileExtension() + "\"");
+        orderExportService.export(from, to, status, exportFormat, response.getOutputStream());
     }
-}
\ No newline at end of file
+}
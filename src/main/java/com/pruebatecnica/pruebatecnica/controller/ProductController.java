@@ -1,12 +1,26 @@
 package com.pruebatecnica.pruebatecnica.controller;
 
+import com.pruebatecnica.pruebatecnica.dto.ProductImportResult;
+import com.pruebatecnica.pruebatecnica.dto.ProductPageResponse;
 import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.repository.ProductSearchQuery;
 import com.pruebatecnica.pruebatecnica.service.ProductService;
+import com.pruebatecnica.pruebatecnica.service.catalog.CatalogVersion;
+import com.pruebatecnica.pruebatecnica.service.catalog.ProductImportFormat;
+import com.pruebatecnica.pruebatecnica.service.catalog.ProductImportService;
+import com.pruebatecnica.pruebatecnica.service.catalog.ProductSearchService;
+import com.pruebatecnica.pruebatecnica.service.order.inventory.StockBucketService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/products")
@@ -14,20 +28,130 @@ public class ProductController {
     
     @Autowired
     private ProductService productService;
+
+    @Autowired
+    private StockBucketService stockBucketService;
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
     
+    /**
+     * Si el cliente envía el ETag o la fecha de la versión actual del
+     * catálogo se responde 304 sin consultar la base de datos.
+     */
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
+    public ResponseEntity<List<Product>> getAllProducts(WebRequest request) {
+        CatalogVersion.Snapshot version = catalogVersion.current();
+        if (request.checkNotModified(version.getETag(), version.getLastModifiedMillis())) {
+            return null;
+        }
         List<Product> products = productService.getAllProducts();
-        return ResponseEntity.ok(products);
+        return conditional(version).body(products);
+    }
+    
+    /**
+     * Busca por nombre (prefix o contains, sin distinguir mayúsculas), rango
+     * de precio y solo con stock, ordenado por name o price. Pagina con el
+     * nextCursor de la respuesta anterior.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ProductPageResponse> searchProducts(
+            @RequestParam(required = false) String name,
+            @RequestParam(defaultValue = "prefix") String match,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(defaultValue = "false") boolean inStock,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + ProductSearchService.DEFAULT_PAGE_SIZE) int size,
+            WebRequest request) {
+        CatalogVersion.Snapshot version = catalogVersion.current();
+        if (request.checkNotModified(version.getETag(), version.getLastModifiedMillis())) {
+            return null;
+        }
+        try {
+            ProductPageResponse page = productSearchService.search(
+                    name,
+                    ProductSearchQuery.NameMatch.valueOf(match.toUpperCase(Locale.ROOT)),
+                    minPrice,
+                    maxPrice,
+                    inStock,
+                    ProductSearchQuery.Sort.valueOf(sort.toUpperCase(Locale.ROOT)),
+                    cursor,
+                    size
+            );
+            return conditional(version).body(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProduct(@PathVariable Long id) {
+    public ResponseEntity<Product> getProduct(@PathVariable Long id, WebRequest request) {
+        CatalogVersion.Snapshot version = catalogVersion.current();
+        if (request.checkNotModified(version.getETag(), version.getLastModifiedMillis())) {
+            return null;
+        }
         try {
             Product product = productService.getProductById(id);
-            return ResponseEntity.ok(product);
+            return conditional(version).body(product);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * La versión se lee antes que los datos: si cambian entretanto, la
+     * respuesta lleva un ETag ya viejo y la siguiente petición la renueva.
+     */
+    private ResponseEntity.BodyBuilder conditional(CatalogVersion.Snapshot version) {
+        return ResponseEntity.ok()
+                .eTag(version.getETag())
+                .lastModified(version.getLastModifiedMillis())
+                .cacheControl(CacheControl.noCache());
+    }
+
+    /**
+     * Reparte el stock del producto en buckets filas para repartir la
+     * contención de compras concurrentes.
+     */
+    @PostMapping("/{id}/hot")
+    public ResponseEntity<Product> markHot(@PathVariable Long id, @RequestParam(defaultValue = "8") int buckets) {
+        try {
+            return ResponseEntity.ok(stockBucketService.markHot(id, buckets));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @DeleteMapping("/{id}/hot")
+    public ResponseEntity<Product> markCold(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(stockBucketService.markCold(id));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Importa o actualiza por sku un catálogo CSV o NDJSON leyendo el cuerpo
+     * en streaming. Las filas con error se devuelven en el resultado.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ProductImportResult> importProducts(HttpServletRequest request) throws IOException {
+        try {
+            ProductImportFormat format = ProductImportFormat.fromContentType(request.getContentType());
+            return ResponseEntity.ok(productImportService.importCatalog(request.getInputStream(), format));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.pruebatecnica.pruebatecnica.controller;
+
+import com.pruebatecnica.pruebatecnica.dto.SalesRebuildResult;
+import com.pruebatecnica.pruebatecnica.model.DailySales;
+import com.pruebatecnica.pruebatecnica.model.OrderStatusCount;
+import com.pruebatecnica.pruebatecnica.model.ProductSales;
+import com.pruebatecnica.pruebatecnica.service.sales.SalesRebuildService;
+import com.pruebatecnica.pruebatecnica.service.sales.SalesReportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/sales")
+public class SalesController {
+
+    @Autowired
+    private SalesReportService salesReportService;
+
+    @Autowired
+    private SalesRebuildService salesRebuildService;
+
+    @GetMapping("/daily/{date}")
+    public ResponseEntity<DailySales> getDailySales(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(salesReportService.getDailySales(date));
+    }
+
+    @GetMapping("/daily")
+    public ResponseEntity<List<DailySales>> getDailySalesBetween(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(salesReportService.getDailySales(from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/products/{productId}")
+    public ResponseEntity<ProductSales> getProductSales(@PathVariable Long productId) {
+        return ResponseEntity.ok(salesReportService.getProductSales(productId));
+    }
+
+    @GetMapping("/status-counts")
+    public ResponseEntity<List<OrderStatusCount>> getStatusCounts() {
+        return ResponseEntity.ok(salesReportService.getStatusCounts());
+    }
+
+    /**
+     * Recalcula los agregados desde las órdenes. Pensado para mantenimiento,
+     * sin tráfico de escritura.
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<SalesRebuildResult> rebuild() {
+        return ResponseEntity.ok(salesRebuildService.rebuild());
+    }
+}
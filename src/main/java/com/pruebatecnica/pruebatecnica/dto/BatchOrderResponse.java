@@ -0,0 +1,31 @@
+package com.pruebatecnica.pruebatecnica.dto;
+
+import java.util.List;
+
+public class BatchOrderResponse {
+
+    private final int created;
+    private final int rejected;
+    private final List<BatchOrderResult> results;
+
+    public BatchOrderResponse(List<BatchOrderResult> results) {
+        this.results = results;
+        this.created = (int) results.stream()
+                .filter(result -> result.getStatus() == BatchOrderResult.Status.CREATED)
+                .count();
+        this.rejected = results.size() - created;
+    }
+
+    // Getters
+    public int getCreated() {
+        return created;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public List<BatchOrderResult> getResults() {
+        return results;
+    }
+}
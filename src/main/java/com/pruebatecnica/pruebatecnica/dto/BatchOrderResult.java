@@ -0,0 +1,49 @@
+package com.pruebatecnica.pruebatecnica.dto;
+
+public class BatchOrderResult {
+
+    public enum Status {
+        CREATED,
+        REJECTED
+    }
+
+    private final int index;
+    private final Status status;
+    private final Long orderId;
+    private final String error;
+
+    private BatchOrderResult(int index, Status status, Long orderId, String error) {
+        this.index = index;
+        this.status = status;
+        this.orderId = orderId;
+        this.error = error;
+    }
+
+    public static BatchOrderResult created(int index, Long orderId) {
+        return new BatchOrderResult(index, Status.CREATED, orderId, null);
+    }
+
+    public static BatchOrderResult rejected(int index, String error) {
+        return new BatchOrderResult(index, Status.REJECTED, null, error);
+    }
+
+    // Getters
+    /**
+     * Posición de la orden dentro del array recibido.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,88 @@
+package com.pruebatecnica.pruebatecnica.dto;
+
+import com.pruebatecnica.pruebatecnica.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Fila aplanada de la exportación: una por línea de orden, con los datos de
+ * la orden repetidos. Las órdenes sin líneas dan una fila con los campos de
+ * producto a null.
+ */
+public class OrderExportRow {
+
+    private final Long orderId;
+    private final LocalDateTime createdAt;
+    private final OrderStatus status;
+    private final String customerName;
+    private final String customerEmail;
+    private final BigDecimal orderTotal;
+    private final Long productId;
+    private final String productName;
+    private final Integer quantity;
+    private final BigDecimal unitPrice;
+    private final BigDecimal lineTotal;
+
+    public OrderExportRow(Long orderId, LocalDateTime createdAt, OrderStatus status,
+                          String customerName, String customerEmail, BigDecimal orderTotal,
+                          Long productId, String productName, Integer quantity,
+                          BigDecimal unitPrice, BigDecimal lineTotal) {
+        this.orderId = orderId;
+        this.createdAt = createdAt;
+        this.status = status;
+        this.customerName = customerName;
+        this.customerEmail = customerEmail;
+        this.orderTotal = orderTotal;
+        this.productId = productId;
+        this.productName = productName;
+        this.quantity = quantity;
+        this.unitPrice = unitPrice;
+        this.lineTotal = lineTotal;
+    }
+
+    // Getters
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public String getCustomerEmail() {
+        return customerEmail;
+    }
+
+    public BigDecimal getOrderTotal() {
+        return orderTotal;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public BigDecimal getUnitPrice() {
+        return unitPrice;
+    }
+
+    public BigDecimal getLineTotal() {
+        return lineTotal;
+    }
+}
@@ -0,0 +1,54 @@
+package com.pruebatecnica.pruebatecnica.dto;
+
+import com.pruebatecnica.pruebatecnica.model.OrderItem;
+
+import java.math.BigDecimal;
+
+public class OrderItemResponse {
+
+    private final Long productId;
+    private final String productName;
+    private final Integer quantity;
+    private final BigDecimal unitPrice;
+    private final BigDecimal totalPrice;
+
+    public OrderItemResponse(Long productId, String productName, Integer quantity,
+                             BigDecimal unitPrice, BigDecimal totalPrice) {
+        this.productId = productId;
+        this.productName = productName;
+        this.quantity = quantity;
+        this.unitPrice = unitPrice;
+        this.totalPrice = totalPrice;
+    }
+
+    public static OrderItemResponse from(OrderItem item) {
+        return new OrderItemResponse(
+                item.getProduct().getId(),
+                item.getProduct().getName(),
+                item.getQuantity(),
+                item.getUnitPrice(),
+                item.getTotalPrice()
+        );
+    }
+
+    // Getters
+    public Long getProductId() {
+        return productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public BigDecimal getUnitPrice() {
+        return unitPrice;
+    }
+
+    public BigDecimal getTotalPrice() {
+        return totalPrice;
+    }
+}
@@ -0,0 +1,26 @@
+package com.pruebatecnica.pruebatecnica.dto;
+
+import java.util.List;
+
+public class OrderPageResponse {
+
+    private final List<OrderResponse> orders;
+    private final String nextCursor;
+
+    public OrderPageResponse(List<OrderResponse> orders, String nextCursor) {
+        this.orders = orders;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters
+    public List<OrderResponse> getOrders() {
+        return orders;
+    }
+
+    /**
+     * Cursor para pedir la siguiente página, o null si esta es la última.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,79 @@
+package com.pruebatecnica.pruebatecnica.dto;
+
+import com.pruebatecnica.pruebatecnica.model.Order;
+import com.pruebatecnica.pruebatecnica.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class OrderResponse {
+
+    private final Long id;
+    private final String customerName;
+    private final String customerEmail;
+    private final BigDecimal totalAmount;
+    private final LocalDateTime createdAt;
+    private final OrderStatus status;
+    private final List<OrderItemResponse> items;
+
+    public OrderResponse(Long id, String customerName, String customerEmail, BigDecimal totalAmount,
+                         LocalDateTime createdAt, OrderStatus status, List<OrderItemResponse> items) {
+        this.id = id;
+        this.customerName = customerName;
+        this.customerEmail = customerEmail;
+        this.totalAmount = totalAmount;
+        this.createdAt = createdAt;
+        this.status = status;
+        this.items = items;
+    }
+
+    /**
+     * Construye la respuesta a partir de una orden cuyas líneas y productos
+     * ya están cargados.
+     */
+    public static OrderResponse from(Order order) {
+        return from(order, order.getItems().stream().map(OrderItemResponse::from).toList());
+    }
+
+    public static OrderResponse from(Order order, List<OrderItemResponse> items) {
+        return new OrderResponse(
+                order.getId(),
+                order.getCustomerName(),
+                order.getCustomerEmail(),
+                order.getTotalAmount(),
+                order.getCreatedAt(),
+                order.getStatus(),
+                items
+        );
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public String getCustomerEmail() {
+        return customerEmail;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public List<OrderItemResponse> getItems() {
+        return items;
+    }
+}
@@ -0,0 +1,29 @@
+package com.pruebatecnica.pruebatecnica.dto;
+
+import com.pruebatecnica.pruebatecnica.model.OrderStatus;
+
+public class OrderStatusResponse {
+
+    private final Long id;
+    private final OrderStatus status;
+    private final String statusUrl;
+
+    public OrderStatusResponse(Long id, OrderStatus status) {
+        this.id = id;
+        this.status = status;
+        this.statusUrl = "/api/orders/" + id + "/status";
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public String getStatusUrl() {
+        return statusUrl;
+    }
+}
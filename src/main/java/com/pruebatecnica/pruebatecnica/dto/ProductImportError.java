@@ -0,0 +1,21 @@
+package com.pruebatecnica.pruebatecnica.dto;
+
+public class ProductImportError {
+
+    private final long line;
+    private final String message;
+
+    public ProductImportError(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    // Getters
+    public long getLine() {
+        return line;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
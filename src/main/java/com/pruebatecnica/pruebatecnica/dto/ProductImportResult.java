@@ -0,0 +1,46 @@
+package com.pruebatecnica.pruebatecnica.dto;
+
+import java.util.List;
+
+/**
+ * Resumen de una importación. errors contiene como mucho los primeros
+ * errores; failed cuenta todos.
+ */
+public class ProductImportResult {
+
+    private final long rowsRead;
+    private final long imported;
+    private final long failed;
+    private final List<ProductImportError> errors;
+    private final long elapsedMillis;
+
+    public ProductImportResult(long rowsRead, long imported, long failed,
+                               List<ProductImportError> errors, long elapsedMillis) {
+        this.rowsRead = rowsRead;
+        this.imported = imported;
+        this.failed = failed;
+        this.errors = errors;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    // Getters
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public List<ProductImportError> getErrors() {
+        return errors;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
@@ -0,0 +1,67 @@
+package com.pruebatecnica.pruebatecnica.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Una fila del catálogo a importar (una línea CSV o un objeto NDJSON).
+ */
+public class ProductImportRow {
+
+    private String sku;
+    private String name;
+    private BigDecimal price;
+    private Integer stock;
+    private String description;
+
+    // Constructors
+    public ProductImportRow() {}
+
+    public ProductImportRow(String sku, String name, BigDecimal price, Integer stock, String description) {
+        this.sku = sku;
+        this.name = name;
+        this.price = price;
+        this.stock = stock;
+        this.description = description;
+    }
+
+    // Getters and Setters
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+}
@@ -0,0 +1,28 @@
+package com.pruebatecnica.pruebatecnica.dto;
+
+import com.pruebatecnica.pruebatecnica.model.Product;
+
+import java.util.List;
+
+public class ProductPageResponse {
+
+    private final List<Product> products;
+    private final String nextCursor;
+
+    public ProductPageResponse(List<Product> products, String nextCursor) {
+        this.products = products;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters
+    public List<Product> getProducts() {
+        return products;
+    }
+
+    /**
+     * Cursor para pedir la siguiente página, o null si esta es la última.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
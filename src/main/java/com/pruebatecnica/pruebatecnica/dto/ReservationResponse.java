@@ -0,0 +1,44 @@
+package com.pruebatecnica.pruebatecnica.dto;
+
+import com.pruebatecnica.pruebatecnica.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class ReservationResponse {
+
+    private final Long orderId;
+    private final OrderStatus status;
+    private final BigDecimal totalAmount;
+    private final LocalDateTime expiresAt;
+    private final String payUrl;
+
+    public ReservationResponse(Long orderId, OrderStatus status, BigDecimal totalAmount, LocalDateTime expiresAt) {
+        this.orderId = orderId;
+        this.status = status;
+        this.totalAmount = totalAmount;
+        this.expiresAt = expiresAt;
+        this.payUrl = "/api/checkout/" + orderId + "/pay";
+    }
+
+    // Getters
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public String getPayUrl() {
+        return payUrl;
+    }
+}
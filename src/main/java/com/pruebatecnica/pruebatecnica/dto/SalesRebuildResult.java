@@ -0,0 +1,27 @@
+package com.pruebatecnica.pruebatecnica.dto;
+
+public class SalesRebuildResult {
+
+    private final long ordersCounted;
+    private final int chunks;
+    private final long elapsedMillis;
+
+    public SalesRebuildResult(long ordersCounted, int chunks, long elapsedMillis) {
+        this.ordersCounted = ordersCounted;
+        this.chunks = chunks;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    // Getters
+    public long getOrdersCounted() {
+        return ordersCounted;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
@@ -0,0 +1,8 @@
+package com.pruebatecnica.pruebatecnica.exception;
+
+public class GroupCommitUnavailableException extends RuntimeException {
+
+    public GroupCommitUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.pruebatecnica.pruebatecnica.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+    private final String idempotencyKey;
+
+    public IdempotencyKeyReusedException(String idempotencyKey) {
+        super(String.format("Idempotency key %s was already used with a different request", idempotencyKey));
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+}
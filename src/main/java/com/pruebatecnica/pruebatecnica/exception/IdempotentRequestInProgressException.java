@@ -0,0 +1,14 @@
+package com.pruebatecnica.pruebatecnica.exception;
+
+public class IdempotentRequestInProgressException extends RuntimeException {
+    private final String idempotencyKey;
+
+    public IdempotentRequestInProgressException(String idempotencyKey) {
+        super(String.format("Request with idempotency key %s is still in progress", idempotencyKey));
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+}
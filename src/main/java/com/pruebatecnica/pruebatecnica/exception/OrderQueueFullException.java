@@ -0,0 +1,14 @@
+package com.pruebatecnica.pruebatecnica.exception;
+
+public class OrderQueueFullException extends RuntimeException {
+    private final int capacity;
+
+    public OrderQueueFullException(int capacity) {
+        super(String.format("Order queue is full (capacity %d)", capacity));
+        this.capacity = capacity;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,14 @@
+package com.pruebatecnica.pruebatecnica.exception;
+
+public class ReservationExpiredException extends RuntimeException {
+    private final Long orderId;
+
+    public ReservationExpiredException(Long orderId) {
+        super(String.format("Reservation for order %d has expired or was cancelled", orderId));
+        this.orderId = orderId;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+}
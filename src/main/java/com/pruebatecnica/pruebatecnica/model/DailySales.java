@@ -0,0 +1,51 @@
+package com.pruebatecnica.pruebatecnica.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Ventas de un día: importe total (con descuentos) y número de órdenes.
+ * Se mantiene incrementalmente al confirmar órdenes.
+ */
+@Entity
+@Table(name = "daily_sales")
+public class DailySales {
+
+    @Id
+    @Column(name = "sales_date")
+    private LocalDate date;
+
+    @Column(nullable = false)
+    private BigDecimal revenue;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    // Constructors
+    public DailySales() {}
+
+    public DailySales(LocalDate date, BigDecimal revenue, long orderCount) {
+        this.date = date;
+        this.revenue = revenue;
+        this.orderCount = orderCount;
+    }
+
+    public void add(BigDecimal revenue, long orderCount) {
+        this.revenue = this.revenue.add(revenue);
+        this.orderCount += orderCount;
+    }
+
+    // Getters
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+}
@@ -0,0 +1,54 @@
+package com.pruebatecnica.pruebatecnica.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Aritmética de importes en céntimos sobre long, para calcular precios sin
+ * crear un BigDecimal por operación. Los importes se convierten a BigDecimal
+ * (escala 2) solo al persistir o serializar.
+ *
+ * Todas las operaciones lanzan ArithmeticException si desbordan.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+    public static final RoundingMode ROUNDING = RoundingMode.HALF_EVEN;
+
+    private static final long BASIS_POINTS_PER_UNIT = 10_000;
+
+    private Money() {
+    }
+
+    /**
+     * Convierte un importe a céntimos, redondeando half-even si trae más de
+     * dos decimales.
+     */
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(SCALE, ROUNDING).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    public static long times(long cents, int quantity) {
+        return Math.multiplyExact(cents, quantity);
+    }
+
+    /**
+     * Porcentaje de un importe expresado en puntos básicos (1000 = 10%),
+     * redondeado half-even al céntimo.
+     */
+    public static long percentOf(long cents, int basisPoints) {
+        long scaled = Math.multiplyExact(cents, basisPoints);
+        long quotient = scaled / BASIS_POINTS_PER_UNIT;
+        long twiceRemainder = Math.abs(scaled % BASIS_POINTS_PER_UNIT) * 2;
+
+        if (twiceRemainder > BASIS_POINTS_PER_UNIT
+                || (twiceRemainder == BASIS_POINTS_PER_UNIT && (quotient & 1) != 0)) {
+            quotient += Long.signum(scaled);
+        }
+        return quotient;
+    }
+}
@@ -7,11 +7,18 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        // Historial de un cliente y órdenes por estado, ambos por fecha; id cierra el keyset
+        @Index(name = "idx_orders_customer_created", columnList = "customer_email, created_at, id"),
+        @Index(name = "idx_orders_status_created", columnList = "status, created_at, id"),
+        // Listado paginado y exportación por rango de fechas
+        @Index(name = "idx_orders_created", columnList = "created_at, id")
+})
 public class Order {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -8,7 +8,8 @@ import java.math.BigDecimal;
 public class OrderItem {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -22,10 +23,9 @@ public class OrderItem {
     @Column(nullable = false)
     private Integer quantity;
     
-    @Column(nullable = false)
+    // Nulos mientras la orden está PENDING en la cola asíncrona
     private BigDecimal unitPrice;
     
-    @Column(nullable = false)
     private BigDecimal totalPrice;
     
     // Constructors
@@ -34,8 +34,15 @@ public class OrderItem {
     public OrderItem(Product product, Integer quantity) {
         this.product = product;
         this.quantity = quantity;
+        applyPrice(product);
+    }
+
+    /**
+     * Fija el precio unitario y total con el precio actual de product.
+     */
+    public void applyPrice(Product product) {
         this.unitPrice = product.getPrice();
-        this.totalPrice = unitPrice.multiply(BigDecimal.valueOf(quantity));
+        this.totalPrice = Money.toBigDecimal(Money.times(product.getPriceCents(), quantity));
     }
     
     // Getters and Setters
@@ -5,5 +5,12 @@ public enum OrderStatus {
     CONFIRMED,
     SHIPPED,
     DELIVERED,
-    CANCELLED
-}
\ No newline at end of file
+    CANCELLED;
+
+    /**
+     * Si una orden en este estado cuenta como venta en los agregados.
+     */
+    public boolean countsAsSale() {
+        return this == CONFIRMED || this == SHIPPED || this == DELIVERED;
+    }
+}
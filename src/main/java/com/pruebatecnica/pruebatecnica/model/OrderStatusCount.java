@@ -0,0 +1,40 @@
+package com.pruebatecnica.pruebatecnica.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Número de órdenes que están en un estado.
+ */
+@Entity
+@Table(name = "order_status_counts")
+public class OrderStatusCount {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private OrderStatus status;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    // Constructors
+    public OrderStatusCount() {}
+
+    public OrderStatusCount(OrderStatus status, long orderCount) {
+        this.status = status;
+        this.orderCount = orderCount;
+    }
+
+    public void add(long orderCount) {
+        this.orderCount += orderCount;
+    }
+
+    // Getters
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+}
@@ -1,18 +1,36 @@
 package com.pruebatecnica.pruebatecnica.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
+import java.util.Locale;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        // Búsqueda por prefijo de nombre y por rango de precio, ordenadas con id para paginar por keyset
+        @Index(name = "idx_products_search_name", columnList = "search_name, id"),
+        @Index(name = "idx_products_price", columnList = "price, id")
+})
 public class Product {
+
+    // Ids reservados por cada valor de products_seq (también los usa la importación masiva)
+    public static final int ID_ALLOCATION_SIZE = 50;
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
+
+    // Código externo del producto, clave de la importación de catálogo
+    @Column(unique = true)
+    private String sku;
     
     @Column(nullable = false)
     private String name;
+
+    // Nombre en minúsculas para buscar sin distinguir mayúsculas usando el índice
+    @Column(name = "search_name", nullable = false)
+    private String searchName;
     
     @Column(nullable = false)
     private BigDecimal price;
@@ -22,12 +40,24 @@ public class Product {
     
     @Column
     private String description;
+
+    // Producto caliente: su stock vive repartido en ProductStockBucket y stock queda a 0
+    @Column(nullable = false)
+    private boolean hot;
+
+    // Suma de los buckets de un producto caliente, cargada solo donde hace falta (ProductRepository.loadHotStock)
+    @Transient
+    private Integer availableStock;
+
+    // Precio en céntimos, recalculado solo cuando cambia la instancia de price
+    private transient BigDecimal priceCentsSource;
+    private transient long priceCents;
     
     // Constructors
     public Product() {}
     
     public Product(String name, BigDecimal price, Integer stock) {
-        this.name = name;
+        setName(name);
         this.price = price;
         this.stock = stock;
     }
@@ -41,12 +71,29 @@ public class Product {
         this.id = id;
     }
     
+    public String getSku() {
+        return sku;
+    }
+    
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+    
     public String getName() {
         return name;
     }
     
     public void setName(String name) {
         this.name = name;
+        this.searchName = searchKey(name);
+    }
+
+    /**
+     * Forma normalizada de un nombre (o de un texto a buscar) tal como se
+     * guarda en search_name.
+     */
+    public static String searchKey(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
     }
     
     public BigDecimal getPrice() {
@@ -56,9 +103,33 @@ public class Product {
     public void setPrice(BigDecimal price) {
         this.price = price;
     }
+
+    /**
+     * Precio en céntimos para el cálculo de importes en memoria (ver Money).
+     */
+    @JsonIgnore
+    public long getPriceCents() {
+        BigDecimal current = price;
+        if (current != priceCentsSource) {
+            priceCents = Money.toCents(current);
+            priceCentsSource = current;
+        }
+        return priceCents;
+    }
     
+    /**
+     * Stock disponible. En un producto caliente es la suma de sus buckets
+     * leída con setAvailableStock.
+     */
     public Integer getStock() {
-        return stock;
+        return hot && availableStock != null ? availableStock : stock;
+    }
+
+    /**
+     * Fija la suma de los buckets de un producto caliente. No se persiste.
+     */
+    public void setAvailableStock(Integer availableStock) {
+        this.availableStock = availableStock;
     }
     
     public void setStock(Integer stock) {
@@ -72,4 +143,12 @@ public class Product {
     public void setDescription(String description) {
         this.description = description;
     }
-}
\ No newline at end of file
+
+    public boolean isHot() {
+        return hot;
+    }
+    
+    public void setHot(boolean hot) {
+        this.hot = hot;
+    }
+}
@@ -0,0 +1,50 @@
+package com.pruebatecnica.pruebatecnica.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+
+/**
+ * Unidades vendidas e importe de las líneas (antes de descuentos de la
+ * orden) de un producto. Se mantiene incrementalmente al confirmar órdenes.
+ */
+@Entity
+@Table(name = "product_sales")
+public class ProductSales {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "units_sold", nullable = false)
+    private long unitsSold;
+
+    @Column(nullable = false)
+    private BigDecimal revenue;
+
+    // Constructors
+    public ProductSales() {}
+
+    public ProductSales(Long productId, long unitsSold, BigDecimal revenue) {
+        this.productId = productId;
+        this.unitsSold = unitsSold;
+        this.revenue = revenue;
+    }
+
+    public void add(long unitsSold, BigDecimal revenue) {
+        this.unitsSold += unitsSold;
+        this.revenue = this.revenue.add(revenue);
+    }
+
+    // Getters
+    public Long getProductId() {
+        return productId;
+    }
+
+    public long getUnitsSold() {
+        return unitsSold;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+}
@@ -0,0 +1,69 @@
+package com.pruebatecnica.pruebatecnica.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Parte del stock de un producto caliente. Repartir el stock en varias filas
+ * permite que compras concurrentes bloqueen filas distintas.
+ */
+@Entity
+@Table(name = "product_stock_buckets",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"product_id", "bucket_index"}))
+public class ProductStockBucket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_stock_buckets_seq")
+    @SequenceGenerator(name = "product_stock_buckets_seq", sequenceName = "product_stock_buckets_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "bucket_index", nullable = false)
+    private Integer bucketIndex;
+
+    @Column(nullable = false)
+    private Integer stock;
+
+    // Constructors
+    public ProductStockBucket() {}
+
+    public ProductStockBucket(Long productId, Integer bucketIndex, Integer stock) {
+        this.productId = productId;
+        this.bucketIndex = bucketIndex;
+        this.stock = stock;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Integer getBucketIndex() {
+        return bucketIndex;
+    }
+
+    public void setBucketIndex(Integer bucketIndex) {
+        this.bucketIndex = bucketIndex;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
+}
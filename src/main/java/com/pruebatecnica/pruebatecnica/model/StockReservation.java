@@ -0,0 +1,62 @@
+package com.pruebatecnica.pruebatecnica.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reserva del stock de una orden PENDING hasta expiresAt. El stock ya está
+ * descontado: pagar borra la reserva y deja la orden CONFIRMED; cancelar o
+ * caducar la borra, cancela la orden y devuelve las unidades.
+ */
+@Entity
+@Table(name = "stock_reservations", indexes = {
+        // Recuperación de las reservas vivas al arrancar
+        @Index(name = "idx_stock_reservations_expires", columnList = "expires_at")
+})
+public class StockReservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_reservations_seq")
+    @SequenceGenerator(name = "stock_reservations_seq", sequenceName = "stock_reservations_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false, unique = true)
+    private Long orderId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Constructors
+    public StockReservation() {}
+
+    public StockReservation(Long orderId, LocalDateTime expiresAt) {
+        this.orderId = orderId;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -1,9 +1,135 @@
 package com.pruebatecnica.pruebatecnica.repository;
 
 import com.pruebatecnica.pruebatecnica.model.Order;
+import com.pruebatecnica.pruebatecnica.model.OrderItem;
+import com.pruebatecnica.pruebatecnica.model.OrderStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
-}
\ No newline at end of file
+
+    /**
+     * Orden con sus líneas y productos en una sola consulta.
+     */
+    @Query("""
+            SELECT DISTINCT o FROM Order o
+            LEFT JOIN FETCH o.items i
+            LEFT JOIN FETCH i.product
+            WHERE o.id = :id
+            """)
+    Optional<Order> findWithItemsById(@Param("id") Long id);
+
+    /**
+     * Líneas (con su producto) de varias órdenes en una sola consulta, para
+     * completar una página sin una consulta por orden.
+     */
+    @Query("SELECT i FROM OrderItem i JOIN FETCH i.product WHERE i.order.id IN :orderIds ORDER BY i.id")
+    List<OrderItem> findItemsWithProductByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("SELECT o FROM Order o ORDER BY o.createdAt, o.id")
+    List<Order> findFirstPage(Pageable pageable);
+
+    /**
+     * Página por keyset: órdenes posteriores a (createdAt, id) sin usar OFFSET.
+     */
+    @Query("""
+            SELECT o FROM Order o
+            WHERE o.createdAt > :createdAt OR (o.createdAt = :createdAt AND o.id > :id)
+            ORDER BY o.createdAt, o.id
+            """)
+    List<Order> findPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                              @Param("id") Long id,
+                              Pageable pageable);
+
+    /**
+     * Página del historial de un cliente, de la más reciente a la más antigua,
+     * con las órdenes creadas en [from, before) o, con before, en before pero
+     * de id menor. Para la primera página se pasa beforeId = Long.MIN_VALUE.
+     * Todas las condiciones son un rango sobre idx_orders_customer_created.
+     */
+    @Query("""
+            SELECT o FROM Order o
+            WHERE o.customerEmail = :customerEmail
+              AND o.createdAt >= :from
+              AND o.createdAt <= :beforeCreatedAt
+              AND (o.createdAt < :beforeCreatedAt OR o.id < :beforeId)
+            ORDER BY o.createdAt DESC, o.id DESC
+            """)
+    List<Order> findCustomerPage(@Param("customerEmail") String customerEmail,
+                                 @Param("from") LocalDateTime from,
+                                 @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                 @Param("beforeId") Long beforeId,
+                                 Pageable pageable);
+
+    /**
+     * Igual que findCustomerPage pero por estado, sobre idx_orders_status_created.
+     */
+    @Query("""
+            SELECT o FROM Order o
+            WHERE o.status = :status
+              AND o.createdAt >= :from
+              AND o.createdAt <= :beforeCreatedAt
+              AND (o.createdAt < :beforeCreatedAt OR o.id < :beforeId)
+            ORDER BY o.createdAt DESC, o.id DESC
+            """)
+    List<Order> findStatusPage(@Param("status") OrderStatus status,
+                               @Param("from") LocalDateTime from,
+                               @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                               @Param("beforeId") Long beforeId,
+                               Pageable pageable);
+
+    @Query("SELECT o.status FROM Order o WHERE o.id = :id")
+    Optional<OrderStatus> findStatusById(@Param("id") Long id);
+
+    @Query("SELECT o.id FROM Order o WHERE o.status = :status ORDER BY o.id")
+    List<Long> findIdsByStatus(@Param("status") OrderStatus status);
+
+    /**
+     * Órdenes en un estado que no retienen stock con una reserva: las PENDING
+     * de la cola asíncrona, sin las del checkout.
+     */
+    @Query("""
+            SELECT o.id FROM Order o
+            WHERE o.status = :status
+              AND NOT EXISTS (SELECT r FROM StockReservation r WHERE r.orderId = o.id)
+            ORDER BY o.id
+            """)
+    List<Long> findIdsByStatusWithoutReservation(@Param("status") OrderStatus status);
+
+    /**
+     * Unidades por producto sumando las líneas de varias órdenes.
+     */
+    @Query("""
+            SELECT i.product.id AS productId, SUM(i.quantity) AS quantity
+            FROM OrderItem i
+            WHERE i.order.id IN :orderIds
+            GROUP BY i.product.id
+            """)
+    List<ProductQuantityView> sumQuantitiesByProduct(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * Cambia el estado solo si la orden sigue en expected. Devuelve las filas
+     * modificadas (0 si otro proceso ya la cambió).
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :status WHERE o.id = :id AND o.status = :expected")
+    int compareAndSetStatus(@Param("id") Long id,
+                            @Param("expected") OrderStatus expected,
+                            @Param("status") OrderStatus status);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :status WHERE o.id IN :ids AND o.status = :expected")
+    int compareAndSetStatus(@Param("ids") Collection<Long> ids,
+                            @Param("expected") OrderStatus expected,
+                            @Param("status") OrderStatus status);
+}
@@ -0,0 +1,176 @@
+package com.pruebatecnica.pruebatecnica.repository;
+
+import com.pruebatecnica.pruebatecnica.dto.OrderExportRow;
+import com.pruebatecnica.pruebatecnica.dto.OrderItemResponse;
+import com.pruebatecnica.pruebatecnica.dto.OrderResponse;
+import com.pruebatecnica.pruebatecnica.model.OrderStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Lectura de órdenes en streaming directamente desde un cursor JDBC, sin
+ * pasar por el contexto de persistencia. La memoria usada es la de una
+ * orden a la vez, sea cual sea el tamaño de la tabla.
+ */
+@Repository
+public class OrderStreamRepository {
+
+    private static final int FETCH_SIZE = 500;
+
+    private static final String SELECT_ORDERS_WITH_ITEMS = """
+            SELECT o.id, o.customer_name, o.customer_email, o.total_amount, o.created_at, o.status,
+                   i.product_id, p.name AS product_name, i.quantity, i.unit_price, i.total_price
+            FROM orders o
+            LEFT JOIN order_items i ON i.order_id = o.id
+            LEFT JOIN products p ON p.id = i.product_id
+            ORDER BY o.created_at, o.id, i.id
+            """;
+
+    private static final String SELECT_EXPORT_ROWS = """
+            SELECT o.id, o.created_at, o.status, o.customer_name, o.customer_email, o.total_amount,
+                   i.product_id, p.name AS product_name, i.quantity, i.unit_price, i.total_price
+            FROM orders o
+            LEFT JOIN order_items i ON i.order_id = o.id
+            LEFT JOIN products p ON p.id = i.product_id
+            WHERE o.created_at >= ? AND o.created_at < ?
+            """;
+
+    private static final String EXPORT_ORDER_BY = " ORDER BY o.created_at, o.id, i.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderStreamRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    /**
+     * Entrega cada orden con sus líneas al consumer, en orden (createdAt, id).
+     * Se ejecuta en una transacción de solo lectura para que el driver pueda
+     * mantener el cursor abierto y leer por bloques de FETCH_SIZE filas.
+     */
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<OrderResponse> consumer) {
+        OrderRowAssembler assembler = new OrderRowAssembler(consumer);
+        jdbcTemplate.query(SELECT_ORDERS_WITH_ITEMS, assembler);
+        assembler.finish();
+    }
+
+    /**
+     * Entrega una fila aplanada por línea de orden creada en [from, to), en
+     * orden (createdAt, id). status es opcional. Cada fila se descarta en
+     * cuanto el consumer la procesa: no se construyen entidades ni se agrupan
+     * las líneas de una orden.
+     */
+    @Transactional(readOnly = true)
+    public void streamExportRows(LocalDateTime from, LocalDateTime to, OrderStatus status,
+                                 Consumer<OrderExportRow> consumer) {
+        RowCallbackHandler handler = rs -> consumer.accept(toExportRow(rs));
+        if (status == null) {
+            jdbcTemplate.query(SELECT_EXPORT_ROWS + EXPORT_ORDER_BY, handler,
+                    Timestamp.valueOf(from), Timestamp.valueOf(to));
+        } else {
+            jdbcTemplate.query(SELECT_EXPORT_ROWS + " AND o.status = ?" + EXPORT_ORDER_BY, handler,
+                    Timestamp.valueOf(from), Timestamp.valueOf(to), status.name());
+        }
+    }
+
+    private static OrderExportRow toExportRow(ResultSet rs) throws SQLException {
+        String statusValue = rs.getString("status");
+        long productId = rs.getLong("product_id");
+        boolean hasItem = !rs.wasNull();
+        return new OrderExportRow(
+                rs.getLong("id"),
+                rs.getTimestamp("created_at").toLocalDateTime(),
+                statusValue == null ? null : OrderStatus.valueOf(statusValue),
+                rs.getString("customer_name"),
+                rs.getString("customer_email"),
+                rs.getBigDecimal("total_amount"),
+                hasItem ? productId : null,
+                rs.getString("product_name"),
+                hasItem ? rs.getInt("quantity") : null,
+                rs.getBigDecimal("unit_price"),
+                rs.getBigDecimal("total_price")
+        );
+    }
+
+    /**
+     * Agrupa las filas consecutivas de una misma orden (el join devuelve una
+     * fila por línea) y emite la orden completa al cambiar de id.
+     */
+    private static class OrderRowAssembler implements RowCallbackHandler {
+
+        private final Consumer<OrderResponse> consumer;
+
+        private ResultRow current;
+        private List<OrderItemResponse> items;
+
+        OrderRowAssembler(Consumer<OrderResponse> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long orderId = rs.getLong("id");
+            if (current == null || current.id != orderId) {
+                finish();
+                current = new ResultRow(rs);
+                items = new ArrayList<>();
+            }
+
+            long productId = rs.getLong("product_id");
+            if (!rs.wasNull()) {
+                items.add(new OrderItemResponse(
+                        productId,
+                        rs.getString("product_name"),
+                        rs.getInt("quantity"),
+                        rs.getBigDecimal("unit_price"),
+                        rs.getBigDecimal("total_price")
+                ));
+            }
+        }
+
+        void finish() {
+            if (current != null) {
+                consumer.accept(current.toResponse(items));
+                current = null;
+            }
+        }
+    }
+
+    private static class ResultRow {
+
+        private final long id;
+        private final String customerName;
+        private final String customerEmail;
+        private final BigDecimal totalAmount;
+        private final LocalDateTime createdAt;
+        private final OrderStatus status;
+
+        ResultRow(ResultSet rs) throws SQLException {
+            this.id = rs.getLong("id");
+            this.customerName = rs.getString("customer_name");
+            this.customerEmail = rs.getString("customer_email");
+            this.totalAmount = rs.getBigDecimal("total_amount");
+            this.createdAt = rs.getTimestamp("created_at").toLocalDateTime();
+            String statusValue = rs.getString("status");
+            this.status = statusValue == null ? null : OrderStatus.valueOf(statusValue);
+        }
+
+        OrderResponse toResponse(List<OrderItemResponse> items) {
+            return new OrderResponse(id, customerName, customerEmail, totalAmount, createdAt, status, items);
+        }
+    }
+}
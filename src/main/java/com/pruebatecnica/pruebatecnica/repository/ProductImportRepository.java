@@ -0,0 +1,71 @@
+package com.pruebatecnica.pruebatecnica.repository;
+
+import com.pruebatecnica.pruebatecnica.dto.ProductImportRow;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Escritura masiva del catálogo con JDBC, sin pasar por el contexto de
+ * persistencia. Cada fila se inserta o actualiza por sku con un MERGE.
+ */
+@Repository
+public class ProductImportRepository {
+
+    private static final String NEXT_ID_BLOCK = "SELECT NEXT VALUE FOR products_seq";
+
+    // En productos calientes el stock está en los buckets: la importación no lo toca
+    private static final String UPSERT_BY_SKU = """
+            MERGE INTO products p
+            USING (VALUES (CAST(? AS BIGINT), CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(255)),
+                           CAST(? AS NUMERIC(38, 2)), CAST(? AS INTEGER), CAST(? AS VARCHAR(255))))
+                AS s(id, sku, name, price, stock, description)
+            ON p.sku = s.sku
+            WHEN MATCHED THEN UPDATE SET
+                name = s.name,
+                search_name = LOWER(s.name),
+                price = s.price,
+                description = s.description,
+                stock = CASE WHEN p.hot THEN p.stock ELSE s.stock END
+            WHEN NOT MATCHED THEN INSERT (id, sku, name, search_name, price, stock, description, hot)
+                VALUES (s.id, s.sku, s.name, LOWER(s.name), s.price, s.stock, s.description, FALSE)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductImportRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Reserva un bloque de ids de products_seq con la misma semántica que el
+     * optimizador pooled de Hibernate: el valor devuelto v reserva los ids
+     * (v - Product.ID_ALLOCATION_SIZE, v].
+     */
+    public long nextIdBlockEnd() {
+        return jdbcTemplate.queryForObject(NEXT_ID_BLOCK, Long.class);
+    }
+
+    /**
+     * Upsert de todas las filas en un único batch JDBC. ids[i] solo se usa si
+     * rows[i] es un producto nuevo.
+     */
+    public void upsertBatch(List<ProductImportRow> rows, long[] ids) {
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            args.add(toArgs(rows.get(i), ids[i]));
+        }
+        jdbcTemplate.batchUpdate(UPSERT_BY_SKU, args);
+    }
+
+    public void upsert(ProductImportRow row, long id) {
+        jdbcTemplate.update(UPSERT_BY_SKU, toArgs(row, id));
+    }
+
+    private Object[] toArgs(ProductImportRow row, long id) {
+        return new Object[]{id, row.getSku(), row.getName(), row.getPrice(), row.getStock(), row.getDescription()};
+    }
+}
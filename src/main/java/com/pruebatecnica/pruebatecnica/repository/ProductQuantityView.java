@@ -0,0 +1,10 @@
+package com.pruebatecnica.pruebatecnica.repository;
+
+/**
+ * Proyección con las unidades de un producto sumadas sobre varias órdenes.
+ */
+public interface ProductQuantityView {
+    Long getProductId();
+
+    Long getQuantity();
+}
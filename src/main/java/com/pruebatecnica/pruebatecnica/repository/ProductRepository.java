@@ -1,9 +1,89 @@
 package com.pruebatecnica.pruebatecnica.repository;
 
 import com.pruebatecnica.pruebatecnica.model.Product;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
-}
\ No newline at end of file
+
+    String AVAILABLE_STOCK = "CASE WHEN p.hot = true THEN (SELECT CAST(COALESCE(SUM(b.stock), 0) AS Integer) FROM ProductStockBucket b WHERE b.productId = p.id) ELSE p.stock END";
+
+    /**
+     * Descuenta stock en una sola sentencia, solo si hay unidades suficientes
+     * y el producto no es caliente. Devuelve el número de filas afectadas (0
+     * si no había stock o su stock está en los buckets).
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock - :quantity WHERE p.id = :productId AND p.stock >= :quantity AND p.hot = false")
+    int decrementStock(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    /**
+     * Descuenta stock sin condición. Solo para volcar unidades que ya fueron
+     * reservadas contra el ledger en memoria.
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock - :quantity WHERE p.id = :productId")
+    int subtractStock(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    /**
+     * Devuelve unidades a la fila de un producto que no es caliente. Devuelve
+     * 0 si el producto es caliente (su stock está en los buckets).
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock + :quantity WHERE p.id = :productId AND p.hot = false")
+    int addStockIfCold(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    /**
+     * Stock disponible; en productos calientes, la suma de sus buckets. Solo
+     * estas consultas leen los buckets, no cada SELECT de Product.
+     */
+    @Query("SELECT " + AVAILABLE_STOCK + " FROM Product p WHERE p.id = :productId")
+    Optional<Integer> findStockById(@Param("productId") Long productId);
+
+    @Query("SELECT p.id AS id, " + AVAILABLE_STOCK + " AS stock, p.hot AS hot FROM Product p WHERE p.id = :productId")
+    Optional<ProductStockView> findStockViewById(@Param("productId") Long productId);
+
+    @Query("SELECT p.id AS id, " + AVAILABLE_STOCK + " AS stock, p.hot AS hot FROM Product p WHERE p.id IN :productIds")
+    List<ProductStockView> findStockByIdIn(@Param("productIds") Collection<Long> productIds);
+
+    @Query("SELECT p.id AS id, " + AVAILABLE_STOCK + " AS stock, p.hot AS hot FROM Product p")
+    List<ProductStockView> findAllStock();
+
+    /**
+     * Completa el stock de los productos calientes cargados como entidad, que
+     * en la columna stock solo tienen 0. Una consulta para todos, y ninguna
+     * si no hay calientes.
+     */
+    default void loadHotStock(Collection<Product> products) {
+        Map<Long, Product> hot = new HashMap<>();
+        for (Product product : products) {
+            if (product.isHot()) {
+                hot.put(product.getId(), product);
+            }
+        }
+        if (hot.isEmpty()) {
+            return;
+        }
+        for (ProductStockView stock : findStockByIdIn(hot.keySet())) {
+            hot.get(stock.getId()).setAvailableStock(stock.getStock());
+        }
+    }
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id = :productId")
+    Optional<Product> lockById(@Param("productId") Long productId);
+
+    Optional<Product> findBySku(String sku);
+}
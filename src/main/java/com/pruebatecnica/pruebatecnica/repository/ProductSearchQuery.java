@@ -0,0 +1,109 @@
+package com.pruebatecnica.pruebatecnica.repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consulta de búsqueda de productos con sus parámetros. Cada filtro se
+ * añade solo si se indica, y la página empieza después de la posición
+ * (valor de orden, id) del cursor.
+ *
+ * La condición de keyset se escribe como "clave >= ? AND (clave > ? OR
+ * id > ?)" para que la primera parte sea un rango sobre el índice. Por la
+ * misma razón el prefijo de nombre se busca como rango y no con LIKE: un
+ * LIKE con parámetro no usa el índice porque el patrón no se conoce al
+ * preparar la sentencia. Contains sí necesita LIKE y recorre los nombres.
+ */
+public class ProductSearchQuery {
+
+    public enum Sort {
+        NAME("p.search_name"),
+        PRICE("p.price");
+
+        private final String column;
+
+        Sort(String column) {
+            this.column = column;
+        }
+    }
+
+    public enum NameMatch {
+        PREFIX,
+        CONTAINS
+    }
+
+    private static final String SELECT = """
+            SELECT p.id, p.sku, p.name, p.price, p.description, p.hot,
+                   CASE WHEN p.hot
+                        THEN (SELECT COALESCE(SUM(b.stock), 0) FROM product_stock_buckets b WHERE b.product_id = p.id)
+                        ELSE p.stock END AS available_stock
+            FROM products p
+            """;
+
+    // Un producto caliente tiene stock si le queda en algún bucket
+    private static final String IN_STOCK = "(p.stock > 0 OR (p.hot AND EXISTS "
+            + "(SELECT 1 FROM product_stock_buckets b WHERE b.product_id = p.id AND b.stock > 0)))";
+
+    private final StringBuilder where = new StringBuilder();
+    private final List<Object> args = new ArrayList<>();
+    private final Sort sort;
+
+    public ProductSearchQuery(Sort sort) {
+        this.sort = sort;
+    }
+
+    public ProductSearchQuery name(String searchKey, NameMatch match) {
+        if (match == NameMatch.CONTAINS) {
+            return condition("p.search_name LIKE ? ESCAPE '\\'", "%" + escapeLike(searchKey) + "%");
+        }
+        return condition("p.search_name >= ? AND p.search_name < ?", searchKey, searchKey + Character.MAX_VALUE);
+    }
+
+    public ProductSearchQuery minPrice(BigDecimal minPrice) {
+        return condition("p.price >= ?", minPrice);
+    }
+
+    public ProductSearchQuery maxPrice(BigDecimal maxPrice) {
+        return condition("p.price <= ?", maxPrice);
+    }
+
+    public ProductSearchQuery inStockOnly() {
+        return condition(IN_STOCK);
+    }
+
+    public ProductSearchQuery after(Object sortValue, Long id) {
+        return condition(sort.column + " >= ? AND (" + sort.column + " > ? OR p.id > ?)", sortValue, sortValue, id);
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    /**
+     * SQL de la consulta con un LIMIT de limit filas.
+     */
+    public String toSql(int limit) {
+        return SELECT
+                + (where.isEmpty() ? "" : "WHERE " + where + "\n")
+                + "ORDER BY " + sort.column + ", p.id\n"
+                + "LIMIT " + limit;
+    }
+
+    public Object[] getArgs() {
+        return args.toArray();
+    }
+
+    private ProductSearchQuery condition(String sql, Object... values) {
+        if (!where.isEmpty()) {
+            where.append(" AND ");
+        }
+        where.append(sql);
+        args.addAll(List.of(values));
+        return this;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,44 @@
+package com.pruebatecnica.pruebatecnica.repository;
+
+import com.pruebatecnica.pruebatecnica.model.Product;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Búsqueda de productos con SQL directo: los filtros y el orden se eligen
+ * por petición y la paginación es por keyset sobre los índices de products.
+ */
+@Repository
+public class ProductSearchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductSearchRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public List<Product> search(ProductSearchQuery query, int limit) {
+        return jdbcTemplate.query(query.toSql(limit), ProductSearchRepository::toProduct, query.getArgs());
+    }
+
+    /**
+     * Plan de ejecución de la consulta, para comprobar qué índice usa.
+     */
+    public String explain(ProductSearchQuery query, int limit) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + query.toSql(limit), String.class, query.getArgs()));
+    }
+
+    private static Product toProduct(ResultSet rs, int rowNum) throws SQLException {
+        Product product = new Product(rs.getString("name"), rs.getBigDecimal("price"), rs.getInt("available_stock"));
+        product.setId(rs.getLong("id"));
+        product.setSku(rs.getString("sku"));
+        product.setDescription(rs.getString("description"));
+        product.setHot(rs.getBoolean("hot"));
+        return product;
+    }
+}
@@ -0,0 +1,52 @@
+package com.pruebatecnica.pruebatecnica.repository;
+
+import com.pruebatecnica.pruebatecnica.model.ProductStockBucket;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProductStockBucketRepository extends JpaRepository<ProductStockBucket, Long> {
+
+    /**
+     * Descuenta de un único bucket si tiene unidades suficientes. Devuelve
+     * las filas afectadas (0 si no las tenía).
+     */
+    @Modifying
+    @Query("""
+            UPDATE ProductStockBucket b SET b.stock = b.stock - :quantity
+            WHERE b.productId = :productId AND b.bucketIndex = :bucketIndex AND b.stock >= :quantity
+            """)
+    int decrementBucket(@Param("productId") Long productId,
+                        @Param("bucketIndex") int bucketIndex,
+                        @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("""
+            UPDATE ProductStockBucket b SET b.stock = b.stock + :quantity
+            WHERE b.productId = :productId AND b.bucketIndex = :bucketIndex
+            """)
+    int incrementBucket(@Param("productId") Long productId,
+                        @Param("bucketIndex") int bucketIndex,
+                        @Param("quantity") int quantity);
+
+    @Query("SELECT COUNT(b) FROM ProductStockBucket b WHERE b.productId = :productId")
+    int countByProductId(@Param("productId") Long productId);
+
+    /**
+     * Todos los buckets del producto, bloqueados en orden de índice.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM ProductStockBucket b WHERE b.productId = :productId ORDER BY b.bucketIndex")
+    List<ProductStockBucket> lockAllByProductId(@Param("productId") Long productId);
+
+    @Modifying
+    @Query("DELETE FROM ProductStockBucket b WHERE b.productId = :productId")
+    int deleteByProductId(@Param("productId") Long productId);
+}
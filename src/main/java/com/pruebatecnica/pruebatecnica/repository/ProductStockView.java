@@ -0,0 +1,13 @@
+package com.pruebatecnica.pruebatecnica.repository;
+
+/**
+ * Proyección con el id, el stock disponible y el flag hot de un producto:
+ * lo que cambia con cada pedido o con markHot/markCold y no se cachea.
+ */
+public interface ProductStockView {
+    Long getId();
+
+    Integer getStock();
+
+    boolean isHot();
+}
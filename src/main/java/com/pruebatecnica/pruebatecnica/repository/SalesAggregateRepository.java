@@ -0,0 +1,201 @@
+package com.pruebatecnica.pruebatecnica.repository;
+
+import com.pruebatecnica.pruebatecnica.model.DailySales;
+import com.pruebatecnica.pruebatecnica.model.OrderStatus;
+import com.pruebatecnica.pruebatecnica.model.OrderStatusCount;
+import com.pruebatecnica.pruebatecnica.model.ProductSales;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Tablas de agregados de ventas: incrementos atómicos con MERGE, lecturas
+ * por clave primaria y el cálculo por rangos de id usado al reconstruirlas.
+ */
+@Repository
+public class SalesAggregateRepository {
+
+    private static final String ADD_DAILY_SALES = """
+            MERGE INTO daily_sales d
+            USING (VALUES (CAST(? AS DATE), CAST(? AS NUMERIC(38, 2)), CAST(? AS BIGINT)))
+                AS s(sales_date, revenue, order_count)
+            ON d.sales_date = s.sales_date
+            WHEN MATCHED THEN UPDATE SET revenue = d.revenue + s.revenue, order_count = d.order_count + s.order_count
+            WHEN NOT MATCHED THEN INSERT (sales_date, revenue, order_count) VALUES (s.sales_date, s.revenue, s.order_count)
+            """;
+
+    private static final String ADD_PRODUCT_SALES = """
+            MERGE INTO product_sales p
+            USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS NUMERIC(38, 2))))
+                AS s(product_id, units_sold, revenue)
+            ON p.product_id = s.product_id
+            WHEN MATCHED THEN UPDATE SET units_sold = p.units_sold + s.units_sold, revenue = p.revenue + s.revenue
+            WHEN NOT MATCHED THEN INSERT (product_id, units_sold, revenue) VALUES (s.product_id, s.units_sold, s.revenue)
+            """;
+
+    private static final String ADD_STATUS_COUNT = """
+            MERGE INTO order_status_counts c
+            USING (VALUES (CAST(? AS VARCHAR(20)), CAST(? AS BIGINT))) AS s(status, order_count)
+            ON c.status = s.status
+            WHEN MATCHED THEN UPDATE SET order_count = c.order_count + s.order_count
+            WHEN NOT MATCHED THEN INSERT (status, order_count) VALUES (s.status, s.order_count)
+            """;
+
+    private static final String SALE_STATUSES = Arrays.stream(OrderStatus.values())
+            .filter(OrderStatus::countsAsSale)
+            .map(status -> "'" + status.name() + "'")
+            .collect(Collectors.joining(", "));
+
+    private static final String DAILY_SALES_IN_RANGE = """
+            SELECT CAST(o.created_at AS DATE) AS sales_date, SUM(o.total_amount) AS revenue, COUNT(*) AS order_count
+            FROM orders o
+            WHERE o.id BETWEEN ? AND ? AND o.status IN (%s)
+            GROUP BY CAST(o.created_at AS DATE)
+            """.formatted(SALE_STATUSES);
+
+    private static final String PRODUCT_SALES_IN_RANGE = """
+            SELECT i.product_id, SUM(i.quantity) AS units_sold, SUM(i.total_price) AS revenue
+            FROM order_items i
+            JOIN orders o ON o.id = i.order_id
+            WHERE o.id BETWEEN ? AND ? AND o.status IN (%s)
+            GROUP BY i.product_id
+            """.formatted(SALE_STATUSES);
+
+    private static final String STATUS_COUNTS_IN_RANGE = """
+            SELECT o.status, COUNT(*) AS order_count
+            FROM orders o
+            WHERE o.id BETWEEN ? AND ?
+            GROUP BY o.status
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SalesAggregateRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Suma los incrementos a las tablas de agregados, una sentencia por
+     * clave en el orden recibido. Debe llamarse dentro de la transacción que
+     * produjo los cambios.
+     */
+    public void add(Collection<DailySales> daily, Collection<ProductSales> products,
+                    Collection<OrderStatusCount> statuses) {
+        for (ProductSales sales : products) {
+            upsert(ADD_PRODUCT_SALES, sales.getProductId(), sales.getUnitsSold(), sales.getRevenue());
+        }
+        for (DailySales sales : daily) {
+            upsert(ADD_DAILY_SALES, Date.valueOf(sales.getDate()), sales.getRevenue(), sales.getOrderCount());
+        }
+        for (OrderStatusCount count : statuses) {
+            upsert(ADD_STATUS_COUNT, count.getStatus().name(), count.getOrderCount());
+        }
+    }
+
+    /**
+     * Si dos transacciones insertan a la vez una clave nueva, una falla con
+     * clave duplicada; al repetirla la fila ya existe y se actualiza. H2 solo
+     * revierte la sentencia fallida, no la transacción.
+     */
+    private void upsert(String sql, Object... args) {
+        try {
+            jdbcTemplate.update(sql, args);
+        } catch (DuplicateKeyException e) {
+            jdbcTemplate.update(sql, args);
+        }
+    }
+
+    public Optional<DailySales> findDailySales(LocalDate date) {
+        return jdbcTemplate.query("SELECT sales_date, revenue, order_count FROM daily_sales WHERE sales_date = ?",
+                (rs, rowNum) -> toDailySales(rs), Date.valueOf(date)).stream().findFirst();
+    }
+
+    public List<DailySales> findDailySalesBetween(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("""
+                        SELECT sales_date, revenue, order_count FROM daily_sales
+                        WHERE sales_date BETWEEN ? AND ?
+                        ORDER BY sales_date
+                        """,
+                (rs, rowNum) -> toDailySales(rs), Date.valueOf(from), Date.valueOf(to));
+    }
+
+    public Optional<ProductSales> findProductSales(Long productId) {
+        return jdbcTemplate.query("SELECT product_id, units_sold, revenue FROM product_sales WHERE product_id = ?",
+                (rs, rowNum) -> new ProductSales(rs.getLong("product_id"), rs.getLong("units_sold"), rs.getBigDecimal("revenue")),
+                productId).stream().findFirst();
+    }
+
+    public List<OrderStatusCount> findStatusCounts() {
+        return jdbcTemplate.query("SELECT status, order_count FROM order_status_counts ORDER BY status",
+                (rs, rowNum) -> new OrderStatusCount(OrderStatus.valueOf(rs.getString("status")), rs.getLong("order_count")));
+    }
+
+    /**
+     * Ids mínimo y máximo de orders, o vacío si no hay órdenes.
+     */
+    public Optional<long[]> findOrderIdRange() {
+        ResultSetExtractor<Optional<long[]>> range = rs -> {
+            rs.next();
+            long min = rs.getLong(1);
+            return rs.wasNull() ? Optional.empty() : Optional.of(new long[]{min, rs.getLong(2)});
+        };
+        return jdbcTemplate.query("SELECT MIN(id), MAX(id) FROM orders", range);
+    }
+
+    public List<DailySales> sumDailySales(long fromId, long toId) {
+        return jdbcTemplate.query(DAILY_SALES_IN_RANGE, (rs, rowNum) -> toDailySales(rs), fromId, toId);
+    }
+
+    public List<ProductSales> sumProductSales(long fromId, long toId) {
+        return jdbcTemplate.query(PRODUCT_SALES_IN_RANGE,
+                (rs, rowNum) -> new ProductSales(rs.getLong("product_id"), rs.getLong("units_sold"), rs.getBigDecimal("revenue")),
+                fromId, toId);
+    }
+
+    public List<OrderStatusCount> countStatuses(long fromId, long toId) {
+        return jdbcTemplate.query(STATUS_COUNTS_IN_RANGE,
+                (rs, rowNum) -> new OrderStatusCount(OrderStatus.valueOf(rs.getString("status")), rs.getLong("order_count")),
+                fromId, toId);
+    }
+
+    /**
+     * Sustituye el contenido de las tres tablas en una sola transacción.
+     */
+    @Transactional
+    public void replaceAll(Collection<DailySales> daily, Collection<ProductSales> products,
+                           Collection<OrderStatusCount> statuses) {
+        jdbcTemplate.update("DELETE FROM daily_sales");
+        jdbcTemplate.update("DELETE FROM product_sales");
+        jdbcTemplate.update("DELETE FROM order_status_counts");
+
+        List<Object[]> dailyRows = new ArrayList<>(daily.size());
+        daily.forEach(sales -> dailyRows.add(new Object[]{Date.valueOf(sales.getDate()), sales.getRevenue(), sales.getOrderCount()}));
+        jdbcTemplate.batchUpdate("INSERT INTO daily_sales (sales_date, revenue, order_count) VALUES (?, ?, ?)", dailyRows);
+
+        List<Object[]> productRows = new ArrayList<>(products.size());
+        products.forEach(sales -> productRows.add(new Object[]{sales.getProductId(), sales.getUnitsSold(), sales.getRevenue()}));
+        jdbcTemplate.batchUpdate("INSERT INTO product_sales (product_id, units_sold, revenue) VALUES (?, ?, ?)", productRows);
+
+        List<Object[]> statusRows = new ArrayList<>(statuses.size());
+        statuses.forEach(count -> statusRows.add(new Object[]{count.getStatus().name(), count.getOrderCount()}));
+        jdbcTemplate.batchUpdate("INSERT INTO order_status_counts (status, order_count) VALUES (?, ?)", statusRows);
+    }
+
+    private static DailySales toDailySales(ResultSet rs) throws SQLException {
+        return new DailySales(rs.getDate("sales_date").toLocalDate(), rs.getBigDecimal("revenue"), rs.getLong("order_count"));
+    }
+}
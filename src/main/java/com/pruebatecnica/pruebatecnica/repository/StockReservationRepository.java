@@ -0,0 +1,44 @@
+package com.pruebatecnica.pruebatecnica.repository;
+
+import com.pruebatecnica.pruebatecnica.model.StockReservation;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    Optional<StockReservation> findByOrderId(Long orderId);
+
+    /**
+     * Borra la reserva solo si aún no ha caducado. Devuelve 1 si la orden
+     * puede pagarse; 0 si ya caducó o la reclamó otra operación.
+     */
+    @Modifying
+    @Query("DELETE FROM StockReservation r WHERE r.orderId = :orderId AND r.expiresAt > :now")
+    int deleteUnexpired(@Param("orderId") Long orderId, @Param("now") LocalDateTime now);
+
+    /**
+     * Reservas de las órdenes indicadas que aún existen, bloqueadas hasta el
+     * fin de la transacción: un pago concurrente espera y ya no las encuentra.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM StockReservation r WHERE r.orderId IN :orderIds ORDER BY r.orderId")
+    List<StockReservation> lockByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    @Modifying
+    @Query("DELETE FROM StockReservation r WHERE r.orderId IN :orderIds")
+    int deleteByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("SELECT r.orderId AS orderId, r.expiresAt AS expiresAt FROM StockReservation r")
+    List<StockReservationView> findAllExpiries();
+}
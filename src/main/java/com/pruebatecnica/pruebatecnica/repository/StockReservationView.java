@@ -0,0 +1,12 @@
+package com.pruebatecnica.pruebatecnica.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección con la orden y el vencimiento de una reserva.
+ */
+public interface StockReservationView {
+    Long getOrderId();
+
+    LocalDateTime getExpiresAt();
+}
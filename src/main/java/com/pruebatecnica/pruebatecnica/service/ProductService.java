@@ -2,7 +2,13 @@ package com.pruebatecnica.pruebatecnica.service;
 
 import com.pruebatecnica.pruebatecnica.model.Product;
 import com.pruebatecnica.pruebatecnica.repository.ProductRepository;
+import com.pruebatecnica.pruebatecnica.repository.ProductStockView;
+import com.pruebatecnica.pruebatecnica.service.catalog.CatalogVersion;
+import com.pruebatecnica.pruebatecnica.service.catalog.ProductCatalogCache;
+import com.pruebatecnica.pruebatecnica.service.catalog.ProductCatalogEntry;
+import com.pruebatecnica.pruebatecnica.service.catalog.ProductStockChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -12,17 +18,50 @@ public class ProductService {
     
     @Autowired
     private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCatalogCache productCatalogCache;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
     
+    /**
+     * Los datos de catálogo salen de la caché si están; el stock y el flag
+     * hot siempre se leen de la base de datos.
+     */
     public Product getProductById(Long productId) {
-        return productRepository.findById(productId)
-            .orElseThrow(() -> new RuntimeException("Product not found: " + productId));
+        ProductCatalogEntry cached = productCatalogCache.getIfPresent(productId);
+        if (cached == null) {
+            Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new RuntimeException("Product not found: " + productId));
+            productRepository.loadHotStock(List.of(product));
+            productCatalogCache.put(product);
+            return product;
+        }
+
+        ProductStockView stock = productRepository.findStockViewById(productId).orElse(null);
+        if (stock == null) {
+            productCatalogCache.evict(productId);
+            throw new RuntimeException("Product not found: " + productId);
+        }
+        return cached.toProduct(stock);
     }
     
     public List<Product> getAllProducts() {
-        return productRepository.findAll();
+        List<Product> products = productRepository.findAll();
+        // Solo se cachean las búsquedas por id: el listado completo expulsaría las entradas calientes
+        productRepository.loadHotStock(products);
+        return products;
     }
     
     public Product saveProduct(Product product) {
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        productCatalogCache.evict(saved.getId());
+        catalogVersion.changed();
+        eventPublisher.publishEvent(ProductStockChangedEvent.of(List.of(saved.getId())));
+        return saved;
     }
-}
\ No newline at end of file
+}
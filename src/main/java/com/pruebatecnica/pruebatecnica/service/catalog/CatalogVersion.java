@@ -0,0 +1,78 @@
+package com.pruebatecnica.pruebatecnica.service.catalog;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Versión del catálogo en proceso: cambia con cada modificación de un
+ * producto, stock incluido. Permite responder GET condicionales (ETag y
+ * Last-Modified) sin leer la base de datos.
+ *
+ * Quien modifique productos debe llamar a changed() dentro de la misma
+ * transacción; la versión avanza al confirmarse.
+ */
+@Component
+public class CatalogVersion {
+
+    // Distingue arranques: un ETag de un proceso anterior nunca coincide
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(new Snapshot(epoch, 0, System.currentTimeMillis()));
+
+    public Snapshot current() {
+        return current.get();
+    }
+
+    /**
+     * Avanza la versión al confirmarse la transacción activa, o ya si no
+     * hay ninguna. Si la transacción se revierte no cambia nada.
+     */
+    public void changed() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                increment();
+            }
+        });
+    }
+
+    private void increment() {
+        long now = System.currentTimeMillis();
+        current.updateAndGet(previous -> new Snapshot(epoch, previous.version + 1, Math.max(now, previous.lastModifiedMillis)));
+    }
+
+    /**
+     * Versión y fecha de última modificación leídas a la vez.
+     */
+    public static class Snapshot {
+
+        private final String eTag;
+        private final long version;
+        private final long lastModifiedMillis;
+
+        Snapshot(String epoch, long version, long lastModifiedMillis) {
+            this.eTag = "\"" + epoch + "-" + Long.toString(version, Character.MAX_RADIX) + "\"";
+            this.version = version;
+            this.lastModifiedMillis = lastModifiedMillis;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public long getLastModifiedMillis() {
+            return lastModifiedMillis;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.pruebatecnica.pruebatecnica.service.catalog;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Caché acotada en proceso con los datos de catálogo de los productos
+ * (nombre, precio, descripción). El stock nunca se guarda aquí: quien use
+ * una entrada debe leerlo de la base de datos.
+ *
+ * Aciertos, fallos y expulsiones se publican como métricas cache.* con
+ * cache=products.
+ */
+@Component
+public class ProductCatalogCache {
+
+    private final Cache<Long, ProductCatalogEntry> cache;
+
+    public ProductCatalogCache(MeterRegistry registry,
+                               @Value("${catalog.cache.maximum-size:10000}") long maximumSize,
+                               @Value("${catalog.cache.expire-after-write:PT5M}") Duration expireAfterWrite) {
+        this.cache = CaffeineCacheMetrics.monitor(registry, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build(), "products");
+    }
+
+    /**
+     * Devuelve la entrada cacheada o null si no está (cuenta como fallo).
+     */
+    public ProductCatalogEntry getIfPresent(Long productId) {
+        return cache.getIfPresent(productId);
+    }
+
+    public void put(Product product) {
+        cache.put(product.getId(), ProductCatalogEntry.from(product));
+    }
+
+    public void evict(Long productId) {
+        cache.invalidate(productId);
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Aciertos, fallos y expulsiones acumulados desde el arranque.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+}
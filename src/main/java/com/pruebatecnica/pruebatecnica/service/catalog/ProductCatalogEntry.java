@@ -0,0 +1,71 @@
+package com.pruebatecnica.pruebatecnica.service.catalog;
+
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.repository.ProductStockView;
+
+import java.math.BigDecimal;
+
+/**
+ * Datos de catálogo de un producto, inmutables para poder compartirse desde
+ * la caché entre hilos. No incluye el stock ni el flag hot: markHot y
+ * markCold lo cambian, y un valor cacheado mandaría el pedido al camino de
+ * inventario equivocado.
+ */
+public class ProductCatalogEntry {
+
+    private final Long id;
+    private final String sku;
+    private final String name;
+    private final BigDecimal price;
+    private final String description;
+
+    public ProductCatalogEntry(Long id, String name, BigDecimal price, String description) {
+        this(id, null, name, price, description);
+    }
+
+    public ProductCatalogEntry(Long id, String sku, String name, BigDecimal price, String description) {
+        this.id = id;
+        this.sku = sku;
+        this.name = name;
+        this.price = price;
+        this.description = description;
+    }
+
+    public static ProductCatalogEntry from(Product product) {
+        return new ProductCatalogEntry(product.getId(), product.getSku(), product.getName(), product.getPrice(),
+                product.getDescription());
+    }
+
+    /**
+     * Combina los datos de catálogo con el stock y el flag hot leídos de la
+     * fuente autoritativa.
+     */
+    public Product toProduct(ProductStockView stock) {
+        Product product = new Product(name, price, stock.getStock());
+        product.setId(id);
+        product.setSku(sku);
+        product.setDescription(description);
+        product.setHot(stock.isHot());
+        return product;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
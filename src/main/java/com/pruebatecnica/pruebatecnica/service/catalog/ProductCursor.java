@@ -0,0 +1,71 @@
+package com.pruebatecnica.pruebatecnica.service.catalog;
+
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.repository.ProductSearchQuery;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posición (valor de orden, id) del último producto entregado en una página
+ * de búsqueda. Incluye el orden para rechazar cursores de otra búsqueda.
+ * Se serializa como un token opaco en Base64 URL-safe.
+ */
+public class ProductCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final ProductSearchQuery.Sort sort;
+    private final Long id;
+    private final String sortValue;
+
+    public ProductCursor(ProductSearchQuery.Sort sort, Long id, String sortValue) {
+        this.sort = sort;
+        this.id = id;
+        this.sortValue = sortValue;
+    }
+
+    public static ProductCursor after(Product product, ProductSearchQuery.Sort sort) {
+        String sortValue = sort == ProductSearchQuery.Sort.PRICE
+                ? product.getPrice().toPlainString()
+                : Product.searchKey(product.getName());
+        return new ProductCursor(sort, product.getId(), sortValue);
+    }
+
+    public static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // El valor va al final: un nombre puede contener el separador
+            String[] parts = raw.split("\\" + SEPARATOR, 3);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            ProductCursor cursor = new ProductCursor(ProductSearchQuery.Sort.valueOf(parts[0]), Long.valueOf(parts[1]), parts[2]);
+            cursor.getSortValue();
+            return cursor;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public String encode() {
+        String raw = sort.name() + SEPARATOR + id + SEPARATOR + sortValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public ProductSearchQuery.Sort getSort() {
+        return sort;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Valor de orden con el tipo de su columna.
+     */
+    public Object getSortValue() {
+        return sort == ProductSearchQuery.Sort.PRICE ? new BigDecimal(sortValue) : sortValue;
+    }
+}
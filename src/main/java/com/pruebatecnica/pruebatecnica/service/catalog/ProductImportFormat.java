@@ -0,0 +1,46 @@
+package com.pruebatecnica.pruebatecnica.service.catalog;
+
+import java.util.Locale;
+
+/**
+ * Formatos aceptados por la importación de catálogo.
+ */
+public enum ProductImportFormat {
+
+    CSV("text/csv", ".csv"),
+    NDJSON("application/x-ndjson", ".ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ProductImportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static ProductImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            String mediaType = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+            for (ProductImportFormat format : values()) {
+                if (format.contentType.equals(mediaType)) {
+                    return format;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unsupported content type: " + contentType);
+    }
+
+    public static ProductImportFormat fromFileName(String fileName) {
+        String lowerCase = fileName.toLowerCase(Locale.ROOT);
+        for (ProductImportFormat format : values()) {
+            if (lowerCase.endsWith(format.extension)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported catalog file: " + fileName);
+    }
+}
@@ -0,0 +1,332 @@
+package com.pruebatecnica.pruebatecnica.service.catalog;
+
+import com.pruebatecnica.pruebatecnica.dto.ProductImportError;
+import com.pruebatecnica.pruebatecnica.dto.ProductImportResult;
+import com.pruebatecnica.pruebatecnica.dto.ProductImportRow;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.repository.ProductImportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Importación del catálogo en streaming: el fichero se lee línea a línea y
+ * las filas se insertan o actualizan por sku en batches JDBC, cada uno en
+ * su propia transacción. La memoria usada es la de un batch, sea cual sea
+ * el tamaño del fichero.
+ */
+@Service
+public class ProductImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImportService.class);
+
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private final ProductImportRepository productImportRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductCatalogCache productCatalogCache;
+    private final CatalogVersion catalogVersion;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final long progressInterval;
+
+    public ProductImportService(ProductImportRepository productImportRepository,
+                                TransactionTemplate transactionTemplate,
+                                ProductCatalogCache productCatalogCache,
+                                CatalogVersion catalogVersion,
+                                ApplicationEventPublisher eventPublisher,
+                                ObjectMapper objectMapper,
+                                @Value("${catalog.import.batch-size:1000}") int batchSize,
+                                @Value("${catalog.import.progress-interval:100000}") long progressInterval) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("catalog.import.batch-size must be positive");
+        }
+        if (progressInterval < 1) {
+            throw new IllegalArgumentException("catalog.import.progress-interval must be positive");
+        }
+        this.productImportRepository = productImportRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.productCatalogCache = productCatalogCache;
+        this.catalogVersion = catalogVersion;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.progressInterval = progressInterval;
+    }
+
+    /**
+     * Importa el catálogo. Las filas inválidas o que la base de datos rechaza
+     * se informan con su número de línea y no impiden importar las demás.
+     * Un CSV debe empezar por una cabecera con al menos sku, name, price y
+     * stock (description es opcional); los campos entre comillas no pueden
+     * contener saltos de línea.
+     */
+    public ProductImportResult importCatalog(InputStream in, ProductImportFormat format) throws IOException {
+        long startNanos = System.nanoTime();
+        ImportRun run = new ImportRun(batchSize);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            CsvHeader header = null;
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == ProductImportFormat.CSV && header == null) {
+                    header = CsvHeader.parse(line);
+                    continue;
+                }
+
+                run.rowsRead++;
+                try {
+                    ProductImportRow row = format == ProductImportFormat.CSV
+                            ? header.toRow(parseCsvLine(line))
+                            : objectMapper.readValue(line, ProductImportRow.class);
+                    validate(row);
+                    run.add(row, lineNumber);
+                } catch (IllegalArgumentException | JacksonException e) {
+                    run.reject(lineNumber, e.getMessage());
+                }
+
+                if (run.isBatchFull()) {
+                    flush(run);
+                }
+                if (run.rowsRead % progressInterval == 0) {
+                    log.info("Catalog import: {} rows read, {} imported, {} failed",
+                            run.rowsRead, run.imported, run.failed);
+                }
+            }
+            flush(run);
+        } finally {
+            // Los nombres y precios cacheados pueden haber cambiado
+            productCatalogCache.evictAll();
+            catalogVersion.changed();
+            // Las filas actualizadas conservan su id, así que no sabemos cuáles cambiaron
+            eventPublisher.publishEvent(ProductStockChangedEvent.all());
+        }
+
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        log.info("Catalog import finished: {} rows read, {} imported, {} failed in {} ms",
+                run.rowsRead, run.imported, run.failed, elapsedMillis);
+        return new ProductImportResult(run.rowsRead, run.imported, run.failed, run.errors, elapsedMillis);
+    }
+
+    private void validate(ProductImportRow row) {
+        if (row.getSku() == null || row.getSku().isBlank()) {
+            throw new IllegalArgumentException("sku is required");
+        }
+        if (row.getName() == null || row.getName().isBlank()) {
+            throw new IllegalArgumentException("name is required");
+        }
+        if (row.getPrice() == null || row.getPrice().signum() < 0) {
+            throw new IllegalArgumentException("price must be zero or positive");
+        }
+        if (row.getStock() == null || row.getStock() < 0) {
+            throw new IllegalArgumentException("stock must be zero or positive");
+        }
+    }
+
+    /**
+     * Confirma el batch en una transacción. Si la base de datos lo rechaza se
+     * reintenta fila a fila para importar las válidas y localizar las demás.
+     */
+    private void flush(ImportRun run) {
+        List<ProductImportRow> rows = run.batch;
+        if (rows.isEmpty()) {
+            return;
+        }
+        long[] ids = new long[rows.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = run.nextId(productImportRepository);
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> productImportRepository.upsertBatch(rows, ids));
+            run.imported += rows.size();
+        } catch (DataAccessException e) {
+            log.debug("Import batch of {} rows rolled back, retrying row by row: {}", rows.size(), e.getMessage());
+            for (int i = 0; i < rows.size(); i++) {
+                ProductImportRow row = rows.get(i);
+                long id = ids[i];
+                try {
+                    transactionTemplate.executeWithoutResult(status -> productImportRepository.upsert(row, id));
+                    run.imported++;
+                } catch (DataAccessException rowError) {
+                    run.reject(run.batchLines[i], rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        run.clearBatch();
+    }
+
+    /**
+     * Separa una línea CSV en campos. Admite campos entre comillas dobles con
+     * comas y comillas escapadas ("").
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Posición de cada columna según la cabecera del CSV.
+     */
+    private static class CsvHeader {
+
+        private final int sku;
+        private final int name;
+        private final int price;
+        private final int stock;
+        private final int description;
+
+        private CsvHeader(Map<String, Integer> columns) {
+            this.sku = required(columns, "sku");
+            this.name = required(columns, "name");
+            this.price = required(columns, "price");
+            this.stock = required(columns, "stock");
+            this.description = columns.getOrDefault("description", -1);
+        }
+
+        static CsvHeader parse(String line) {
+            Map<String, Integer> columns = new HashMap<>();
+            List<String> names = parseCsvLine(line);
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            return new CsvHeader(columns);
+        }
+
+        private static int required(Map<String, Integer> columns, String column) {
+            Integer index = columns.get(column);
+            if (index == null) {
+                throw new IllegalArgumentException("CSV header is missing column " + column);
+            }
+            return index;
+        }
+
+        ProductImportRow toRow(List<String> fields) {
+            return new ProductImportRow(
+                    field(fields, sku),
+                    field(fields, name),
+                    fieldOrNull(fields, price, BigDecimal::new),
+                    fieldOrNull(fields, stock, Integer::valueOf),
+                    description < 0 ? null : field(fields, description)
+            );
+        }
+
+        private static String field(List<String> fields, int index) {
+            if (index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private static <T> T fieldOrNull(List<String> fields, int index, Function<String, T> parser) {
+            String value = field(fields, index);
+            return value == null ? null : parser.apply(value);
+        }
+    }
+
+    /**
+     * Estado de una importación en curso: contadores, batch pendiente y el
+     * bloque de ids reservado de la secuencia de productos.
+     */
+    private static class ImportRun {
+
+        private final List<ProductImportRow> batch;
+        private final long[] batchLines;
+        private final List<ProductImportError> errors = new ArrayList<>();
+
+        private long rowsRead;
+        private long imported;
+        private long failed;
+
+        private long nextId = 1;
+        private long lastId = 0;
+
+        ImportRun(int batchSize) {
+            this.batch = new ArrayList<>(batchSize);
+            this.batchLines = new long[batchSize];
+        }
+
+        void add(ProductImportRow row, long lineNumber) {
+            batchLines[batch.size()] = lineNumber;
+            batch.add(row);
+        }
+
+        boolean isBatchFull() {
+            return batch.size() == batchLines.length;
+        }
+
+        void clearBatch() {
+            batch.clear();
+        }
+
+        void reject(long lineNumber, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ProductImportError(lineNumber, message));
+            }
+        }
+
+        /**
+         * Los ids de productos nuevos salen de products_seq igual que los de
+         * Hibernate, así ambos pueden seguir insertando sin colisiones.
+         */
+        long nextId(ProductImportRepository repository) {
+            if (nextId > lastId) {
+                lastId = repository.nextIdBlockEnd();
+                nextId = Math.max(1, lastId - Product.ID_ALLOCATION_SIZE + 1);
+            }
+            return nextId++;
+        }
+    }
+}
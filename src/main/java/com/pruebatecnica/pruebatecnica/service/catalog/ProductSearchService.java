@@ -0,0 +1,79 @@
+package com.pruebatecnica.pruebatecnica.service.catalog;
+
+import com.pruebatecnica.pruebatecnica.dto.ProductPageResponse;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.repository.ProductSearchQuery;
+import com.pruebatecnica.pruebatecnica.repository.ProductSearchRepository;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Búsqueda de productos por nombre, rango de precio y disponibilidad,
+ * paginada por keyset: cada página cuesta lo mismo sea cual sea su posición.
+ */
+@Service
+public class ProductSearchService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final ProductSearchRepository productSearchRepository;
+
+    public ProductSearchService(ProductSearchRepository productSearchRepository) {
+        this.productSearchRepository = productSearchRepository;
+    }
+
+    /**
+     * Todos los filtros son opcionales. El cursor debe venir de una página
+     * anterior de la misma búsqueda.
+     */
+    public ProductPageResponse search(String name, ProductSearchQuery.NameMatch match,
+                                      BigDecimal minPrice, BigDecimal maxPrice, boolean inStockOnly,
+                                      ProductSearchQuery.Sort sort, String cursor, int size) {
+        ProductSearchQuery query = buildQuery(name, match, minPrice, maxPrice, inStockOnly, sort);
+        if (cursor != null && !cursor.isBlank()) {
+            ProductCursor after = ProductCursor.decode(cursor);
+            if (after.getSort() != sort) {
+                throw new IllegalArgumentException("Cursor belongs to a search with another sort");
+            }
+            query.after(after.getSortValue(), after.getId());
+        }
+
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        // Se pide una fila extra para saber si hay página siguiente sin un COUNT
+        List<Product> products = productSearchRepository.search(query, pageSize + 1);
+
+        boolean hasNext = products.size() > pageSize;
+        List<Product> page = hasNext ? products.subList(0, pageSize) : products;
+        String nextCursor = hasNext ? ProductCursor.after(page.get(pageSize - 1), sort).encode() : null;
+        return new ProductPageResponse(page, nextCursor);
+    }
+
+    /**
+     * Consulta sin paginar con los filtros indicados.
+     */
+    public ProductSearchQuery buildQuery(String name, ProductSearchQuery.NameMatch match,
+                                         BigDecimal minPrice, BigDecimal maxPrice, boolean inStockOnly,
+                                         ProductSearchQuery.Sort sort) {
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
+        }
+
+        ProductSearchQuery query = new ProductSearchQuery(sort);
+        if (name != null && !name.isBlank()) {
+            query.name(Product.searchKey(name.trim()), match);
+        }
+        if (minPrice != null) {
+            query.minPrice(minPrice);
+        }
+        if (maxPrice != null) {
+            query.maxPrice(maxPrice);
+        }
+        if (inStockOnly) {
+            query.inStockOnly();
+        }
+        return query;
+    }
+}
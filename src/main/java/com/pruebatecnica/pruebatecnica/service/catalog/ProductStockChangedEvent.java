@@ -0,0 +1,35 @@
+package com.pruebatecnica.pruebatecnica.service.catalog;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Se publica cuando el stock de products se escribe fuera del flujo de
+ * pedidos (alta o edición de un producto, importación del catálogo), para
+ * que quien guarde el stock en memoria lo vuelva a leer tras el commit.
+ * Sin ids significa que puede haber cambiado cualquier producto.
+ */
+public class ProductStockChangedEvent {
+
+    private final List<Long> productIds;
+
+    private ProductStockChangedEvent(List<Long> productIds) {
+        this.productIds = productIds;
+    }
+
+    public static ProductStockChangedEvent of(Collection<Long> productIds) {
+        return new ProductStockChangedEvent(List.copyOf(productIds));
+    }
+
+    public static ProductStockChangedEvent all() {
+        return new ProductStockChangedEvent(null);
+    }
+
+    public boolean isAll() {
+        return productIds == null;
+    }
+
+    public List<Long> getProductIds() {
+        return productIds;
+    }
+}
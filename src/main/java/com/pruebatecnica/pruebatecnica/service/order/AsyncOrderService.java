@@ -0,0 +1,189 @@
+package com.pruebatecnica.pruebatecnica.service.order;
+
+import com.pruebatecnica.pruebatecnica.dto.CreateOrderRequest;
+import com.pruebatecnica.pruebatecnica.dto.OrderItemRequest;
+import com.pruebatecnica.pruebatecnica.exception.OrderQueueFullException;
+import com.pruebatecnica.pruebatecnica.exception.ProductNotFoundException;
+import com.pruebatecnica.pruebatecnica.model.Order;
+import com.pruebatecnica.pruebatecnica.model.OrderItem;
+import com.pruebatecnica.pruebatecnica.model.OrderStatus;
+import com.pruebatecnica.pruebatecnica.repository.OrderRepository;
+import com.pruebatecnica.pruebatecnica.repository.ProductRepository;
+import com.pruebatecnica.pruebatecnica.repository.ProductStockView;
+import com.pruebatecnica.pruebatecnica.service.sales.SalesAggregates;
+import com.pruebatecnica.pruebatecnica.service.order.validation.OrderRequestValidator;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recepción asíncrona de órdenes. La petición HTTP solo valida y guarda la
+ * orden como PENDING; precios, inventario y confirmación los hace un pool de
+ * workers. Como mucho queue-capacity órdenes pueden estar esperando o en
+ * proceso: por encima se rechazan antes de escribir nada.
+ */
+@Service
+public class AsyncOrderService {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncOrderService.class);
+
+    private final OrderRequestValidator orderRequestValidator;
+    private final OrderRepository orderRepository;
+    private final ProductRepository productRepository;
+    private final OrderService orderService;
+    private final TransactionTemplate transactionTemplate;
+    private final SalesAggregates salesAggregates;
+    private final int queueCapacity;
+    private final Semaphore slots;
+    private final ExecutorService workers;
+
+    public AsyncOrderService(OrderRequestValidator orderRequestValidator,
+                             OrderRepository orderRepository,
+                             ProductRepository productRepository,
+                             OrderService orderService,
+                             TransactionTemplate transactionTemplate,
+                             SalesAggregates salesAggregates,
+                             @Value("${orders.async.queue-capacity:1000}") int queueCapacity,
+                             @Value("${orders.async.workers:4}") int workerCount,
+                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.orderRequestValidator = orderRequestValidator;
+        this.orderRepository = orderRepository;
+        this.productRepository = productRepository;
+        this.orderService = orderService;
+        this.transactionTemplate = transactionTemplate;
+        this.salesAggregates = salesAggregates;
+        this.queueCapacity = queueCapacity;
+        this.slots = new Semaphore(queueCapacity);
+
+        // Con hilos virtuales siguen siendo workerCount workers: el pool limita
+        // cuántas órdenes se procesan a la vez, el tipo de hilo no
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("order-worker-", 1).factory()
+                : Thread.ofPlatform().name("order-worker-", 1).factory();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+    }
+
+    /**
+     * Guarda la orden como PENDING y la encola.
+     *
+     * @throws OrderQueueFullException si la cola está llena (no se guarda
+     *         nada) o el servicio se está parando (la orden ya guardada se
+     *         procesa al volver a arrancar)
+     * @throws IllegalArgumentException si la petición no es válida
+     * @throws ProductNotFoundException si algún producto no existe
+     */
+    public Order submit(CreateOrderRequest request) {
+        orderRequestValidator.validate(request);
+        if (!slots.tryAcquire()) {
+            throw new OrderQueueFullException(queueCapacity);
+        }
+
+        Order order;
+        try {
+            order = transactionTemplate.execute(status -> savePending(request));
+        } catch (RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+        try {
+            workers.execute(() -> process(order.getId()));
+        } catch (RejectedExecutionException e) {
+            // El pool se está parando: la orden queda PENDING y se vuelve a
+            // encolar al arrancar, como las que quedan en cola al parar
+            slots.release();
+            throw new OrderQueueFullException(queueCapacity);
+        }
+        return order;
+    }
+
+    /**
+     * Los productos se comprueban con una consulta estrecha y se enlazan por
+     * referencia, sin cargarlos: el precio lo fija el worker.
+     */
+    private Order savePending(CreateOrderRequest request) {
+        Set<Long> productIds = new LinkedHashSet<>();
+        request.getItems().forEach(item -> productIds.add(item.getProductId()));
+        Set<Long> existing = new LinkedHashSet<>();
+        for (ProductStockView product : productRepository.findStockByIdIn(productIds)) {
+            existing.add(product.getId());
+        }
+        for (Long productId : productIds) {
+            if (!existing.contains(productId)) {
+                throw new ProductNotFoundException(productId);
+            }
+        }
+
+        Order order = new Order(request.getCustomerName(), request.getCustomerEmail());
+        for (OrderItemRequest itemRequest : request.getItems()) {
+            OrderItem item = new OrderItem();
+            item.setProduct(productRepository.getReferenceById(itemRequest.getProductId()));
+            item.setQuantity(itemRequest.getQuantity());
+            order.addItem(item);
+        }
+        Order saved = orderRepository.save(order);
+        salesAggregates.recordCreated(saved);
+        return saved;
+    }
+
+    private void process(Long orderId) {
+        try {
+            orderService.confirmPendingOrder(orderId);
+        } catch (RuntimeException e) {
+            log.debug("Async order {} rejected: {}", orderId, e.getMessage());
+            try {
+                orderService.cancelPendingOrder(orderId);
+            } catch (RuntimeException cancelFailure) {
+                log.warn("Could not cancel async order {}; it stays PENDING until restart", orderId, cancelFailure);
+            }
+        } finally {
+            slots.release();
+        }
+    }
+
+    /**
+     * Vuelve a encolar las órdenes que quedaron PENDING (por ejemplo, tras un
+     * reinicio). Espera por hueco en la cola en lugar de rechazarlas. Las
+     * PENDING del checkout no se tocan: ya descontaron stock y caducan solas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverPendingOrders() {
+        List<Long> pending = orderRepository.findIdsByStatusWithoutReservation(OrderStatus.PENDING);
+        for (Long orderId : pending) {
+            slots.acquireUninterruptibly();
+            workers.execute(() -> process(orderId));
+        }
+        if (!pending.isEmpty()) {
+            log.info("Re-queued {} pending orders", pending.size());
+        }
+    }
+
+    public int getQueuedOrders() {
+        return queueCapacity - slots.availablePermits();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Async order workers did not finish in time; remaining orders stay PENDING");
+            workers.shutdownNow();
+        }
+    }
+}
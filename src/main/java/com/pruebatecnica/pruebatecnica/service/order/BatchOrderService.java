@@ -0,0 +1,205 @@
+package com.pruebatecnica.pruebatecnica.service.order;
+
+import com.pruebatecnica.pruebatecnica.dto.BatchOrderResponse;
+import com.pruebatecnica.pruebatecnica.dto.BatchOrderResult;
+import com.pruebatecnica.pruebatecnica.dto.CreateOrderRequest;
+import com.pruebatecnica.pruebatecnica.exception.InsufficientStockException;
+import com.pruebatecnica.pruebatecnica.exception.ProductNotFoundException;
+import com.pruebatecnica.pruebatecnica.model.Order;
+import com.pruebatecnica.pruebatecnica.model.OrderLine;
+import com.pruebatecnica.pruebatecnica.model.OrderStatus;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.repository.OrderRepository;
+import com.pruebatecnica.pruebatecnica.service.sales.SalesAggregates;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creación de muchas órdenes en una sola petición, agrupadas en bloques que
+ * se confirman en una transacción cada uno.
+ */
+@Service
+public class BatchOrderService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchOrderService.class);
+
+    private final OrderService orderService;
+    private final InventoryUpdater inventoryUpdater;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderMetrics orderMetrics;
+    private final SalesAggregates salesAggregates;
+    private final int chunkSize;
+    private final int maxBatchSize;
+
+    public BatchOrderService(OrderService orderService,
+                             InventoryUpdater inventoryUpdater,
+                             OrderRepository orderRepository,
+                             TransactionTemplate transactionTemplate,
+                             OrderMetrics orderMetrics,
+                             SalesAggregates salesAggregates,
+                             @Value("${orders.batch.chunk-size:100}") int chunkSize,
+                             @Value("${orders.batch.max-size:10000}") int maxBatchSize) {
+        this.orderService = orderService;
+        this.inventoryUpdater = inventoryUpdater;
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.orderMetrics = orderMetrics;
+        this.salesAggregates = salesAggregates;
+        this.chunkSize = chunkSize;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Crea las órdenes en bloques de chunkSize. Cada orden obtiene su propio
+     * resultado: un rechazo no impide crear las demás.
+     */
+    public BatchOrderResponse createOrders(List<CreateOrderRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("Orders are required");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException("A batch accepts at most " + maxBatchSize + " orders");
+        }
+
+        List<BatchOrderResult> results = new ArrayList<>(requests.size());
+        for (int from = 0; from < requests.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, requests.size());
+            results.addAll(processChunk(requests.subList(from, to), from));
+        }
+        return new BatchOrderResponse(results);
+    }
+
+    /**
+     * Crea el bloque y numera cada resultado por su posición en el lote.
+     */
+    public List<BatchOrderResult> processChunk(List<CreateOrderRequest> chunk, int offset) {
+        List<OrderOutcome> outcomes = createChunk(chunk);
+        List<BatchOrderResult> results = new ArrayList<>(outcomes.size());
+        for (int i = 0; i < outcomes.size(); i++) {
+            OrderOutcome outcome = outcomes.get(i);
+            results.add(outcome.isCreated()
+                    ? BatchOrderResult.created(offset + i, outcome.getOrder().getId())
+                    : BatchOrderResult.rejected(offset + i, outcome.getError().getMessage()));
+        }
+        return results;
+    }
+
+    /**
+     * Intenta confirmar el bloque entero en una transacción. Si falla la
+     * escritura (por ejemplo, otro pedido concurrente agotó el stock entre la
+     * comprobación y el UPDATE), se revierte y se reprocesa orden a orden.
+     * Devuelve un resultado por petición, en el mismo orden.
+     */
+    public List<OrderOutcome> createChunk(List<CreateOrderRequest> chunk) {
+        List<OrderOutcome> outcomes;
+        orderMetrics.transactionStarted();
+        try {
+            outcomes = transactionTemplate.execute(status -> createInSingleTransaction(chunk));
+        } catch (RuntimeException e) {
+            log.debug("Chunk of {} orders rolled back, retrying order by order: {}", chunk.size(), e.getMessage());
+            // Al reintentar, OrderService cuenta los rechazos de cada orden
+            return createOneByOne(chunk);
+        } finally {
+            orderMetrics.transactionFinished();
+        }
+        // Solo ahora son definitivos: si el bloque se hubiera revertido se contarían dos veces
+        for (OrderOutcome outcome : outcomes) {
+            if (!outcome.isCreated()) {
+                orderMetrics.recordRejection(outcome.getError());
+            }
+        }
+        return outcomes;
+    }
+
+    private List<OrderOutcome> createInSingleTransaction(List<CreateOrderRequest> chunk) {
+        OrderOutcome[] outcomes = new OrderOutcome[chunk.size()];
+        Map<Integer, PreparedOrder> accepted = new LinkedHashMap<>();
+        Map<Long, Integer> remainingStock = new HashMap<>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            try {
+                PreparedOrder prepared = orderService.prepareOrder(chunk.get(i));
+                reserveWithinChunk(prepared.getOrderLines(), remainingStock);
+                accepted.put(i, prepared);
+            } catch (IllegalArgumentException | ProductNotFoundException | InsufficientStockException e) {
+                outcomes[i] = OrderOutcome.rejected(e);
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            // Las etapas de escritura se miden una vez por bloque, como un
+            // único UPDATE de inventario, un INSERT agrupado y un commit
+            long start = orderMetrics.start();
+            inventoryUpdater.updateStock(mergeByProduct(accepted.values()));
+            start = orderMetrics.stage(OrderStage.UPDATE_INVENTORY, start);
+
+            List<Order> orders = accepted.values().stream().map(PreparedOrder::getOrder).toList();
+            orders.forEach(order -> order.setStatus(OrderStatus.CONFIRMED));
+            orderRepository.saveAll(orders);
+            orderRepository.flush();
+            orders.forEach(salesAggregates::recordCreated);
+            orderMetrics.stage(OrderStage.SAVE, start);
+            orderMetrics.timeCommit();
+
+            accepted.forEach((i, prepared) -> outcomes[i] = OrderOutcome.created(prepared.getOrder()));
+        }
+        return Arrays.asList(outcomes);
+    }
+
+    private List<OrderOutcome> createOneByOne(List<CreateOrderRequest> chunk) {
+        List<OrderOutcome> outcomes = new ArrayList<>(chunk.size());
+        for (CreateOrderRequest request : chunk) {
+            try {
+                outcomes.add(OrderOutcome.created(orderService.createOrder(request)));
+            } catch (RuntimeException e) {
+                outcomes.add(OrderOutcome.rejected(e));
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * Descuenta el pedido del stock leído al inicio del bloque, acumulando lo
+     * que ya pidieron las órdenes anteriores del mismo bloque.
+     */
+    private void reserveWithinChunk(List<OrderLine> orderLines, Map<Long, Integer> remainingStock) {
+        for (OrderLine line : orderLines) {
+            Product product = line.getProduct();
+            int remaining = remainingStock.getOrDefault(product.getId(), product.getStock());
+            if (remaining < line.getQuantity()) {
+                throw new InsufficientStockException(product.getName(), line.getQuantity(), remaining);
+            }
+        }
+        for (OrderLine line : orderLines) {
+            Product product = line.getProduct();
+            remainingStock.merge(product.getId(), product.getStock() - line.getQuantity(),
+                    (current, ignored) -> current - line.getQuantity());
+        }
+    }
+
+    /**
+     * Suma las cantidades de todas las órdenes por producto, para descontar
+     * cada producto con un único UPDATE por bloque.
+     */
+    static List<OrderLine> mergeByProduct(Iterable<PreparedOrder> orders) {
+        Map<Long, OrderLine> merged = new LinkedHashMap<>();
+        for (PreparedOrder order : orders) {
+            for (OrderLine line : order.getOrderLines()) {
+                merged.merge(line.getProduct().getId(), line,
+                        (current, added) -> new OrderLine(current.getProduct(), current.getQuantity() + added.getQuantity()));
+            }
+        }
+        return new ArrayList<>(merged.values());
+    }
+}
@@ -0,0 +1,208 @@
+package com.pruebatecnica.pruebatecnica.service.order;
+
+import com.pruebatecnica.pruebatecnica.dto.CreateOrderRequest;
+import com.pruebatecnica.pruebatecnica.exception.GroupCommitUnavailableException;
+import com.pruebatecnica.pruebatecnica.model.Order;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Group commit de POST /api/orders: las peticiones concurrentes se agrupan
+ * durante una ventana corta (o hasta max-batch) y se confirman juntas con
+ * BatchOrderService.createChunk, es decir, un UPDATE de stock por producto y
+ * un commit por grupo. Cada llamante recibe su propia orden o su error.
+ *
+ * A cambio, cada petición espera como mucho una ventana más. Si sigue en
+ * la cola al vencer orders.group-commit.timeout, o el servicio se está
+ * parando, la petición se rechaza con GroupCommitUnavailableException.
+ */
+@Service
+@ConditionalOnProperty(name = "orders.group-commit.enabled", havingValue = "true")
+public class GroupCommitOrderService {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupCommitOrderService.class);
+
+    private final BatchOrderService batchOrderService;
+    private final long windowNanos;
+    private final int maxBatch;
+    private final long timeoutNanos;
+    private final BlockingQueue<PendingOrder> queue = new LinkedBlockingQueue<>();
+    private final Thread committer;
+    private volatile boolean running = true;
+
+    public GroupCommitOrderService(BatchOrderService batchOrderService,
+                                   @Value("${orders.group-commit.window:PT0.002S}") Duration window,
+                                   @Value("${orders.group-commit.max-batch:64}") int maxBatch,
+                                   @Value("${orders.group-commit.timeout:PT10S}") Duration timeout,
+                                   @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.batchOrderService = batchOrderService;
+        this.windowNanos = window.toNanos();
+        this.maxBatch = maxBatch;
+        this.timeoutNanos = timeout.toNanos();
+        Thread.Builder threads = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon(true);
+        this.committer = threads.name("order-group-commit").start(this::runCommitter);
+    }
+
+    /**
+     * Mismo contrato que OrderService.createOrder: devuelve la orden
+     * confirmada o lanza la excepción que la rechazó.
+     *
+     * @throws GroupCommitUnavailableException si el servicio se está parando
+     *         o la petición sigue en la cola al vencer el timeout; en ese caso
+     *         se retira y no llega a ejecutarse. Si ya entró en un grupo se
+     *         espera a su resultado.
+     */
+    public Order createOrder(CreateOrderRequest request) {
+        PendingOrder pending = new PendingOrder(request);
+        if (!running) {
+            throw new GroupCommitUnavailableException("Group commit is shutting down");
+        }
+        queue.add(pending);
+        // El committer pudo terminar entre la comprobación y el add
+        if (!running && queue.remove(pending)) {
+            throw new GroupCommitUnavailableException("Group commit is shutting down");
+        }
+        try {
+            return pending.result.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (queue.remove(pending)) {
+                throw new GroupCommitUnavailableException("Group commit did not complete in time");
+            }
+            // Ya forma parte de un grupo: puede confirmarse, así que un 503
+            // invitaría a reintentar y duplicar la orden. El committer siempre
+            // completa el resultado, con la orden o con el error del grupo.
+            return awaitGroup(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for group commit", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static Order awaitGroup(PendingOrder pending) {
+        try {
+            return pending.result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for group commit", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException cause) {
+            return cause;
+        }
+        return new IllegalStateException(e.getCause());
+    }
+
+    private void runCommitter() {
+        List<PendingOrder> group = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingOrder first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                collect(group);
+                commit(group);
+            } catch (InterruptedException e) {
+                fail(group, new GroupCommitUnavailableException("Group commit stopped"));
+                if (!running) {
+                    break;
+                }
+            } catch (Throwable e) {
+                // Un Error tampoco puede dejar a los llamantes esperando ni parar el hilo
+                log.error("Group commit of {} orders failed", group.size(), e);
+                fail(group, e);
+            } finally {
+                group.clear();
+            }
+        }
+        rejectQueued();
+    }
+
+    /**
+     * Añade al grupo lo que llegue hasta que se cumpla la ventana contada
+     * desde la primera petición o se alcance maxBatch.
+     */
+    private void collect(List<PendingOrder> group) throws InterruptedException {
+        long deadline = System.nanoTime() + windowNanos;
+        queue.drainTo(group, maxBatch - group.size());
+        while (group.size() < maxBatch) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            PendingOrder next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            group.add(next);
+            queue.drainTo(group, maxBatch - group.size());
+        }
+    }
+
+    private void commit(List<PendingOrder> group) {
+        List<CreateOrderRequest> requests = group.stream().map(pending -> pending.request).toList();
+        List<OrderOutcome> outcomes = batchOrderService.createChunk(requests);
+        for (int i = 0; i < group.size(); i++) {
+            OrderOutcome outcome = outcomes.get(i);
+            if (outcome.isCreated()) {
+                group.get(i).result.complete(outcome.getOrder());
+            } else {
+                group.get(i).result.completeExceptionally(outcome.getError());
+            }
+        }
+    }
+
+    private static void fail(List<PendingOrder> group, Throwable error) {
+        group.forEach(pending -> pending.result.completeExceptionally(error));
+    }
+
+    private void rejectQueued() {
+        PendingOrder left;
+        while ((left = queue.poll()) != null) {
+            left.result.completeExceptionally(new GroupCommitUnavailableException("Group commit stopped"));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        committer.join(TimeUnit.SECONDS.toMillis(10));
+        if (committer.isAlive()) {
+            committer.interrupt();
+            committer.join(TimeUnit.SECONDS.toMillis(1));
+        }
+        // Lo que llegara después de que el committer saliera del bucle
+        rejectQueued();
+    }
+
+    private static final class PendingOrder {
+
+        private final CreateOrderRequest request;
+        private final CompletableFuture<Order> result = new CompletableFuture<>();
+
+        private PendingOrder(CreateOrderRequest request) {
+            this.request = request;
+        }
+    }
+}
@@ -1,32 +1,24 @@
 package com.pruebatecnica.pruebatecnica.service.order;
 
 import com.pruebatecnica.pruebatecnica.model.OrderLine;
-import com.pruebatecnica.pruebatecnica.model.Product;
-import com.pruebatecnica.pruebatecnica.repository.ProductRepository;
-import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 
-@Component
-public class InventoryUpdater {
-
-    private final ProductRepository productRepository;
-
-    public InventoryUpdater(ProductRepository productRepository) {
-        this.productRepository = productRepository;
-    }
+/**
+ * Descuenta del inventario las cantidades de un pedido. Si no hay stock
+ * suficiente para alguna línea lanza InsufficientStockException y no deja
+ * ningún descuento aplicado.
+ *
+ * La implementación se elige con la propiedad inventory.mode
+ * (database por defecto, o ledger).
+ */
+public interface InventoryUpdater {
+    void updateStock(List<OrderLine> orderLines);
 
     /**
-     * Actualiza el stock de cada producto según las líneas de pedido.
+     * Devuelve al inventario unidades descontadas antes (reservas canceladas
+     * o caducadas), ya sumadas por id de producto.
      */
-    @Transactional
-    public void updateStock(List<OrderLine> orderLines) {
-        for (OrderLine line : orderLines) {
-            Product product = line.getProduct();
-            product.setStock(product.getStock() - line.getQuantity());
-            productRepository.save(product);
-        }
-    }
+    void restoreStock(Map<Long, Integer> quantitiesByProduct);
 }
-
@@ -0,0 +1,35 @@
+package com.pruebatecnica.pruebatecnica.service.order;
+
+import java.util.Locale;
+
+/**
+ * Formatos de la exportación de órdenes.
+ */
+public enum OrderExportFormat {
+
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final String contentType;
+
+    OrderExportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static OrderExportFormat fromParameter(String value) {
+        for (OrderExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + value);
+    }
+}
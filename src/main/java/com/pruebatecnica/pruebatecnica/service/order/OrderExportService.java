@@ -0,0 +1,125 @@
+package com.pruebatecnica.pruebatecnica.service.order;
+
+import com.pruebatecnica.pruebatecnica.dto.OrderExportRow;
+import com.pruebatecnica.pruebatecnica.model.OrderStatus;
+import com.pruebatecnica.pruebatecnica.repository.OrderStreamRepository;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Exportación de órdenes para conciliación. Las filas van del cursor JDBC a
+ * la respuesta una a una, así el heap usado no depende del número de filas.
+ */
+@Service
+public class OrderExportService {
+
+    static final String CSV_HEADER = "order_id,created_at,status,customer_name,customer_email,order_total,"
+            + "product_id,product_name,quantity,unit_price,line_total";
+
+    private final OrderStreamRepository orderStreamRepository;
+    private final ObjectMapper objectMapper;
+
+    public OrderExportService(OrderStreamRepository orderStreamRepository, ObjectMapper objectMapper) {
+        this.orderStreamRepository = orderStreamRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Escribe las líneas de las órdenes creadas en [from, to), opcionalmente
+     * con un estado concreto. No cierra out.
+     */
+    public void export(LocalDateTime from, LocalDateTime to, OrderStatus status,
+                       OrderExportFormat format, OutputStream out) throws IOException {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == OrderExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        try {
+            orderStreamRepository.streamExportRows(from, to, status, row -> {
+                try {
+                    if (format == OrderExportFormat.CSV) {
+                        writeCsv(row, writer);
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(row));
+                        writer.write('\n');
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void writeCsv(OrderExportRow row, Writer writer) throws IOException {
+        writer.write(String.valueOf(row.getOrderId()));
+        writer.write(',');
+        writer.write(row.getCreatedAt().toString());
+        writer.write(',');
+        writeField(writer, row.getStatus());
+        writer.write(',');
+        writeText(writer, row.getCustomerName());
+        writer.write(',');
+        writeText(writer, row.getCustomerEmail());
+        writer.write(',');
+        writeField(writer, row.getOrderTotal());
+        writer.write(',');
+        writeField(writer, row.getProductId());
+        writer.write(',');
+        writeText(writer, row.getProductName());
+        writer.write(',');
+        writeField(writer, row.getQuantity());
+        writer.write(',');
+        writeField(writer, row.getUnitPrice());
+        writer.write(',');
+        writeField(writer, row.getLineTotal());
+        writer.write('\n');
+    }
+
+    private static void writeField(Writer writer, Object value) throws IOException {
+        if (value instanceof BigDecimal decimal) {
+            writer.write(decimal.toPlainString());
+        } else if (value != null) {
+            writer.write(value.toString());
+        }
+    }
+
+    /**
+     * Texto libre entre comillas cuando contiene separadores, comillas o
+     * saltos de línea (RFC 4180).
+     */
+    static void writeText(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -6,32 +6,97 @@ import com.pruebatecnica.pruebatecnica.exception.ProductNotFoundException;
 import com.pruebatecnica.pruebatecnica.model.OrderLine;
 import com.pruebatecnica.pruebatecnica.model.Product;
 import com.pruebatecnica.pruebatecnica.repository.ProductRepository;
+import com.pruebatecnica.pruebatecnica.repository.ProductStockView;
+import com.pruebatecnica.pruebatecnica.service.catalog.ProductCatalogCache;
+import com.pruebatecnica.pruebatecnica.service.catalog.ProductCatalogEntry;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 public class OrderLinesFactory {
 
     private final ProductRepository productRepository;
+    private final ProductCatalogCache productCatalogCache;
 
-    public OrderLinesFactory(ProductRepository productRepository) {
+    public OrderLinesFactory(ProductRepository productRepository, ProductCatalogCache productCatalogCache) {
         this.productRepository = productRepository;
+        this.productCatalogCache = productCatalogCache;
     }
 
     /**
      * Convierte la lista de OrderItemRequest en OrderLine (producto + cantidad).
+     * Los productos se resuelven con un número fijo de consultas por pedido y
+     * las líneas repetidas de un mismo producto se fusionan en una única línea.
      */
     public List<OrderLine> fromRequest(CreateOrderRequest request) {
-        return request.getItems().stream()
-                .map(this::toOrderLine)
-                .toList();
+        Map<Long, Integer> quantitiesByProduct = mergeQuantities(request.getItems());
+        Map<Long, Product> productsById = findProducts(quantitiesByProduct);
+
+        List<OrderLine> orderLines = new ArrayList<>(quantitiesByProduct.size());
+        quantitiesByProduct.forEach((productId, quantity) ->
+                orderLines.add(new OrderLine(productsById.get(productId), quantity)));
+        return orderLines;
     }
 
-    private OrderLine toOrderLine(OrderItemRequest itemRequest) {
-        Product product = productRepository.findById(itemRequest.getProductId())
-                .orElseThrow(() -> new ProductNotFoundException(itemRequest.getProductId()));
-        return new OrderLine(product, itemRequest.getQuantity());
+    /**
+     * Una suma desbordada daría una cantidad negativa que pasaría la
+     * validación de stock y sumaría unidades en lugar de descontarlas.
+     */
+    private Map<Long, Integer> mergeQuantities(List<OrderItemRequest> items) {
+        Map<Long, Integer> quantitiesByProduct = new LinkedHashMap<>();
+        try {
+            for (OrderItemRequest item : items) {
+                quantitiesByProduct.merge(item.getProductId(), item.getQuantity(), Math::addExact);
+            }
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Total quantity per product is too large");
+        }
+        return quantitiesByProduct;
     }
-}
 
+    /**
+     * Los productos en caché solo necesitan su stock actual y su flag hot
+     * (una consulta estrecha para todos); el resto se carga completo en otra
+     * consulta y se añade a la caché.
+     */
+    private Map<Long, Product> findProducts(Map<Long, Integer> quantitiesByProduct) {
+        Map<Long, ProductCatalogEntry> cached = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long productId : quantitiesByProduct.keySet()) {
+            ProductCatalogEntry entry = productCatalogCache.getIfPresent(productId);
+            if (entry == null) {
+                missing.add(productId);
+            } else {
+                cached.put(productId, entry);
+            }
+        }
+
+        Map<Long, Product> productsById = new HashMap<>();
+        if (!cached.isEmpty()) {
+            for (ProductStockView stock : productRepository.findStockByIdIn(cached.keySet())) {
+                productsById.put(stock.getId(), cached.get(stock.getId()).toProduct(stock));
+            }
+        }
+        if (!missing.isEmpty()) {
+            List<Product> loaded = productRepository.findAllById(missing);
+            productRepository.loadHotStock(loaded);
+            for (Product product : loaded) {
+                productsById.put(product.getId(), product);
+                productCatalogCache.put(product);
+            }
+        }
+
+        for (Long productId : quantitiesByProduct.keySet()) {
+            if (!productsById.containsKey(productId)) {
+                productCatalogCache.evict(productId);
+                throw new ProductNotFoundException(productId);
+            }
+        }
+        return productsById;
+    }
+}
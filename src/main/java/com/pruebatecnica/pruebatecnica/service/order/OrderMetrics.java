@@ -0,0 +1,120 @@
+package com.pruebatecnica.pruebatecnica.service.order;
+
+import com.pruebatecnica.pruebatecnica.exception.InsufficientStockException;
+import com.pruebatecnica.pruebatecnica.exception.ProductNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Métricas de creación de órdenes: un timer con histograma por etapa,
+ * contadores de rechazos por causa y las creaciones en curso.
+ * Los meters se registran una vez; medir solo cuesta un System.nanoTime().
+ */
+@Component
+public class OrderMetrics {
+
+    private final Map<OrderStage, Timer> stageTimers = new EnumMap<>(OrderStage.class);
+    private final Counter validationRejections;
+    private final Counter notFoundRejections;
+    private final Counter insufficientStockRejections;
+    private final Counter otherRejections;
+    private final AtomicInteger active = new AtomicInteger();
+
+    public OrderMetrics(MeterRegistry registry) {
+        for (OrderStage stage : OrderStage.values()) {
+            stageTimers.put(stage, Timer.builder("orders.create.stage")
+                    .description("Time spent in each stage of order creation")
+                    .tag("stage", stage.getTag())
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(1_000))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(registry));
+        }
+        validationRejections = rejectionCounter(registry, "validation");
+        notFoundRejections = rejectionCounter(registry, "not_found");
+        insufficientStockRejections = rejectionCounter(registry, "insufficient_stock");
+        otherRejections = rejectionCounter(registry, "other");
+        Gauge.builder("orders.create.active", active, AtomicInteger::get)
+                .description("Order creation transactions in progress")
+                .register(registry);
+    }
+
+    private static Counter rejectionCounter(MeterRegistry registry, String cause) {
+        return Counter.builder("orders.rejected")
+                .description("Orders rejected by cause")
+                .tag("cause", cause)
+                .register(registry);
+    }
+
+    /**
+     * Punto de partida para medir la primera etapa.
+     */
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Registra la etapa que empezó en startNanos y devuelve el instante
+     * actual, que sirve de inicio para la siguiente.
+     */
+    public long stage(OrderStage stage, long startNanos) {
+        long now = System.nanoTime();
+        stageTimers.get(stage).record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    /**
+     * Mide la etapa COMMIT de la transacción activa: desde que empieza a
+     * confirmarse (vaciado pendiente de Hibernate incluido) hasta que la
+     * base de datos confirma. Solo se registra si la transacción se confirma.
+     */
+    public void timeCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long startNanos;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                startNanos = System.nanoTime();
+            }
+
+            @Override
+            public void afterCommit() {
+                stage(OrderStage.COMMIT, startNanos);
+            }
+        });
+    }
+
+    public void transactionStarted() {
+        active.incrementAndGet();
+    }
+
+    public void transactionFinished() {
+        active.decrementAndGet();
+    }
+
+    public void recordRejection(RuntimeException e) {
+        if (e instanceof IllegalArgumentException) {
+            validationRejections.increment();
+        } else if (e instanceof ProductNotFoundException) {
+            notFoundRejections.increment();
+        } else if (e instanceof InsufficientStockException) {
+            insufficientStockRejections.increment();
+        } else {
+            otherRejections.increment();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.pruebatecnica.pruebatecnica.service.order;
+
+import com.pruebatecnica.pruebatecnica.model.Order;
+
+/**
+ * Resultado de una orden dentro de un bloque: la orden creada o el error
+ * que la rechazó.
+ */
+public class OrderOutcome {
+
+    private final Order order;
+    private final RuntimeException error;
+
+    private OrderOutcome(Order order, RuntimeException error) {
+        this.order = order;
+        this.error = error;
+    }
+
+    public static OrderOutcome created(Order order) {
+        return new OrderOutcome(order, null);
+    }
+
+    public static OrderOutcome rejected(RuntimeException error) {
+        return new OrderOutcome(null, error);
+    }
+
+    public boolean isCreated() {
+        return error == null;
+    }
+
+    // Getters
+    public Order getOrder() {
+        return order;
+    }
+
+    public RuntimeException getError() {
+        return error;
+    }
+}
@@ -1,25 +1,56 @@
 package com.pruebatecnica.pruebatecnica.service.order;
 
 import com.pruebatecnica.pruebatecnica.dto.CreateOrderRequest;
+import com.pruebatecnica.pruebatecnica.dto.OrderItemRequest;
+import com.pruebatecnica.pruebatecnica.dto.OrderItemResponse;
+import com.pruebatecnica.pruebatecnica.dto.OrderPageResponse;
+import com.pruebatecnica.pruebatecnica.dto.OrderResponse;
 import com.pruebatecnica.pruebatecnica.model.*;
 import com.pruebatecnica.pruebatecnica.repository.OrderRepository;
+import com.pruebatecnica.pruebatecnica.repository.OrderStreamRepository;
 import com.pruebatecnica.pruebatecnica.service.order.discount.DiscountPolicy;
 import com.pruebatecnica.pruebatecnica.service.order.pricing.PriceCalculator;
 import com.pruebatecnica.pruebatecnica.service.order.validation.OrderRequestValidator;
 import com.pruebatecnica.pruebatecnica.service.order.validation.StockValidator;
+import com.pruebatecnica.pruebatecnica.service.sales.SalesAggregates;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
 
-import java.math.BigDecimal;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 @Service
 public class OrderService {
-    
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final byte NEWLINE = '\n';
+
+    // Límites del rango de fechas cuando la consulta no lo indica
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private OrderStreamRepository orderStreamRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Autowired
     private OrderRequestValidator orderRequestValidator;
 
@@ -38,6 +69,12 @@ public class OrderService {
     @Autowired
     private InventoryUpdater inventoryUpdater;
 
+    @Autowired
+    private OrderMetrics orderMetrics;
+
+    @Autowired
+    private SalesAggregates salesAggregates;
+
 
     /**
      * Flujo de creación de orden:
@@ -52,36 +89,172 @@ public class OrderService {
      */
     @Transactional
     public Order createOrder(CreateOrderRequest request) {
-        // 1. Validación de datos de entrada
-        orderRequestValidator.validate(request);
+        return instrumented(() -> {
+            // 1-7. Validar, calcular precios y construir la orden con sus items
+            PreparedOrder prepared = prepareOrder(request);
 
-        // 2. Crear la orden vacía
-        Order order = new Order(request.getCustomerName(), request.getCustomerEmail());
+            // 8. Actualizar inventario en base de datos
+            long start = orderMetrics.start();
+            inventoryUpdater.updateStock(prepared.getOrderLines());
+            start = orderMetrics.stage(OrderStage.UPDATE_INVENTORY, start);
 
-        // 3. Transformar la request en líneas de pedido (producto + cantidad)
-        List<OrderLine> orderLines = orderLinesFactory.fromRequest(request);
+            // 9. Guardar la orden. Con ids de secuencia agrupados save() no
+            // escribe nada: el flush hace que SAVE mida los INSERT reales
+            Order order = prepared.getOrder();
+            order.setStatus(OrderStatus.CONFIRMED);
 
-        // 4. Validar stock para cada línea
-        stockValidator.validate(orderLines);
+            Order saved = orderRepository.saveAndFlush(order);
+            salesAggregates.recordCreated(saved);
+            orderMetrics.stage(OrderStage.SAVE, start);
+            orderMetrics.timeCommit();
+            return saved;
+        });
+    }
+
+    /**
+     * Completa una orden aceptada por la cola asíncrona: mismo flujo que
+     * createOrder, pero sobre la orden PENDING ya guardada. Si ya no está
+     * PENDING la devuelve sin cambios.
+     *
+     * La orden se reclama primero con un cambio de estado condicional: si la
+     * recuperación al arrancar y un worker (o dos instancias) la procesan a
+     * la vez, solo uno descuenta stock, y una cancelación concurrente no se
+     * sobrescribe. Si algo falla después, el rollback la devuelve a PENDING.
+     */
+    @Transactional
+    public Order confirmPendingOrder(Long orderId) {
+        return instrumented(() -> {
+            if (orderRepository.compareAndSetStatus(orderId, OrderStatus.PENDING, OrderStatus.CONFIRMED) != 1) {
+                return orderRepository.findWithItemsById(orderId)
+                        .orElseThrow(() -> new RuntimeException("Order not found: " + orderId));
+            }
+            Order order = orderRepository.findWithItemsById(orderId)
+                    .orElseThrow(() -> new RuntimeException("Order not found: " + orderId));
 
-        // 5. Calcular subtotal
-        BigDecimal subtotal = priceCalculator.calculateSubtotal(orderLines);
+            CreateOrderRequest request = toRequest(order);
+            List<OrderLine> orderLines = resolveLines(request);
+            long total = priceLines(request, orderLines);
 
-        // 6. Aplicar descuentos sobre el subtotal
-        BigDecimal total = discountPolicy.applyDiscount(subtotal, orderLines);
+            long start = orderMetrics.start();
+            inventoryUpdater.updateStock(orderLines);
+            start = orderMetrics.stage(OrderStage.UPDATE_INVENTORY, start);
+
+            Map<Long, Product> productsById = new HashMap<>();
+            for (OrderLine line : orderLines) {
+                productsById.put(line.getProduct().getId(), line.getProduct());
+            }
+            for (OrderItem item : order.getItems()) {
+                item.applyPrice(productsById.get(item.getProduct().getId()));
+            }
+            order.setTotalAmount(Money.toBigDecimal(total));
+            salesAggregates.recordStatusChange(order, OrderStatus.PENDING);
+            orderRepository.flush();
+            orderMetrics.stage(OrderStage.SAVE, start);
+            orderMetrics.timeCommit();
+            return order;
+        });
+    }
+
+    /**
+     * Cancela la orden si sigue PENDING. Devuelve false si ya había cambiado.
+     */
+    @Transactional
+    public boolean cancelPendingOrder(Long orderId) {
+        if (orderRepository.compareAndSetStatus(orderId, OrderStatus.PENDING, OrderStatus.CANCELLED) != 1) {
+            return false;
+        }
+        salesAggregates.recordStatusChange(OrderStatus.PENDING, OrderStatus.CANCELLED);
+        return true;
+    }
+
+    @Transactional(readOnly = true)
+    public OrderStatus getOrderStatus(Long orderId) {
+        return orderRepository.findStatusById(orderId)
+                .orElseThrow(() -> new RuntimeException("Order not found: " + orderId));
+    }
+
+    private CreateOrderRequest toRequest(Order order) {
+        List<OrderItemRequest> items = order.getItems().stream()
+                .map(item -> new OrderItemRequest(item.getProduct().getId(), item.getQuantity()))
+                .toList();
+        return new CreateOrderRequest(order.getCustomerName(), order.getCustomerEmail(), items);
+    }
+
+    /**
+     * Cuenta la transacción como activa mientras dura y registra el motivo
+     * si se rechaza.
+     */
+    private Order instrumented(Supplier<Order> action) {
+        orderMetrics.transactionStarted();
+        try {
+            return action.get();
+        } catch (RuntimeException e) {
+            orderMetrics.recordRejection(e);
+            throw e;
+        } finally {
+            orderMetrics.transactionFinished();
+        }
+    }
+
+    /**
+     * Pasos del flujo que no modifican nada: deja la orden construida y con
+     * precio, pendiente de descontar inventario y guardarse. Los errores de
+     * negocio se lanzan aquí, antes de cualquier efecto.
+     */
+    public PreparedOrder prepareOrder(CreateOrderRequest request) {
+        List<OrderLine> orderLines = resolveLines(request);
+        long total = priceLines(request, orderLines);
+
+        long start = orderMetrics.start();
+
+        // 2. Crear la orden
+        Order order = new Order(request.getCustomerName(), request.getCustomerEmail());
 
         // 7. Crear los OrderItem asociados a la orden
         List<OrderItem> orderItems = buildOrderItems(order, orderLines);
 
-        // 8. Actualizar inventario en base de datos
-        inventoryUpdater.updateStock(orderLines);
-
-        // 9. Guardar la orden
         order.setItems(orderItems);
-        order.setTotalAmount(total);
-        order.setStatus(OrderStatus.CONFIRMED);
+        order.setTotalAmount(Money.toBigDecimal(total));
+        orderMetrics.stage(OrderStage.BUILD_ITEMS, start);
 
-        return orderRepository.save(order);
+        return new PreparedOrder(order, orderLines);
+    }
+
+    /**
+     * Pasos 1, 3 y 4: valida la request y la convierte en líneas con stock
+     * suficiente.
+     */
+    private List<OrderLine> resolveLines(CreateOrderRequest request) {
+        long start = orderMetrics.start();
+
+        // 1. Validación de datos de entrada
+        orderRequestValidator.validate(request);
+        start = orderMetrics.stage(OrderStage.VALIDATE, start);
+
+        // 3. Transformar la request en líneas de pedido (producto + cantidad)
+        List<OrderLine> orderLines = orderLinesFactory.fromRequest(request);
+        start = orderMetrics.stage(OrderStage.BUILD_LINES, start);
+
+        // 4. Validar stock para cada línea
+        stockValidator.validate(orderLines);
+        orderMetrics.stage(OrderStage.CHECK_STOCK, start);
+        return orderLines;
+    }
+
+    /**
+     * Pasos 5 y 6: total en céntimos con descuentos aplicados.
+     */
+    private long priceLines(CreateOrderRequest request, List<OrderLine> orderLines) {
+        long start = orderMetrics.start();
+
+        // 5. Calcular subtotal (en céntimos)
+        long subtotal = priceCalculator.calculateSubtotalCents(orderLines);
+        start = orderMetrics.stage(OrderStage.SUBTOTAL, start);
+
+        // 6. Aplicar descuentos sobre el subtotal
+        long total = discountPolicy.applyDiscount(subtotal, orderLines, request.getCustomerEmail());
+        orderMetrics.stage(OrderStage.DISCOUNT, start);
+        return total;
     }
 
     private List<OrderItem> buildOrderItems(Order order, List<OrderLine> orderLines) {
@@ -94,12 +267,129 @@ public class OrderService {
                 .toList();
     }
     
-    public Order getOrderById(Long orderId) {
-        return orderRepository.findById(orderId)
+    @Transactional(readOnly = true)
+    public OrderResponse getOrderById(Long orderId) {
+        return orderRepository.findWithItemsById(orderId)
+            .map(OrderResponse::from)
             .orElseThrow(() -> new RuntimeException("Order not found: " + orderId));
     }
     
-    public List<Order> getAllOrders() {
-        return orderRepository.findAll();
+    /**
+     * Devuelve una página de órdenes ordenadas por (createdAt, id). El cursor
+     * es el devuelto en la página anterior, o null para la primera. El tamaño
+     * se limita a MAX_PAGE_SIZE.
+     */
+    @Transactional(readOnly = true)
+    public OrderPageResponse getOrdersPage(String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        // Se pide una fila extra para saber si hay página siguiente sin un COUNT
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Order> orders;
+        if (cursor == null || cursor.isBlank()) {
+            orders = orderRepository.findFirstPage(limit);
+        } else {
+            OrderCursor after = OrderCursor.decode(cursor);
+            orders = orderRepository.findPageAfter(after.getCreatedAt(), after.getId(), limit);
+        }
+
+        boolean hasNext = orders.size() > pageSize;
+        List<Order> page = hasNext ? orders.subList(0, pageSize) : orders;
+        String nextCursor = hasNext ? OrderCursor.after(page.get(pageSize - 1)).encode() : null;
+
+        return new OrderPageResponse(toResponses(page), nextCursor);
+    }
+
+    /**
+     * Historial de un cliente, de la orden más reciente a la más antigua,
+     * opcionalmente limitado a las creadas en [from, to).
+     */
+    @Transactional(readOnly = true)
+    public OrderPageResponse getCustomerOrders(String customerEmail, LocalDateTime from, LocalDateTime to,
+                                               String cursor, int size) {
+        if (customerEmail == null || customerEmail.isBlank()) {
+            throw new IllegalArgumentException("Customer email is required");
+        }
+        return getNewestFirstPage(from, to, cursor, size, (fromBound, before, limit) ->
+                orderRepository.findCustomerPage(customerEmail, fromBound, before.getCreatedAt(), before.getId(), limit));
+    }
+
+    /**
+     * Órdenes en un estado, de la más reciente a la más antigua, opcionalmente
+     * limitadas a las creadas en [from, to).
+     */
+    @Transactional(readOnly = true)
+    public OrderPageResponse getOrdersByStatus(OrderStatus status, LocalDateTime from, LocalDateTime to,
+                                               String cursor, int size) {
+        if (status == null) {
+            throw new IllegalArgumentException("Status is required");
+        }
+        return getNewestFirstPage(from, to, cursor, size, (fromBound, before, limit) ->
+                orderRepository.findStatusPage(status, fromBound, before.getCreatedAt(), before.getId(), limit));
+    }
+
+    /**
+     * Pagina por keyset hacia atrás en el tiempo. La primera página empieza
+     * antes de (to, Long.MIN_VALUE), es decir, en las creadas antes de to;
+     * las siguientes, antes de la última orden entregada.
+     */
+    private OrderPageResponse getNewestFirstPage(LocalDateTime from, LocalDateTime to, String cursor, int size,
+                                                 NewestFirstQuery query) {
+        LocalDateTime fromBound = from != null ? from : EARLIEST;
+        LocalDateTime toBound = to != null ? to : LATEST;
+        if (!fromBound.isBefore(toBound)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        OrderCursor before = cursor == null || cursor.isBlank()
+                ? new OrderCursor(toBound, Long.MIN_VALUE)
+                : OrderCursor.decode(cursor);
+
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        List<Order> orders = query.find(fromBound, before, PageRequest.of(0, pageSize + 1));
+
+        boolean hasNext = orders.size() > pageSize;
+        List<Order> page = hasNext ? orders.subList(0, pageSize) : orders;
+        String nextCursor = hasNext ? OrderCursor.after(page.get(pageSize - 1)).encode() : null;
+        return new OrderPageResponse(toResponses(page), nextCursor);
+    }
+
+    private interface NewestFirstQuery {
+        List<Order> find(LocalDateTime from, OrderCursor before, Pageable limit);
+    }
+
+    /**
+     * Completa las órdenes de una página con sus líneas usando una sola
+     * consulta adicional, sin inicializar la colección lazy de cada orden.
+     */
+    private List<OrderResponse> toResponses(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> orderIds = orders.stream().map(Order::getId).toList();
+        Map<Long, List<OrderItemResponse>> itemsByOrder = new HashMap<>();
+        for (OrderItem item : orderRepository.findItemsWithProductByOrderIds(orderIds)) {
+            itemsByOrder.computeIfAbsent(item.getOrder().getId(), id -> new ArrayList<>())
+                    .add(OrderItemResponse.from(item));
+        }
+
+        return orders.stream()
+                .map(order -> OrderResponse.from(order, itemsByOrder.getOrDefault(order.getId(), List.of())))
+                .toList();
+    }
+
+    /**
+     * Escribe todas las órdenes como NDJSON (una orden JSON por línea) sin
+     * cargarlas en memoria.
+     */
+    public void writeOrdersAsNdjson(OutputStream out) {
+        orderStreamRepository.streamAll(order -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(order));
+                out.write(NEWLINE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.pruebatecnica.pruebatecnica.service.order;
+
+/**
+ * Etapas de OrderService.createOrder, usadas como etiqueta de las métricas.
+ */
+public enum OrderStage {
+    VALIDATE("validate"),
+    BUILD_LINES("build_lines"),
+    CHECK_STOCK("check_stock"),
+    SUBTOTAL("subtotal"),
+    DISCOUNT("discount"),
+    BUILD_ITEMS("build_items"),
+    UPDATE_INVENTORY("update_inventory"),
+    SAVE("save"),
+    COMMIT("commit");
+
+    private final String tag;
+
+    OrderStage(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+}
@@ -0,0 +1,29 @@
+package com.pruebatecnica.pruebatecnica.service.order;
+
+import com.pruebatecnica.pruebatecnica.model.Order;
+import com.pruebatecnica.pruebatecnica.model.OrderLine;
+
+import java.util.List;
+
+/**
+ * Orden ya validada y con precio, junto con las líneas cuyo stock falta
+ * descontar.
+ */
+public class PreparedOrder {
+
+    private final Order order;
+    private final List<OrderLine> orderLines;
+
+    public PreparedOrder(Order order, List<OrderLine> orderLines) {
+        this.order = order;
+        this.orderLines = orderLines;
+    }
+
+    public Order getOrder() {
+        return order;
+    }
+
+    public List<OrderLine> getOrderLines() {
+        return orderLines;
+    }
+}
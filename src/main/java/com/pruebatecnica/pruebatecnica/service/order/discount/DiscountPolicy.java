@@ -1,10 +1,25 @@
 package com.pruebatecnica.pruebatecnica.service.order.discount;
 
+import com.pruebatecnica.pruebatecnica.model.Money;
 import com.pruebatecnica.pruebatecnica.model.OrderLine;
 import java.math.BigDecimal;
 import java.util.List;
 
 public interface DiscountPolicy {
-    BigDecimal applyDiscount(BigDecimal subtotal, List<OrderLine> orderLines);
-}
 
+    /**
+     * Total tras aplicar el descuento, en céntimos (ver Money).
+     */
+    long applyDiscount(long subtotalCents, List<OrderLine> orderLines);
+
+    /**
+     * Variante con el cliente del pedido, para políticas que lo tienen en cuenta.
+     */
+    default long applyDiscount(long subtotalCents, List<OrderLine> orderLines, String customerEmail) {
+        return applyDiscount(subtotalCents, orderLines);
+    }
+
+    default BigDecimal applyDiscount(BigDecimal subtotal, List<OrderLine> orderLines) {
+        return Money.toBigDecimal(applyDiscount(Money.toCents(subtotal), orderLines));
+    }
+}
@@ -1,38 +1,56 @@
 package com.pruebatecnica.pruebatecnica.service.order.discount;
 
+import com.pruebatecnica.pruebatecnica.model.Money;
 import com.pruebatecnica.pruebatecnica.model.OrderLine;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 @Component
+@ConditionalOnProperty(name = "discount.engine", havingValue = "variety")
 public class VarietyDiscountPolicy implements DiscountPolicy {
 
-    private static final BigDecimal VARIETY_DISCOUNT_RATE = new BigDecimal("0.10");
+    // 10% expresado en puntos básicos
+    private static final int VARIETY_DISCOUNT_BASIS_POINTS = 1_000;
     private static final int MINIMUM_DISTINCT_PRODUCTS_FOR_DISCOUNT = 4;
 
     @Override
-    public BigDecimal applyDiscount(BigDecimal subtotal, List<OrderLine> orderLines) {
-        long distinctProducts = countDistinctProducts(orderLines);
-
-        if (hasEnoughVariety(distinctProducts)) {
-            BigDecimal discount = subtotal.multiply(VARIETY_DISCOUNT_RATE);
-            return subtotal.subtract(discount);
+    public long applyDiscount(long subtotalCents, List<OrderLine> orderLines) {
+        if (hasEnoughVariety(orderLines)) {
+            long discount = Money.percentOf(subtotalCents, VARIETY_DISCOUNT_BASIS_POINTS);
+            return subtotalCents - discount;
         }
 
-        return subtotal;
+        return subtotalCents;
     }
 
-    private long countDistinctProducts(List<OrderLine> orderLines) {
-        return orderLines.stream()
-                .map(line -> line.getProduct().getId())
-                .distinct()
-                .count();
+    /**
+     * Recorre las líneas guardando como mucho los primeros ids distintos que
+     * hacen falta para alcanzar el mínimo, y se detiene al alcanzarlo.
+     */
+    private boolean hasEnoughVariety(List<OrderLine> orderLines) {
+        long[] seen = new long[MINIMUM_DISTINCT_PRODUCTS_FOR_DISCOUNT];
+        int distinctProducts = 0;
+
+        for (OrderLine line : orderLines) {
+            long productId = line.getProduct().getId();
+            if (!contains(seen, distinctProducts, productId)) {
+                seen[distinctProducts++] = productId;
+                if (distinctProducts == MINIMUM_DISTINCT_PRODUCTS_FOR_DISCOUNT) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
-    private boolean hasEnoughVariety(long distinctProducts) {
-        return distinctProducts >= MINIMUM_DISTINCT_PRODUCTS_FOR_DISCOUNT;
+    private boolean contains(long[] values, int length, long value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
     }
 }
-
@@ -0,0 +1,251 @@
+package com.pruebatecnica.pruebatecnica.service.order.discount.rules;
+
+import com.pruebatecnica.pruebatecnica.model.Money;
+import com.pruebatecnica.pruebatecnica.model.OrderLine;
+import com.pruebatecnica.pruebatecnica.model.Product;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reglas activas en un instante, indexadas para evaluarse en una sola pasada
+ * por las líneas del pedido:
+ * - VARIETY y VOLUME_TIER: índice por umbral (búsqueda binaria).
+ * - PRODUCT: mapa por productId, consultado por cada línea.
+ * - CUSTOMER: mapa por email.
+ *
+ * Combinación: si la regla aplicable de mayor prioridad es exclusiva, solo
+ * se aplica esa; si no, se aplican todas las acumulables. El descuento nunca
+ * supera el subtotal.
+ *
+ * Es inmutable; las reglas con ventana de tiempo se resuelven al compilar y
+ * recompileAtMillis indica cuándo cambia el conjunto activo.
+ */
+public final class CompiledDiscountRules {
+
+    private static final int MAX_BASIS_POINTS = 10_000;
+    // Ningún pedido real llega a tantos productos o unidades; evita umbrales absurdos
+    static final int MAX_THRESHOLD = 1_000_000;
+
+    private final List<DiscountRule> rules;
+    private final long recompileAtMillis;
+    private final ThresholdIndex varietyIndex;
+    private final ThresholdIndex volumeIndex;
+    private final Map<Long, RuleSummary> productRules;
+    private final Map<String, RuleSummary> customerRules;
+
+    private CompiledDiscountRules(List<DiscountRule> rules, long recompileAtMillis,
+                                  ThresholdIndex varietyIndex, ThresholdIndex volumeIndex,
+                                  Map<Long, RuleSummary> productRules, Map<String, RuleSummary> customerRules) {
+        this.rules = rules;
+        this.recompileAtMillis = recompileAtMillis;
+        this.varietyIndex = varietyIndex;
+        this.volumeIndex = volumeIndex;
+        this.productRules = productRules;
+        this.customerRules = customerRules;
+    }
+
+    /**
+     * Valida las reglas y compila las que están activas en nowMillis. Trabaja
+     * sobre copias: modificar después las reglas recibidas no le afecta.
+     *
+     * @throws IllegalArgumentException si alguna regla está incompleta
+     */
+    public static CompiledDiscountRules compile(List<DiscountRule> rules, long nowMillis) {
+        rules = copy(rules);
+        validate(rules);
+
+        Map<Integer, List<DiscountRule>> varietyRules = new HashMap<>();
+        Map<Integer, List<DiscountRule>> volumeRules = new HashMap<>();
+        Map<Long, RuleSummary> productRules = new HashMap<>();
+        Map<String, RuleSummary> customerRules = new HashMap<>();
+        long recompileAt = Long.MAX_VALUE;
+
+        for (DiscountRule rule : rules) {
+            long from = rule.getValidFrom() == null ? Long.MIN_VALUE : rule.getValidFrom().toEpochMilli();
+            long until = rule.getValidUntil() == null ? Long.MAX_VALUE : rule.getValidUntil().toEpochMilli();
+            if (from > nowMillis) {
+                recompileAt = Math.min(recompileAt, from);
+                continue;
+            }
+            if (until <= nowMillis) {
+                continue;
+            }
+            recompileAt = Math.min(recompileAt, until);
+
+            switch (rule.getType()) {
+                case VARIETY -> varietyRules.computeIfAbsent(rule.getMinDistinctProducts(), k -> new ArrayList<>()).add(rule);
+                case VOLUME_TIER -> volumeRules.computeIfAbsent(rule.getMinQuantity(), k -> new ArrayList<>()).add(rule);
+                case PRODUCT -> productRules.computeIfAbsent(rule.getProductId(), k -> new RuleSummary()).add(rule);
+                case CUSTOMER -> customerRules.computeIfAbsent(normalizeEmail(rule.getCustomerEmail()), k -> new RuleSummary()).add(rule);
+            }
+        }
+
+        return new CompiledDiscountRules(rules, recompileAt,
+                ThresholdIndex.build(varietyRules), ThresholdIndex.build(volumeRules),
+                productRules, customerRules);
+    }
+
+    private static List<DiscountRule> copy(List<DiscountRule> rules) {
+        if (rules == null) {
+            throw new IllegalArgumentException("Discount rules are required");
+        }
+        List<DiscountRule> copies = new ArrayList<>(rules.size());
+        for (DiscountRule rule : rules) {
+            if (rule == null) {
+                throw new IllegalArgumentException("Discount rules must not be null");
+            }
+            copies.add(new DiscountRule(rule));
+        }
+        return List.copyOf(copies);
+    }
+
+    private static void validate(List<DiscountRule> rules) {
+        Set<String> ids = new HashSet<>();
+        for (DiscountRule rule : rules) {
+            if (rule.getId() == null || rule.getId().isBlank()) {
+                throw new IllegalArgumentException("Discount rule id is required");
+            }
+            if (!ids.add(rule.getId())) {
+                throw new IllegalArgumentException("Duplicate discount rule id: " + rule.getId());
+            }
+            if (rule.getType() == null) {
+                throw new IllegalArgumentException("Discount rule type is required: " + rule.getId());
+            }
+            if (rule.getPriority() == RuleSummary.NONE) {
+                // RuleSummary usa ese valor para "sin regla"
+                throw new IllegalArgumentException("Priority must be greater than " + RuleSummary.NONE + ": "
+                        + rule.getId());
+            }
+            if (rule.getBasisPoints() <= 0 || rule.getBasisPoints() > MAX_BASIS_POINTS) {
+                throw new IllegalArgumentException("Basis points must be between 1 and 10000: " + rule.getId());
+            }
+            if (rule.getValidFrom() != null && rule.getValidUntil() != null
+                    && !rule.getValidFrom().isBefore(rule.getValidUntil())) {
+                throw new IllegalArgumentException("validFrom must be before validUntil: " + rule.getId());
+            }
+            boolean complete = switch (rule.getType()) {
+                case VARIETY -> isThreshold(rule.getMinDistinctProducts());
+                case VOLUME_TIER -> isThreshold(rule.getMinQuantity());
+                case PRODUCT -> rule.getProductId() != null;
+                case CUSTOMER -> rule.getCustomerEmail() != null && !rule.getCustomerEmail().isBlank();
+            };
+            if (!complete) {
+                throw new IllegalArgumentException("Missing or out of range condition for " + rule.getType()
+                        + " rule (thresholds go from 1 to " + MAX_THRESHOLD + "): " + rule.getId());
+            }
+        }
+    }
+
+    private static boolean isThreshold(Integer value) {
+        return value != null && value > 0 && value <= MAX_THRESHOLD;
+    }
+
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Total tras aplicar los descuentos, en céntimos. Las líneas llegan ya
+     * agrupadas por producto (OrderLinesFactory), así que cada línea es un
+     * producto distinto.
+     */
+    public long apply(long subtotalCents, List<OrderLine> orderLines, String customerEmail) {
+        Discounts discounts = new Discounts();
+
+        // Pasada única: unidades y reglas por producto
+        long totalQuantity = 0;
+        int distinctProducts = orderLines.size();
+
+        RuleSummary bestProduct = null;
+        long bestProductId = 0;
+        long bestProductBase = 0;
+
+        for (OrderLine line : orderLines) {
+            Product product = line.getProduct();
+            long productId = product.getId();
+            totalQuantity += line.getQuantity();
+
+            if (!productRules.isEmpty()) {
+                RuleSummary summary = productRules.get(productId);
+                if (summary != null) {
+                    long lineCents = Money.times(product.getPriceCents(), line.getQuantity());
+                    discounts.offerStackable(summary, lineCents);
+                    if (summary.hasExclusive()) {
+                        if (bestProduct == null || summary.exclusivePriority > bestProduct.exclusivePriority) {
+                            bestProduct = summary;
+                            bestProductId = productId;
+                            bestProductBase = lineCents;
+                        } else if (productId == bestProductId) {
+                            bestProductBase += lineCents;
+                        }
+                    }
+                }
+            }
+        }
+
+        if (bestProduct != null) {
+            discounts.offerExclusive(bestProduct, bestProductBase);
+        }
+        discounts.offer(varietyIndex.find(distinctProducts), subtotalCents);
+        discounts.offer(volumeIndex.find(totalQuantity), subtotalCents);
+        if (customerEmail != null && !customerRules.isEmpty()) {
+            discounts.offer(customerRules.get(normalizeEmail(customerEmail)), subtotalCents);
+        }
+
+        return subtotalCents - Math.min(discounts.total(), subtotalCents);
+    }
+
+    public List<DiscountRule> getRules() {
+        return rules;
+    }
+
+    public long getRecompileAtMillis() {
+        return recompileAtMillis;
+    }
+
+    /**
+     * Acumula los candidatos de la evaluación: la mejor exclusiva y la suma
+     * de las acumulables, cada una con su prioridad máxima.
+     */
+    private static final class Discounts {
+
+        private int exclusivePriority = RuleSummary.NONE;
+        private long exclusiveDiscount;
+        private int stackablePriority = RuleSummary.NONE;
+        private long stackableDiscount;
+
+        void offer(RuleSummary summary, long baseCents) {
+            if (summary != null) {
+                offerExclusive(summary, baseCents);
+                offerStackable(summary, baseCents);
+            }
+        }
+
+        void offerExclusive(RuleSummary summary, long baseCents) {
+            if (summary.hasExclusive() && summary.exclusivePriority > exclusivePriority) {
+                exclusivePriority = summary.exclusivePriority;
+                exclusiveDiscount = Money.percentOf(baseCents, summary.exclusiveBasisPoints);
+            }
+        }
+
+        void offerStackable(RuleSummary summary, long baseCents) {
+            if (summary.hasStackable()) {
+                stackablePriority = Math.max(stackablePriority, summary.stackablePriority);
+                stackableDiscount += Money.percentOf(baseCents, summary.stackableBasisPoints);
+            }
+        }
+
+        long total() {
+            if (exclusivePriority == RuleSummary.NONE && stackablePriority == RuleSummary.NONE) {
+                return 0;
+            }
+            return exclusivePriority >= stackablePriority ? exclusiveDiscount : stackableDiscount;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.pruebatecnica.pruebatecnica.service.order.discount.rules;
+
+import java.time.Instant;
+
+/**
+ * Definición de una promoción. Los campos que se usan dependen del tipo
+ * (ver DiscountRuleType); validFrom y validUntil son opcionales y acotan
+ * la ventana de tiempo en la que la regla está activa.
+ */
+public class DiscountRule {
+
+    private String id;
+    private DiscountRuleType type;
+    private int priority;
+    private boolean stackable;
+    private int basisPoints;
+    private Integer minDistinctProducts;
+    private Integer minQuantity;
+    private Long productId;
+    private String customerEmail;
+    private Instant validFrom;
+    private Instant validUntil;
+
+    // Constructors
+    public DiscountRule() {}
+
+    public DiscountRule(String id, DiscountRuleType type, int priority, boolean stackable, int basisPoints) {
+        this.id = id;
+        this.type = type;
+        this.priority = priority;
+        this.stackable = stackable;
+        this.basisPoints = basisPoints;
+    }
+
+    public DiscountRule(DiscountRule other) {
+        this.id = other.id;
+        this.type = other.type;
+        this.priority = other.priority;
+        this.stackable = other.stackable;
+        this.basisPoints = other.basisPoints;
+        this.minDistinctProducts = other.minDistinctProducts;
+        this.minQuantity = other.minQuantity;
+        this.productId = other.productId;
+        this.customerEmail = other.customerEmail;
+        this.validFrom = other.validFrom;
+        this.validUntil = other.validUntil;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public DiscountRuleType getType() {
+        return type;
+    }
+
+    public void setType(DiscountRuleType type) {
+        this.type = type;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
+    public boolean isStackable() {
+        return stackable;
+    }
+
+    public void setStackable(boolean stackable) {
+        this.stackable = stackable;
+    }
+
+    public int getBasisPoints() {
+        return basisPoints;
+    }
+
+    public void setBasisPoints(int basisPoints) {
+        this.basisPoints = basisPoints;
+    }
+
+    public Integer getMinDistinctProducts() {
+        return minDistinctProducts;
+    }
+
+    public void setMinDistinctProducts(Integer minDistinctProducts) {
+        this.minDistinctProducts = minDistinctProducts;
+    }
+
+    public Integer getMinQuantity() {
+        return minQuantity;
+    }
+
+    public void setMinQuantity(Integer minQuantity) {
+        this.minQuantity = minQuantity;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public String getCustomerEmail() {
+        return customerEmail;
+    }
+
+    public void setCustomerEmail(String customerEmail) {
+        this.customerEmail = customerEmail;
+    }
+
+    public Instant getValidFrom() {
+        return validFrom;
+    }
+
+    public void setValidFrom(Instant validFrom) {
+        this.validFrom = validFrom;
+    }
+
+    public Instant getValidUntil() {
+        return validUntil;
+    }
+
+    public void setValidUntil(Instant validUntil) {
+        this.validUntil = validUntil;
+    }
+}
@@ -0,0 +1,79 @@
+package com.pruebatecnica.pruebatecnica.service.order.discount.rules;
+
+import com.pruebatecnica.pruebatecnica.model.OrderLine;
+import com.pruebatecnica.pruebatecnica.service.order.discount.DiscountPolicy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * DiscountPolicy configurable en caliente. Las reglas se compilan al
+ * cargarlas (ver CompiledDiscountRules) y se publican con un único cambio de
+ * referencia: los pedidos en curso terminan con la versión que leyeron.
+ *
+ * Arranca con la promoción histórica: 10% a partir de 4 productos distintos.
+ */
+@Component
+@ConditionalOnProperty(name = "discount.engine", havingValue = "rules", matchIfMissing = true)
+public class DiscountRuleEngine implements DiscountPolicy {
+
+    private final Clock clock;
+    private final AtomicReference<CompiledDiscountRules> compiledRules;
+
+    @Autowired
+    public DiscountRuleEngine() {
+        this(Clock.systemUTC());
+    }
+
+    public DiscountRuleEngine(Clock clock) {
+        this.clock = clock;
+        this.compiledRules = new AtomicReference<>(
+                CompiledDiscountRules.compile(defaultRules(), clock.millis()));
+    }
+
+    private static List<DiscountRule> defaultRules() {
+        DiscountRule variety = new DiscountRule("variety-4", DiscountRuleType.VARIETY, 0, false, 1_000);
+        variety.setMinDistinctProducts(4);
+        return List.of(variety);
+    }
+
+    @Override
+    public long applyDiscount(long subtotalCents, List<OrderLine> orderLines) {
+        return applyDiscount(subtotalCents, orderLines, null);
+    }
+
+    @Override
+    public long applyDiscount(long subtotalCents, List<OrderLine> orderLines, String customerEmail) {
+        return current().apply(subtotalCents, orderLines, customerEmail);
+    }
+
+    /**
+     * Sustituye todas las reglas. Si alguna no es válida no se cambia nada.
+     */
+    public void reload(List<DiscountRule> rules) {
+        compiledRules.set(CompiledDiscountRules.compile(rules, clock.millis()));
+    }
+
+    public List<DiscountRule> getRules() {
+        return compiledRules.get().getRules();
+    }
+
+    /**
+     * Recompila cuando alguna regla entra o sale de su ventana de tiempo.
+     * Si otro hilo recompila a la vez, ambos resultados son equivalentes.
+     */
+    private CompiledDiscountRules current() {
+        CompiledDiscountRules compiled = compiledRules.get();
+        long now = clock.millis();
+        if (now < compiled.getRecompileAtMillis()) {
+            return compiled;
+        }
+        CompiledDiscountRules fresh = CompiledDiscountRules.compile(compiled.getRules(), now);
+        compiledRules.compareAndSet(compiled, fresh);
+        return fresh;
+    }
+}
@@ -0,0 +1,12 @@
+package com.pruebatecnica.pruebatecnica.service.order.discount.rules;
+
+public enum DiscountRuleType {
+    /** Porcentaje sobre el subtotal a partir de minDistinctProducts productos distintos. */
+    VARIETY,
+    /** Porcentaje sobre el subtotal a partir de minQuantity unidades en total. */
+    VOLUME_TIER,
+    /** Porcentaje sobre el importe de las líneas de productId. */
+    PRODUCT,
+    /** Porcentaje sobre el subtotal para los pedidos de customerEmail. */
+    CUSTOMER
+}
@@ -0,0 +1,44 @@
+package com.pruebatecnica.pruebatecnica.service.order.discount.rules;
+
+/**
+ * Reglas que comparten condición, reducidas a lo que importa al evaluar: la
+ * regla exclusiva de mayor prioridad y la suma de las acumulables.
+ */
+final class RuleSummary {
+
+    // Ninguna regla puede tener esta prioridad: CompiledDiscountRules la rechaza
+    static final int NONE = Integer.MIN_VALUE;
+
+    int exclusivePriority = NONE;
+    int exclusiveBasisPoints;
+    int stackablePriority = NONE;
+    int stackableBasisPoints;
+
+    void add(DiscountRule rule) {
+        if (rule.isStackable()) {
+            stackableBasisPoints += rule.getBasisPoints();
+            stackablePriority = Math.max(stackablePriority, rule.getPriority());
+        } else if (rule.getPriority() > exclusivePriority) {
+            exclusivePriority = rule.getPriority();
+            exclusiveBasisPoints = rule.getBasisPoints();
+        }
+    }
+
+    RuleSummary plus(RuleSummary other) {
+        RuleSummary merged = new RuleSummary();
+        merged.stackableBasisPoints = stackableBasisPoints + other.stackableBasisPoints;
+        merged.stackablePriority = Math.max(stackablePriority, other.stackablePriority);
+        boolean otherWins = other.exclusivePriority > exclusivePriority;
+        merged.exclusivePriority = otherWins ? other.exclusivePriority : exclusivePriority;
+        merged.exclusiveBasisPoints = otherWins ? other.exclusiveBasisPoints : exclusiveBasisPoints;
+        return merged;
+    }
+
+    boolean hasExclusive() {
+        return exclusivePriority != NONE;
+    }
+
+    boolean hasStackable() {
+        return stackablePriority != NONE;
+    }
+}
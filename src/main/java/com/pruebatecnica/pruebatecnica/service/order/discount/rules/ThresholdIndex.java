@@ -0,0 +1,59 @@
+package com.pruebatecnica.pruebatecnica.service.order.discount.rules;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reglas con umbral mínimo (productos distintos, unidades) ordenadas por
+ * umbral, con el resumen acumulado de todas las que se cumplen hasta cada
+ * posición. Encontrar las reglas que aplican es una búsqueda binaria.
+ */
+final class ThresholdIndex {
+
+    private final int[] thresholds;
+    private final RuleSummary[] cumulative;
+
+    private ThresholdIndex(int[] thresholds, RuleSummary[] cumulative) {
+        this.thresholds = thresholds;
+        this.cumulative = cumulative;
+    }
+
+    static ThresholdIndex build(Map<Integer, List<DiscountRule>> rulesByThreshold) {
+        TreeMap<Integer, List<DiscountRule>> sorted = new TreeMap<>(rulesByThreshold);
+        int[] thresholds = new int[sorted.size()];
+        RuleSummary[] cumulative = new RuleSummary[sorted.size()];
+
+        RuleSummary running = new RuleSummary();
+        int i = 0;
+        for (Map.Entry<Integer, List<DiscountRule>> entry : sorted.entrySet()) {
+            RuleSummary atThreshold = new RuleSummary();
+            entry.getValue().forEach(atThreshold::add);
+            running = running.plus(atThreshold);
+            thresholds[i] = entry.getKey();
+            cumulative[i] = running;
+            i++;
+        }
+        return new ThresholdIndex(thresholds, cumulative);
+    }
+
+    /**
+     * Resumen de las reglas con umbral menor o igual que value, o null si
+     * no se cumple ninguna.
+     */
+    RuleSummary find(long value) {
+        int low = 0;
+        int high = thresholds.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (thresholds[mid] <= value) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found < 0 ? null : cumulative[found];
+    }
+}
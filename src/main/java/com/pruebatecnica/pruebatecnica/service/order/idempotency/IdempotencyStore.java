@@ -0,0 +1,160 @@
+package com.pruebatecnica.pruebatecnica.service.order.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pruebatecnica.pruebatecnica.exception.IdempotencyKeyReusedException;
+import com.pruebatecnica.pruebatecnica.exception.IdempotentRequestInProgressException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Resultados de peticiones con Idempotency-Key, en una caché acotada que
+ * expira por tiempo. La primera petición con una clave ejecuta la acción;
+ * las repeticiones reciben el mismo resultado y, si la primera sigue en
+ * curso, esperan a que termine en lugar de ejecutarla otra vez.
+ *
+ * Las claves en curso viven en un mapa aparte y solo pasan a la caché al
+ * terminar: si la caché las expulsara por tamaño, un duplicado ejecutaría
+ * la acción otra vez mientras la primera sigue en marcha.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final Cache<String, Entry> cache;
+    private final ConcurrentMap<String, Entry> inFlight = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper;
+    private final Duration waitTimeout;
+
+    public IdempotencyStore(ObjectMapper objectMapper,
+                            @Value("${orders.idempotency.maximum-size:100000}") long maximumSize,
+                            @Value("${orders.idempotency.ttl:PT24H}") Duration ttl,
+                            @Value("${orders.idempotency.wait-timeout:PT30S}") Duration waitTimeout) {
+        this.objectMapper = objectMapper;
+        this.waitTimeout = waitTimeout;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Ejecuta action una sola vez por clave. Si keepResult rechaza el
+     * resultado (por ejemplo, un error transitorio), se entrega a quienes
+     * estaban esperando pero la clave se libera para un reintento posterior.
+     *
+     * @throws IdempotencyKeyReusedException si la clave llegó con otro cuerpo
+     * @throws IdempotentRequestInProgressException si la primera petición no
+     *         termina dentro de orders.idempotency.wait-timeout
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Object request, Supplier<T> action, Predicate<T> keepResult) {
+        Entry entry = new Entry(fingerprint(request));
+        Entry existing = claim(key, entry);
+
+        if (existing != null) {
+            if (!Arrays.equals(existing.fingerprint, entry.fingerprint)) {
+                throw new IdempotencyKeyReusedException(key);
+            }
+            return (T) await(key, existing);
+        }
+
+        // El futuro se completa pase lo que pase: quien espera no debe quedarse colgado
+        boolean keep = false;
+        try {
+            T result = action.get();
+            keep = keepResult.test(result);
+            entry.result.complete(result);
+            return result;
+        } catch (Throwable e) {
+            entry.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            finish(key, entry, keep);
+        }
+    }
+
+    /**
+     * Registra entry como en curso, salvo que la clave ya tenga un resultado
+     * guardado u otra petición en curso: entonces devuelve esa entrada. La
+     * consulta a la caché va dentro del compute para no cruzarse con finish.
+     */
+    private Entry claim(String key, Entry entry) {
+        Entry[] existing = new Entry[1];
+        inFlight.compute(key, (k, current) -> {
+            if (current != null) {
+                existing[0] = current;
+                return current;
+            }
+            existing[0] = cache.getIfPresent(k);
+            return existing[0] == null ? entry : null;
+        });
+        return existing[0];
+    }
+
+    private void finish(String key, Entry entry, boolean keep) {
+        inFlight.computeIfPresent(key, (k, current) -> {
+            if (current != entry) {
+                return current;
+            }
+            if (keep) {
+                cache.put(k, entry);
+            }
+            return null;
+        });
+    }
+
+    private Object await(String key, Entry entry) {
+        try {
+            return entry.result.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotentRequestInProgressException(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotentRequestInProgressException(key);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private byte[] fingerprint(Object request) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize() + inFlight.size();
+    }
+
+    private static final class Entry {
+
+        private final byte[] fingerprint;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private Entry(byte[] fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
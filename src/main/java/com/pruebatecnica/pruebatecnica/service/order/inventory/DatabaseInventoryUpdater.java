@@ -0,0 +1,103 @@
+package com.pruebatecnica.pruebatecnica.service.order.inventory;
+
+import com.pruebatecnica.pruebatecnica.exception.InsufficientStockException;
+import com.pruebatecnica.pruebatecnica.model.OrderLine;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.repository.ProductRepository;
+import com.pruebatecnica.pruebatecnica.service.catalog.CatalogVersion;
+import com.pruebatecnica.pruebatecnica.service.order.InventoryUpdater;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Component
+@ConditionalOnProperty(name = "inventory.mode", havingValue = "database", matchIfMissing = true)
+public class DatabaseInventoryUpdater implements InventoryUpdater {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseInventoryUpdater.class);
+
+    private final ProductRepository productRepository;
+    private final StockBucketService stockBucketService;
+    private final CatalogVersion catalogVersion;
+
+    public DatabaseInventoryUpdater(ProductRepository productRepository,
+                                    StockBucketService stockBucketService,
+                                    CatalogVersion catalogVersion) {
+        this.productRepository = productRepository;
+        this.stockBucketService = stockBucketService;
+        this.catalogVersion = catalogVersion;
+    }
+
+    /**
+     * Descuenta el stock de cada producto con un UPDATE condicional atómico.
+     * Si alguna línea no afecta filas, no había stock suficiente y la
+     * transacción completa se revierte. Los productos se actualizan en orden
+     * de id para que dos pedidos concurrentes no se bloqueen mutuamente.
+     * Los productos calientes se descuentan de sus buckets, empezando por
+     * uno al azar para repartir los pedidos concurrentes.
+     *
+     * El flag hot se leyó con el stock al preparar el pedido, pero markHot o
+     * markCold pueden confirmarse antes del UPDATE: si el camino elegido no
+     * encuentra dónde descontar, se prueba el otro.
+     */
+    @Override
+    @Transactional
+    public void updateStock(List<OrderLine> orderLines) {
+        List<OrderLine> linesInLockOrder = orderLines.stream()
+                .sorted(Comparator.comparing(line -> line.getProduct().getId()))
+                .toList();
+
+        for (OrderLine line : linesInLockOrder) {
+            Product product = line.getProduct();
+            int quantity = line.getQuantity();
+            if (product.isHot() && decrementBuckets(product, quantity)) {
+                continue;
+            }
+            if (productRepository.decrementStock(product.getId(), quantity) == 1) {
+                continue;
+            }
+            if (!product.isHot() && decrementBuckets(product, quantity)) {
+                continue;
+            }
+            throw insufficientStock(product, quantity);
+        }
+        catalogVersion.changed();
+    }
+
+    /**
+     * Un UPDATE por producto sea cual sea el número de órdenes devueltas, en
+     * orden de id como al descontar. Si el producto es caliente, las unidades
+     * van a uno de sus buckets elegido al azar.
+     */
+    @Override
+    @Transactional
+    public void restoreStock(Map<Long, Integer> quantitiesByProduct) {
+        new TreeMap<>(quantitiesByProduct).forEach((productId, quantity) -> {
+            if (productRepository.addStockIfCold(productId, quantity) == 1) {
+                return;
+            }
+            if (!stockBucketService.increment(productId, quantity, ThreadLocalRandom.current().nextInt())) {
+                // Producto borrado (o sin buckets por un cambio concurrente): no hay dónde devolverlas
+                log.warn("Could not restore {} units of product {}", quantity, productId);
+            }
+        });
+        catalogVersion.changed();
+    }
+
+    private boolean decrementBuckets(Product product, int quantity) {
+        return stockBucketService.decrement(product, quantity, ThreadLocalRandom.current().nextInt());
+    }
+
+    private InsufficientStockException insufficientStock(Product product, int requested) {
+        int available = productRepository.findStockById(product.getId()).orElse(0);
+        return new InsufficientStockException(product.getName(), requested, available);
+    }
+}
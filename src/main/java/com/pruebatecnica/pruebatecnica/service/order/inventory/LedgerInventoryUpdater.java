@@ -0,0 +1,98 @@
+package com.pruebatecnica.pruebatecnica.service.order.inventory;
+
+import com.pruebatecnica.pruebatecnica.exception.InsufficientStockException;
+import com.pruebatecnica.pruebatecnica.model.OrderLine;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.service.order.InventoryUpdater;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@ConditionalOnProperty(name = "inventory.mode", havingValue = "ledger")
+public class LedgerInventoryUpdater implements InventoryUpdater {
+
+    private final StockLedger stockLedger;
+
+    public LedgerInventoryUpdater(StockLedger stockLedger) {
+        this.stockLedger = stockLedger;
+    }
+
+    /**
+     * Reserva las cantidades en el ledger en memoria. Si la transacción del
+     * pedido se confirma, las unidades quedan pendientes de escribir en la
+     * tabla products; si se revierte, vuelven al disponible.
+     */
+    @Override
+    public void updateStock(List<OrderLine> orderLines) {
+        List<OrderLine> reserved = new ArrayList<>(orderLines.size());
+        for (OrderLine line : orderLines) {
+            Product product = line.getProduct();
+            stockLedger.loadIfAbsent(product.getId(), product.getStock());
+
+            if (!stockLedger.tryReserve(product.getId(), line.getQuantity())) {
+                release(reserved);
+                throw new InsufficientStockException(
+                        product.getName(),
+                        line.getQuantity(),
+                        stockLedger.available(product.getId())
+                );
+            }
+            reserved.add(line);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        recordSold(reserved);
+                    } else {
+                        release(reserved);
+                    }
+                }
+            });
+        } else {
+            recordSold(reserved);
+        }
+    }
+
+    /**
+     * Las unidades vuelven al disponible y se registran como venta negativa,
+     * que el flusher suma a products. Solo al confirmarse la transacción,
+     * para no ofrecer unidades que aún pueden revertirse.
+     */
+    @Override
+    public void restoreStock(Map<Long, Integer> quantitiesByProduct) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    restore(quantitiesByProduct);
+                }
+            });
+        } else {
+            restore(quantitiesByProduct);
+        }
+    }
+
+    private void restore(Map<Long, Integer> quantitiesByProduct) {
+        quantitiesByProduct.forEach((productId, quantity) -> {
+            stockLedger.release(productId, quantity);
+            stockLedger.recordSold(productId, -quantity);
+        });
+    }
+
+    private void recordSold(List<OrderLine> lines) {
+        lines.forEach(line -> stockLedger.recordSold(line.getProduct().getId(), line.getQuantity()));
+    }
+
+    private void release(List<OrderLine> lines) {
+        lines.forEach(line -> stockLedger.release(line.getProduct().getId(), line.getQuantity()));
+    }
+}
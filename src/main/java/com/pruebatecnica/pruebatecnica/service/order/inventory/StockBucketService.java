@@ -0,0 +1,182 @@
+package com.pruebatecnica.pruebatecnica.service.order.inventory;
+
+import com.pruebatecnica.pruebatecnica.exception.InsufficientStockException;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.model.ProductStockBucket;
+import com.pruebatecnica.pruebatecnica.repository.ProductRepository;
+import com.pruebatecnica.pruebatecnica.repository.ProductStockBucketRepository;
+import com.pruebatecnica.pruebatecnica.service.catalog.CatalogVersion;
+import com.pruebatecnica.pruebatecnica.service.catalog.ProductCatalogCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stock repartido en buckets para productos calientes. Cada compra prueba un
+ * bucket elegido a partir del pedido y, si no le alcanza, los siguientes; así
+ * compras concurrentes del mismo producto suelen bloquear filas distintas.
+ *
+ * Solo con inventory.mode=database: el ledger ya evita la contención en la
+ * fila del producto y vuelca sobre products.stock.
+ */
+@Service
+public class StockBucketService {
+
+    public static final int MAX_BUCKETS = 64;
+
+    private final ProductRepository productRepository;
+    private final ProductStockBucketRepository bucketRepository;
+    private final ProductCatalogCache productCatalogCache;
+    private final CatalogVersion catalogVersion;
+    private final String inventoryMode;
+    private final Map<Long, Integer> bucketCounts = new ConcurrentHashMap<>();
+
+    public StockBucketService(ProductRepository productRepository,
+                              ProductStockBucketRepository bucketRepository,
+                              ProductCatalogCache productCatalogCache,
+                              CatalogVersion catalogVersion,
+                              @Value("${inventory.mode:database}") String inventoryMode) {
+        this.productRepository = productRepository;
+        this.bucketRepository = bucketRepository;
+        this.productCatalogCache = productCatalogCache;
+        this.catalogVersion = catalogVersion;
+        this.inventoryMode = inventoryMode;
+    }
+
+    /**
+     * Marca el producto como caliente y reparte su stock a partes iguales en
+     * buckets filas. Si ya era caliente, lo vuelve a repartir.
+     */
+    @Transactional
+    public Product markHot(Long productId, int buckets) {
+        if (!"database".equals(inventoryMode)) {
+            throw new IllegalStateException("Stock buckets require inventory.mode=database");
+        }
+        if (buckets < 1 || buckets > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Buckets must be between 1 and " + MAX_BUCKETS);
+        }
+
+        Product product = lockProduct(productId);
+        int total = lockedStock(product);
+        bucketRepository.deleteByProductId(productId);
+        for (int i = 0; i < buckets; i++) {
+            int share = total / buckets + (i < total % buckets ? 1 : 0);
+            bucketRepository.save(new ProductStockBucket(productId, i, share));
+        }
+
+        product.setStock(0);
+        product.setHot(true);
+        product.setAvailableStock(total);
+        afterCommit(productId);
+        return product;
+    }
+
+    /**
+     * Devuelve el stock de los buckets a la fila del producto.
+     */
+    @Transactional
+    public Product markCold(Long productId) {
+        Product product = lockProduct(productId);
+        if (!product.isHot()) {
+            return product;
+        }
+        int total = lockedStock(product);
+        bucketRepository.deleteByProductId(productId);
+
+        product.setHot(false);
+        product.setStock(total);
+        afterCommit(productId);
+        return product;
+    }
+
+    /**
+     * Descuenta quantity de los buckets del producto empezando por el que
+     * indica seed. Si ningún bucket tiene suficiente por sí solo, bloquea
+     * todos (en orden de índice) y reparte el descuento entre ellos.
+     * Devuelve false sin descontar nada si el producto ya no tiene buckets.
+     *
+     * @throws InsufficientStockException si la suma de los buckets no alcanza
+     */
+    public boolean decrement(Product product, int quantity, int seed) {
+        Long productId = product.getId();
+        int count = bucketCount(productId);
+        int start = Math.floorMod(seed, Math.max(count, 1));
+        for (int i = 0; i < count; i++) {
+            if (bucketRepository.decrementBucket(productId, (start + i) % count, quantity) == 1) {
+                return true;
+            }
+        }
+
+        List<ProductStockBucket> buckets = bucketRepository.lockAllByProductId(productId);
+        if (buckets.isEmpty()) {
+            return false;
+        }
+        int available = buckets.stream().mapToInt(ProductStockBucket::getStock).sum();
+        if (available < quantity) {
+            throw new InsufficientStockException(product.getName(), quantity, available);
+        }
+        int remaining = quantity;
+        for (ProductStockBucket bucket : buckets) {
+            int taken = Math.min(bucket.getStock(), remaining);
+            bucket.setStock(bucket.getStock() - taken);
+            remaining -= taken;
+            if (remaining == 0) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Suma quantity a uno de los buckets del producto, elegido por seed.
+     * Devuelve false si el producto ya no tiene buckets.
+     */
+    public boolean increment(Long productId, int quantity, int seed) {
+        int count = bucketCount(productId);
+        if (count == 0) {
+            return false;
+        }
+        return bucketRepository.incrementBucket(productId, Math.floorMod(seed, count), quantity) == 1;
+    }
+
+    private int bucketCount(Long productId) {
+        return bucketCounts.computeIfAbsent(productId, bucketRepository::countByProductId);
+    }
+
+    private Product lockProduct(Long productId) {
+        return productRepository.lockById(productId)
+                .orElseThrow(() -> new RuntimeException("Product not found: " + productId));
+    }
+
+    /**
+     * Stock real del producto bloqueado: la columna o, si es caliente, la
+     * suma de sus buckets (que quedan bloqueados).
+     */
+    private int lockedStock(Product product) {
+        if (!product.isHot()) {
+            return product.getStock();
+        }
+        return bucketRepository.lockAllByProductId(product.getId()).stream()
+                .mapToInt(ProductStockBucket::getStock)
+                .sum();
+    }
+
+    private void afterCommit(Long productId) {
+        bucketCounts.remove(productId);
+        productCatalogCache.evict(productId);
+        catalogVersion.changed();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bucketCounts.remove(productId);
+                productCatalogCache.evict(productId);
+            }
+        });
+    }
+}
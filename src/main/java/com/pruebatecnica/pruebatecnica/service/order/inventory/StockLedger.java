@@ -0,0 +1,129 @@
+package com.pruebatecnica.pruebatecnica.service.order.inventory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stock disponible por producto en contadores atómicos en memoria.
+ *
+ * Las reservas se resuelven con CAS sobre el contador del producto, sin
+ * bloqueos. Las unidades vendidas se acumulan como deltas pendientes que
+ * un proceso en segundo plano escribe en la base de datos.
+ *
+ * Además guarda el último stock de la tabla products que conoce cada
+ * contador, para aplicar las escrituras hechas fuera del ledger como una
+ * diferencia sin pisar las reservas en curso.
+ */
+public class StockLedger {
+
+    private final ConcurrentHashMap<Long, AtomicInteger> available = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, AtomicInteger> pendingDeltas = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Integer> persistedStock = new ConcurrentHashMap<>();
+
+    /**
+     * Fija el stock disponible de un producto, reemplazando el valor anterior.
+     */
+    public void load(Long productId, int stock) {
+        available.put(productId, new AtomicInteger(stock));
+        persistedStock.put(productId, stock);
+    }
+
+    /**
+     * Aplica un nuevo valor de la tabla products escrito fuera del ledger.
+     * Solo se suma al contador la diferencia con el último valor conocido:
+     * las ventas sin vaciar y las reservas de transacciones aún abiertas ya
+     * están descontadas y siguen estándolo. Si el producto no estaba cargado,
+     * se carga con ese valor.
+     */
+    public void reload(Long productId, int stock) {
+        Integer previous = persistedStock.put(productId, stock);
+        if (previous == null) {
+            available.computeIfAbsent(productId, id -> new AtomicInteger(stock));
+        } else {
+            available.computeIfAbsent(productId, id -> new AtomicInteger()).addAndGet(stock - previous);
+        }
+    }
+
+    /**
+     * Carga el stock de un producto solo si el ledger aún no lo conoce.
+     */
+    public void loadIfAbsent(Long productId, int stock) {
+        available.computeIfAbsent(productId, id -> {
+            persistedStock.putIfAbsent(id, stock);
+            return new AtomicInteger(stock);
+        });
+    }
+
+    public int available(Long productId) {
+        AtomicInteger counter = available.get(productId);
+        return counter == null ? 0 : counter.get();
+    }
+
+    /**
+     * Reserva unidades si hay suficientes. Devuelve false sin modificar nada
+     * si el producto no tiene stock suficiente o no está cargado.
+     */
+    public boolean tryReserve(Long productId, int quantity) {
+        AtomicInteger counter = available.get(productId);
+        if (counter == null) {
+            return false;
+        }
+        int current;
+        do {
+            current = counter.get();
+            if (current < quantity) {
+                return false;
+            }
+        } while (!counter.compareAndSet(current, current - quantity));
+        return true;
+    }
+
+    /**
+     * Devuelve al disponible unidades reservadas que no llegaron a venderse.
+     */
+    public void release(Long productId, int quantity) {
+        AtomicInteger counter = available.get(productId);
+        if (counter != null) {
+            counter.addAndGet(quantity);
+        }
+    }
+
+    /**
+     * Registra unidades vendidas pendientes de escribir en la base de datos.
+     */
+    public void recordSold(Long productId, int quantity) {
+        pendingDeltas.computeIfAbsent(productId, id -> new AtomicInteger()).addAndGet(quantity);
+    }
+
+    /**
+     * Extrae y pone a cero las unidades vendidas pendientes de cada producto.
+     */
+    public Map<Long, Integer> drainPendingDeltas() {
+        Map<Long, Integer> drained = new HashMap<>();
+        pendingDeltas.forEach((productId, delta) -> {
+            int sold = delta.getAndSet(0);
+            if (sold != 0) {
+                drained.put(productId, sold);
+            }
+        });
+        return drained;
+    }
+
+    /**
+     * Registra que los deltas extraídos ya están escritos en products, para
+     * que una recarga posterior no los tome por una escritura externa.
+     */
+    public void recordFlushed(Map<Long, Integer> deltas) {
+        deltas.forEach((productId, sold) ->
+                persistedStock.computeIfPresent(productId, (id, stock) -> stock - sold));
+    }
+
+    /**
+     * Vuelve a encolar deltas que no se pudieron escribir.
+     */
+    public void restorePendingDeltas(Map<Long, Integer> deltas) {
+        deltas.forEach(this::recordSold);
+    }
+}
@@ -0,0 +1,17 @@
+package com.pruebatecnica.pruebatecnica.service.order.inventory;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "inventory.mode", havingValue = "ledger")
+public class StockLedgerConfig {
+
+    @Bean
+    public StockLedger stockLedger() {
+        return new StockLedger();
+    }
+}
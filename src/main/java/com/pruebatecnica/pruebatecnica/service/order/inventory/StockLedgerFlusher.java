@@ -0,0 +1,100 @@
+package com.pruebatecnica.pruebatecnica.service.order.inventory;
+
+import com.pruebatecnica.pruebatecnica.repository.ProductRepository;
+import com.pruebatecnica.pruebatecnica.repository.ProductStockView;
+import com.pruebatecnica.pruebatecnica.service.catalog.CatalogVersion;
+import com.pruebatecnica.pruebatecnica.service.catalog.ProductStockChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+@Component
+@ConditionalOnProperty(name = "inventory.mode", havingValue = "ledger")
+public class StockLedgerFlusher implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(StockLedgerFlusher.class);
+
+    private final StockLedger stockLedger;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogVersion catalogVersion;
+
+    public StockLedgerFlusher(StockLedger stockLedger,
+                              ProductRepository productRepository,
+                              TransactionTemplate transactionTemplate,
+                              CatalogVersion catalogVersion) {
+        this.stockLedger = stockLedger;
+        this.productRepository = productRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.catalogVersion = catalogVersion;
+    }
+
+    /**
+     * Reconstruye el ledger a partir de la tabla products al arrancar. Corre
+     * antes de que el servidor web acepte peticiones: más tarde pisaría los
+     * contadores que los primeros pedidos ya hubieran cargado y descontado.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        int loaded = 0;
+        for (ProductStockView product : productRepository.findAllStock()) {
+            stockLedger.load(product.getId(), product.getStock());
+            loaded++;
+        }
+        log.info("Stock ledger rebuilt with {} products", loaded);
+    }
+
+    /**
+     * Vuelve a leer el stock de los productos escritos fuera del ledger, una
+     * vez confirmada la escritura, y aplica la diferencia con el último valor
+     * conocido. Excluye al vaciado para que el valor conocido y el de la
+     * tabla avancen juntos.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void reload(ProductStockChangedEvent event) {
+        List<ProductStockView> products = event.isAll()
+                ? productRepository.findAllStock()
+                : productRepository.findStockByIdIn(event.getProductIds());
+        for (ProductStockView product : products) {
+            stockLedger.reload(product.getId(), product.getStock());
+        }
+        log.debug("Stock ledger reloaded {} products", products.size());
+    }
+
+    /**
+     * Escribe en la base de datos las unidades vendidas desde el último
+     * vaciado, un UPDATE por producto y una sola transacción por lote.
+     */
+    @Scheduled(fixedDelayString = "${inventory.ledger.flush-interval-ms:200}")
+    public synchronized void flush() {
+        Map<Long, Integer> deltas = stockLedger.drainPendingDeltas();
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    deltas.forEach(productRepository::subtractStock));
+            stockLedger.recordFlushed(deltas);
+            // El stock de products solo cambia aquí en modo ledger
+            catalogVersion.changed();
+        } catch (RuntimeException e) {
+            stockLedger.restorePendingDeltas(deltas);
+            log.warn("Stock ledger flush failed, {} products will be retried", deltas.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
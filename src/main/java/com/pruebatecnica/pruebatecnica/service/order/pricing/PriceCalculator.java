@@ -1,5 +1,6 @@
 package com.pruebatecnica.pruebatecnica.service.order.pricing;
 
+import com.pruebatecnica.pruebatecnica.model.Money;
 import com.pruebatecnica.pruebatecnica.model.OrderLine;
 import org.springframework.stereotype.Component;
 
@@ -10,14 +11,21 @@ import java.util.List;
 public class PriceCalculator {
 
     public BigDecimal calculateSubtotal(List<OrderLine> orderLines) {
-        return orderLines.stream()
-                .map(this::lineTotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return Money.toBigDecimal(calculateSubtotalCents(orderLines));
     }
 
-    private BigDecimal lineTotal(OrderLine line) {
-        return line.getProduct()
-                .getPrice()
-                .multiply(BigDecimal.valueOf(line.getQuantity()));
+    /**
+     * Subtotal en céntimos, sin crear objetos por línea.
+     */
+    public long calculateSubtotalCents(List<OrderLine> orderLines) {
+        long subtotal = 0;
+        for (OrderLine line : orderLines) {
+            subtotal = Math.addExact(subtotal, lineTotalCents(line));
+        }
+        return subtotal;
+    }
+
+    private long lineTotalCents(OrderLine line) {
+        return Money.times(line.getProduct().getPriceCents(), line.getQuantity());
     }
 }
@@ -0,0 +1,125 @@
+package com.pruebatecnica.pruebatecnica.service.order.reservation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rueda de tiempo con hash (hashed timing wheel) para vencimientos de ids.
+ *
+ * El tiempo avanza en ticks de tickMillis y cada vencimiento va a la ranura
+ * de su tick módulo el tamaño de la rueda. Programar es O(1) y cada avance
+ * solo recorre las ranuras de los ticks transcurridos, sin importar cuántos
+ * vencimientos haya pendientes. Los plazos más largos que una vuelta se
+ * quedan en su ranura hasta la vuelta que toca.
+ *
+ * schedule puede llamarse desde cualquier hilo; advance, solo desde uno.
+ * Los vencimientos se resuelven con la precisión de un tick.
+ */
+public class ExpiryWheel {
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final int mask;
+    private final List<List<Entry>> slots;
+    private final Queue<Entry> incoming = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    // Siguiente tick por procesar; solo lo toca el hilo que llama a advance
+    private long nextTick;
+
+    /**
+     * @param wheelSize número de ranuras, se redondea a potencia de dos
+     */
+    public ExpiryWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis < 1 || wheelSize < 1) {
+            throw new IllegalArgumentException("Tick and wheel size must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(wheelSize - 1, 1)) << 1;
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.mask = size - 1;
+        this.slots = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            slots.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Programa el vencimiento de id en deadlineMillis. Un plazo ya pasado
+     * vence en el siguiente avance.
+     */
+    public void schedule(long id, long deadlineMillis) {
+        // Se redondea hacia arriba: nunca vence antes de su plazo
+        long deadlineTick = Math.ceilDiv(deadlineMillis - startMillis, tickMillis);
+        incoming.add(new Entry(id, deadlineTick));
+        pending.incrementAndGet();
+    }
+
+    /**
+     * Avanza la rueda hasta nowMillis y devuelve los ids vencidos.
+     */
+    public List<Long> advance(long nowMillis) {
+        long currentTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        placeIncoming();
+        if (currentTick < nextTick) {
+            return List.of();
+        }
+
+        List<Long> expired = new ArrayList<>();
+        // Tras una pausa de más de una vuelta basta con recorrer cada ranura una vez
+        long ticks = Math.min(currentTick - nextTick + 1, slots.size());
+        for (long tick = nextTick; tick < nextTick + ticks; tick++) {
+            expireSlot(slots.get((int) (tick & mask)), currentTick, expired);
+        }
+        nextTick = currentTick + 1;
+        pending.addAndGet(-expired.size());
+        return expired;
+    }
+
+    /**
+     * Vencimientos programados que aún no se han devuelto.
+     */
+    public int pending() {
+        return pending.get();
+    }
+
+    private void placeIncoming() {
+        Entry entry;
+        while ((entry = incoming.poll()) != null) {
+            // Los ya vencidos van a la ranura del siguiente tick por procesar
+            long tick = Math.max(entry.deadlineTick, nextTick);
+            slots.get((int) (tick & mask)).add(entry);
+        }
+    }
+
+    /**
+     * Saca de la ranura los vencidos hasta currentTick y compacta el resto
+     * (los de vueltas posteriores) en el mismo orden.
+     */
+    private static void expireSlot(List<Entry> slot, long currentTick, List<Long> expired) {
+        int kept = 0;
+        for (int i = 0; i < slot.size(); i++) {
+            Entry entry = slot.get(i);
+            if (entry.deadlineTick <= currentTick) {
+                expired.add(entry.id);
+            } else {
+                slot.set(kept++, entry);
+            }
+        }
+        slot.subList(kept, slot.size()).clear();
+    }
+
+    private static final class Entry {
+
+        private final long id;
+        private final long deadlineTick;
+
+        Entry(long id, long deadlineTick) {
+            this.id = id;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
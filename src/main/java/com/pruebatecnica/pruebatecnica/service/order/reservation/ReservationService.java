@@ -0,0 +1,237 @@
+package com.pruebatecnica.pruebatecnica.service.order.reservation;
+
+import com.pruebatecnica.pruebatecnica.dto.CreateOrderRequest;
+import com.pruebatecnica.pruebatecnica.dto.ReservationResponse;
+import com.pruebatecnica.pruebatecnica.exception.ReservationExpiredException;
+import com.pruebatecnica.pruebatecnica.model.Order;
+import com.pruebatecnica.pruebatecnica.model.OrderStatus;
+import com.pruebatecnica.pruebatecnica.model.StockReservation;
+import com.pruebatecnica.pruebatecnica.repository.OrderRepository;
+import com.pruebatecnica.pruebatecnica.repository.ProductQuantityView;
+import com.pruebatecnica.pruebatecnica.repository.StockReservationRepository;
+import com.pruebatecnica.pruebatecnica.repository.StockReservationView;
+import com.pruebatecnica.pruebatecnica.service.order.InventoryUpdater;
+import com.pruebatecnica.pruebatecnica.service.order.OrderService;
+import com.pruebatecnica.pruebatecnica.service.order.PreparedOrder;
+import com.pruebatecnica.pruebatecnica.service.sales.SalesAggregates;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checkout con reserva de stock: la orden se crea PENDING con el stock ya
+ * descontado y una reserva que vence a los reservations.ttl. Pagar la
+ * confirma; cancelarla o dejarla vencer la cancela y devuelve el stock.
+ *
+ * Los vencimientos viven en una ExpiryWheel que avanza un hilo propio cada
+ * tick. Las reservas vencidas de un tick se liberan en transacciones de
+ * batch-size órdenes, con un UPDATE de stock por producto en cada una.
+ */
+@Service
+public class ReservationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationService.class);
+
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final StockReservationRepository reservationRepository;
+    private final InventoryUpdater inventoryUpdater;
+    private final SalesAggregates salesAggregates;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final long tickMillis;
+    private final int batchSize;
+    private final ExpiryWheel wheel;
+    private final ScheduledExecutorService ticker;
+
+    public ReservationService(OrderService orderService,
+                              OrderRepository orderRepository,
+                              StockReservationRepository reservationRepository,
+                              InventoryUpdater inventoryUpdater,
+                              SalesAggregates salesAggregates,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${reservations.ttl:PT15M}") Duration ttl,
+                              @Value("${reservations.expiry.tick:PT1S}") Duration tick,
+                              @Value("${reservations.expiry.wheel-size:512}") int wheelSize,
+                              @Value("${reservations.expiry.batch-size:500}") int batchSize,
+                              @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("reservations.expiry.batch-size must be positive");
+        }
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.reservationRepository = reservationRepository;
+        this.inventoryUpdater = inventoryUpdater;
+        this.salesAggregates = salesAggregates;
+        this.transactionTemplate = transactionTemplate;
+        this.ttl = ttl;
+        this.tickMillis = tick.toMillis();
+        this.batchSize = batchSize;
+        this.wheel = new ExpiryWheel(tickMillis, wheelSize, System.currentTimeMillis());
+        Thread.Builder threads = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon(true);
+        this.ticker = Executors.newSingleThreadScheduledExecutor(threads.name("reservation-expiry").factory());
+    }
+
+    /**
+     * Valida y calcula la orden como createOrder, descuenta el stock y la
+     * guarda PENDING junto con su reserva.
+     */
+    @Transactional
+    public ReservationResponse reserve(CreateOrderRequest request) {
+        PreparedOrder prepared = orderService.prepareOrder(request);
+        inventoryUpdater.updateStock(prepared.getOrderLines());
+
+        Order order = orderRepository.save(prepared.getOrder());
+        salesAggregates.recordCreated(order);
+
+        LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+        reservationRepository.save(new StockReservation(order.getId(), expiresAt));
+        scheduleAfterCommit(order.getId(), expiresAt);
+        return new ReservationResponse(order.getId(), order.getStatus(), order.getTotalAmount(), expiresAt);
+    }
+
+    /**
+     * Confirma la orden si su reserva no ha vencido. Pagar una orden ya
+     * confirmada la devuelve sin cambios.
+     *
+     * @throws ReservationExpiredException si la reserva venció o se canceló
+     */
+    @Transactional
+    public Order pay(Long orderId) {
+        Order order = orderRepository.findWithItemsById(orderId)
+                .orElseThrow(() -> new RuntimeException("Order not found: " + orderId));
+
+        // Borrar la reserva es lo que reclama la orden frente a la cancelación y el vencimiento
+        if (reservationRepository.deleteUnexpired(orderId, LocalDateTime.now()) == 0) {
+            if (order.getStatus() == OrderStatus.CONFIRMED) {
+                return order;
+            }
+            throw new ReservationExpiredException(orderId);
+        }
+        order.setStatus(OrderStatus.CONFIRMED);
+        salesAggregates.recordStatusChange(order, OrderStatus.PENDING);
+        return order;
+    }
+
+    /**
+     * Cancela la orden y devuelve su stock. Devuelve false si ya no tenía
+     * reserva (pagada, cancelada o vencida).
+     */
+    @Transactional
+    public boolean cancel(Long orderId) {
+        if (!orderRepository.existsById(orderId)) {
+            throw new RuntimeException("Order not found: " + orderId);
+        }
+        return release(List.of(orderId)) == 1;
+    }
+
+    /**
+     * Programa las reservas que sobrevivieron a un reinicio (las ya vencidas
+     * se liberan en el primer tick) y arranca la rueda.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<StockReservationView> reservations = reservationRepository.findAllExpiries();
+        for (StockReservationView reservation : reservations) {
+            wheel.schedule(reservation.getOrderId(), toEpochMillis(reservation.getExpiresAt()));
+        }
+        if (!reservations.isEmpty()) {
+            log.info("Scheduled expiry of {} stock reservations", reservations.size());
+        }
+        ticker.scheduleAtFixedRate(this::expireDue, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Reservas programadas que aún no han vencido (incluye las ya pagadas o
+     * canceladas: la rueda las descarta al vencer).
+     */
+    public int getScheduledExpiries() {
+        return wheel.pending();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    private void expireDue() {
+        // Una excepción aquí cancelaría las ejecuciones siguientes del ticker
+        try {
+            List<Long> expired = wheel.advance(System.currentTimeMillis());
+            for (int from = 0; from < expired.size(); from += batchSize) {
+                expireBatch(expired.subList(from, Math.min(from + batchSize, expired.size())));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Reservation expiry tick failed", e);
+        }
+    }
+
+    private void expireBatch(List<Long> orderIds) {
+        try {
+            Integer released = transactionTemplate.execute(status -> release(orderIds));
+            log.debug("Released {} of {} expired reservations", released, orderIds.size());
+        } catch (RuntimeException e) {
+            long retryAt = System.currentTimeMillis() + tickMillis;
+            orderIds.forEach(orderId -> wheel.schedule(orderId, retryAt));
+            log.warn("Could not release {} expired reservations, retrying next tick", orderIds.size(), e);
+        }
+    }
+
+    /**
+     * Cancela las órdenes que aún tienen reserva y devuelve su stock. Las
+     * reservas se bloquean primero, así que un pago concurrente o bien ya
+     * las borró o espera y no las encuentra. Las unidades se suman por
+     * producto para todas las órdenes a la vez.
+     */
+    private int release(Collection<Long> orderIds) {
+        List<Long> claimed = reservationRepository.lockByOrderIds(orderIds).stream()
+                .map(StockReservation::getOrderId)
+                .toList();
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (ProductQuantityView line : orderRepository.sumQuantitiesByProduct(claimed)) {
+            quantities.put(line.getProductId(), Math.toIntExact(line.getQuantity()));
+        }
+        reservationRepository.deleteByOrderIds(claimed);
+        orderRepository.compareAndSetStatus(claimed, OrderStatus.PENDING, OrderStatus.CANCELLED);
+        claimed.forEach(orderId -> salesAggregates.recordStatusChange(OrderStatus.PENDING, OrderStatus.CANCELLED));
+        inventoryUpdater.restoreStock(quantities);
+        return claimed.size();
+    }
+
+    private void scheduleAfterCommit(Long orderId, LocalDateTime expiresAt) {
+        long deadline = toEpochMillis(expiresAt);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                wheel.schedule(orderId, deadline);
+            }
+        });
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -9,6 +9,11 @@ import java.util.List;
 @Component
 public class StockValidator {
 
+    /**
+     * Rechazo temprano con el stock leído al construir las líneas. No protege
+     * frente a pedidos concurrentes: esa garantía la da el UPDATE condicional
+     * de InventoryUpdater.
+     */
     public void validate(List<OrderLine> orderLines) {
         for (OrderLine line : orderLines) {
             int requested = line.getQuantity();
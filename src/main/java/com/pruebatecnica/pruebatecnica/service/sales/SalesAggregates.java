@@ -0,0 +1,146 @@
+package com.pruebatecnica.pruebatecnica.service.sales;
+
+import com.pruebatecnica.pruebatecnica.model.DailySales;
+import com.pruebatecnica.pruebatecnica.model.Order;
+import com.pruebatecnica.pruebatecnica.model.OrderItem;
+import com.pruebatecnica.pruebatecnica.model.OrderStatus;
+import com.pruebatecnica.pruebatecnica.model.OrderStatusCount;
+import com.pruebatecnica.pruebatecnica.model.ProductSales;
+import com.pruebatecnica.pruebatecnica.repository.SalesAggregateRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mantiene los agregados de ventas (por día, por producto y órdenes por
+ * estado) dentro de la transacción que crea o cambia las órdenes.
+ *
+ * Los cambios de una transacción se acumulan en memoria y se escriben justo
+ * antes del commit, una sentencia por clave y siempre en el mismo orden
+ * (productos por id, días, estados). Así las filas de agregados, que todas
+ * las órdenes comparten, se bloquean el menor tiempo posible y dos
+ * transacciones no pueden bloquearse mutuamente.
+ */
+@Component
+public class SalesAggregates {
+
+    private final SalesAggregateRepository salesAggregateRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public SalesAggregates(SalesAggregateRepository salesAggregateRepository,
+                           TransactionTemplate transactionTemplate) {
+        this.salesAggregateRepository = salesAggregateRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Cuenta una orden recién guardada en su estado y, si es una venta, en
+     * las ventas del día y de sus productos.
+     */
+    public void recordCreated(Order order) {
+        Delta delta = currentDelta();
+        delta.addStatus(order.getStatus(), 1);
+        if (order.getStatus().countsAsSale()) {
+            delta.addSale(order, 1);
+        }
+        flushIfNoTransaction(delta);
+    }
+
+    /**
+     * Mueve la orden de from a su estado actual. Si pasa a ser (o deja de
+     * ser) una venta, suma (o resta) sus importes y unidades.
+     */
+    public void recordStatusChange(Order order, OrderStatus from) {
+        OrderStatus to = order.getStatus();
+        Delta delta = currentDelta();
+        delta.addStatus(from, -1);
+        delta.addStatus(to, 1);
+        if (to.countsAsSale() != from.countsAsSale()) {
+            delta.addSale(order, to.countsAsSale() ? 1 : -1);
+        }
+        flushIfNoTransaction(delta);
+    }
+
+    /**
+     * Cambio de estado sin la orden cargada; solo válido si no entra ni sale
+     * de los estados de venta.
+     */
+    public void recordStatusChange(OrderStatus from, OrderStatus to) {
+        if (from.countsAsSale() != to.countsAsSale()) {
+            throw new IllegalArgumentException("A sale status change needs the order: " + from + " -> " + to);
+        }
+        Delta delta = currentDelta();
+        delta.addStatus(from, -1);
+        delta.addStatus(to, 1);
+        flushIfNoTransaction(delta);
+    }
+
+    /**
+     * Delta de la transacción activa, registrado para escribirse en
+     * beforeCommit. Sin transacción se devuelve uno suelto.
+     */
+    private Delta currentDelta() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new Delta();
+        }
+        Delta delta = (Delta) TransactionSynchronizationManager.getResource(this);
+        if (delta == null) {
+            Delta created = new Delta();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    write(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(SalesAggregates.this);
+                }
+            });
+            delta = created;
+        }
+        return delta;
+    }
+
+    private void flushIfNoTransaction(Delta delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionTemplate.executeWithoutResult(status -> write(delta));
+        }
+    }
+
+    private void write(Delta delta) {
+        salesAggregateRepository.add(delta.daily.values(), delta.products.values(), delta.statuses.values());
+    }
+
+    /**
+     * Incrementos pendientes de una transacción, ya en el orden de escritura.
+     */
+    private static class Delta {
+
+        private final Map<Long, ProductSales> products = new TreeMap<>();
+        private final Map<LocalDate, DailySales> daily = new TreeMap<>();
+        private final Map<OrderStatus, OrderStatusCount> statuses = new EnumMap<>(OrderStatus.class);
+
+        void addStatus(OrderStatus status, long count) {
+            statuses.computeIfAbsent(status, key -> new OrderStatusCount(key, 0)).add(count);
+        }
+
+        void addSale(Order order, int sign) {
+            BigDecimal signum = BigDecimal.valueOf(sign);
+            daily.computeIfAbsent(order.getCreatedAt().toLocalDate(), key -> new DailySales(key, BigDecimal.ZERO, 0))
+                    .add(order.getTotalAmount().multiply(signum), sign);
+            for (OrderItem item : order.getItems()) {
+                products.computeIfAbsent(item.getProduct().getId(), key -> new ProductSales(key, 0, BigDecimal.ZERO))
+                        .add((long) item.getQuantity() * sign, item.getTotalPrice().multiply(signum));
+            }
+        }
+    }
+}
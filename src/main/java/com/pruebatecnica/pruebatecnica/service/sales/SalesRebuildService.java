@@ -0,0 +1,137 @@
+package com.pruebatecnica.pruebatecnica.service.sales;
+
+import com.pruebatecnica.pruebatecnica.dto.SalesRebuildResult;
+import com.pruebatecnica.pruebatecnica.model.DailySales;
+import com.pruebatecnica.pruebatecnica.model.OrderStatus;
+import com.pruebatecnica.pruebatecnica.model.OrderStatusCount;
+import com.pruebatecnica.pruebatecnica.model.ProductSales;
+import com.pruebatecnica.pruebatecnica.repository.SalesAggregateRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Recalcula los agregados de ventas desde orders y order_items. El rango
+ * de ids se parte en bloques que se suman en paralelo; el resultado
+ * sustituye a las tablas en una sola transacción.
+ *
+ * Es una operación de mantenimiento (tras una restauración o un cambio en
+ * la definición de los agregados): las órdenes que se confirmen mientras
+ * se ejecuta pueden quedar mal contadas, así que conviene lanzarla sin
+ * tráfico de escritura.
+ */
+@Service
+public class SalesRebuildService {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesRebuildService.class);
+
+    private final SalesAggregateRepository salesAggregateRepository;
+    private final long chunkSize;
+    private final int threads;
+    private final boolean virtualThreads;
+
+    public SalesRebuildService(SalesAggregateRepository salesAggregateRepository,
+                               @Value("${sales.rebuild.chunk-size:100000}") long chunkSize,
+                               @Value("${sales.rebuild.threads:4}") int threads,
+                               @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (chunkSize < 1 || threads < 1) {
+            throw new IllegalArgumentException("sales.rebuild.chunk-size and sales.rebuild.threads must be positive");
+        }
+        this.salesAggregateRepository = salesAggregateRepository;
+        this.chunkSize = chunkSize;
+        this.threads = threads;
+        this.virtualThreads = virtualThreads;
+    }
+
+    public SalesRebuildResult rebuild() {
+        long startNanos = System.nanoTime();
+        Map<LocalDate, DailySales> daily = new ConcurrentHashMap<>();
+        Map<Long, ProductSales> products = new ConcurrentHashMap<>();
+        Map<OrderStatus, OrderStatusCount> statuses = new ConcurrentHashMap<>();
+
+        Optional<long[]> idRange = salesAggregateRepository.findOrderIdRange();
+        int chunks = 0;
+        if (idRange.isPresent()) {
+            long minId = idRange.get()[0];
+            long maxId = idRange.get()[1];
+            List<long[]> ranges = new ArrayList<>();
+            for (long from = minId; from <= maxId; from += chunkSize) {
+                ranges.add(new long[]{from, Math.min(from + chunkSize - 1, maxId)});
+            }
+            chunks = ranges.size();
+            sumInParallel(ranges, daily, products, statuses);
+        }
+
+        salesAggregateRepository.replaceAll(daily.values(), products.values(), statuses.values());
+
+        long ordersCounted = statuses.values().stream().mapToLong(OrderStatusCount::getOrderCount).sum();
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        log.info("Sales aggregates rebuilt from {} orders in {} chunks in {} ms", ordersCounted, chunks, elapsedMillis);
+        return new SalesRebuildResult(ordersCounted, chunks, elapsedMillis);
+    }
+
+    private void sumInParallel(List<long[]> ranges,
+                               Map<LocalDate, DailySales> daily,
+                               Map<Long, ProductSales> products,
+                               Map<OrderStatus, OrderStatusCount> statuses) {
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("sales-rebuild-", 1).factory()
+                : Thread.ofPlatform().name("sales-rebuild-", 1).factory();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, ranges.size()), threadFactory);
+        try {
+            List<Future<?>> futures = new ArrayList<>(ranges.size());
+            for (long[] range : ranges) {
+                futures.add(executor.submit(() -> {
+                    for (DailySales partial : salesAggregateRepository.sumDailySales(range[0], range[1])) {
+                        daily.merge(partial.getDate(), partial, SalesRebuildService::mergeDaily);
+                    }
+                    for (ProductSales partial : salesAggregateRepository.sumProductSales(range[0], range[1])) {
+                        products.merge(partial.getProductId(), partial, SalesRebuildService::mergeProduct);
+                    }
+                    for (OrderStatusCount partial : salesAggregateRepository.countStatuses(range[0], range[1])) {
+                        statuses.merge(partial.getStatus(), partial, SalesRebuildService::mergeStatus);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Sales rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Sales rebuild failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Se crean objetos nuevos: merge puede reintentar la función con los mismos argumentos
+    private static DailySales mergeDaily(DailySales current, DailySales partial) {
+        return new DailySales(current.getDate(), current.getRevenue().add(partial.getRevenue()),
+                current.getOrderCount() + partial.getOrderCount());
+    }
+
+    private static ProductSales mergeProduct(ProductSales current, ProductSales partial) {
+        return new ProductSales(current.getProductId(), current.getUnitsSold() + partial.getUnitsSold(),
+                current.getRevenue().add(partial.getRevenue()));
+    }
+
+    private static OrderStatusCount mergeStatus(OrderStatusCount current, OrderStatusCount partial) {
+        return new OrderStatusCount(current.getStatus(), current.getOrderCount() + partial.getOrderCount());
+    }
+}
@@ -0,0 +1,56 @@
+package com.pruebatecnica.pruebatecnica.service.sales;
+
+import com.pruebatecnica.pruebatecnica.model.DailySales;
+import com.pruebatecnica.pruebatecnica.model.OrderStatusCount;
+import com.pruebatecnica.pruebatecnica.model.ProductSales;
+import com.pruebatecnica.pruebatecnica.repository.SalesAggregateRepository;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Lecturas de los agregados de ventas: cada total es una fila por clave
+ * primaria, sin recorrer orders. Las claves sin ventas devuelven ceros.
+ */
+@Service
+public class SalesReportService {
+
+    // Un año de totales diarios por consulta
+    public static final int MAX_DAYS = 366;
+
+    private final SalesAggregateRepository salesAggregateRepository;
+
+    public SalesReportService(SalesAggregateRepository salesAggregateRepository) {
+        this.salesAggregateRepository = salesAggregateRepository;
+    }
+
+    public DailySales getDailySales(LocalDate date) {
+        return salesAggregateRepository.findDailySales(date)
+                .orElseGet(() -> new DailySales(date, BigDecimal.ZERO, 0));
+    }
+
+    /**
+     * Totales de los días con ventas en [from, to], ambos incluidos.
+     */
+    public List<DailySales> getDailySales(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+            throw new IllegalArgumentException("A range covers at most " + MAX_DAYS + " days");
+        }
+        return salesAggregateRepository.findDailySalesBetween(from, to);
+    }
+
+    public ProductSales getProductSales(Long productId) {
+        return salesAggregateRepository.findProductSales(productId)
+                .orElseGet(() -> new ProductSales(productId, 0, BigDecimal.ZERO));
+    }
+
+    public List<OrderStatusCount> getStatusCounts() {
+        return salesAggregateRepository.findStatusCounts();
+    }
+}
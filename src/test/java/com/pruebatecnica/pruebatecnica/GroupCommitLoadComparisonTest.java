@@ -0,0 +1,72 @@
+package com.pruebatecnica.pruebatecnica;
+
+import com.pruebatecnica.pruebatecnica.LoadComparisonHarness.LoadResult;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.repository.ProductRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Ejecuta POST /api/orders con y sin group commit, y con varias ventanas,
+ * con 200 clientes que compran continuamente 4 productos calientes, e
+ * imprime throughput y latencias de cada configuración: es la tabla con la
+ * que se elige orders.group-commit.window. No afirma que una configuración
+ * sea mejor; las cifras dependen de la máquina y de la base de datos.
+ * Se ejecuta con ./gradlew loadTest.
+ */
+@Tag("load")
+class GroupCommitLoadComparisonTest {
+
+    private static final int CLIENTS = 200;
+    private static final int HOT_PRODUCTS = 4;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(20);
+
+    @Test
+    void compareGroupCommitWindows() throws Exception {
+        List<LoadResult> results = List.of(
+                run("off", false, "PT0S"),
+                run("1ms", true, "PT0.001S"),
+                run("2ms", true, "PT0.002S"),
+                run("5ms", true, "PT0.005S"));
+
+        LoadComparisonHarness.print("window", "orders/s", results);
+
+        assertTrue(results.stream().allMatch(result -> result.getRequests() > 0));
+    }
+
+    private LoadResult run(String mode, boolean groupCommit, String window) throws Exception {
+        try (ConfigurableApplicationContext context = LoadComparisonHarness.start("group-commit-" + mode,
+                "orders.group-commit.enabled=" + groupCommit,
+                "orders.group-commit.window=" + window)) {
+            ProductRepository productRepository = context.getBean(ProductRepository.class);
+            long[] productIds = new long[HOT_PRODUCTS];
+            for (int i = 0; i < HOT_PRODUCTS; i++) {
+                productIds[i] = productRepository
+                        .save(new Product("Hot SKU " + i, BigDecimal.valueOf(10.00), Integer.MAX_VALUE))
+                        .getId();
+            }
+
+            URI orders = URI.create("http://localhost:" + LoadComparisonHarness.port(context) + "/api/orders");
+            return LoadComparisonHarness.measure(mode, CLIENTS, WARMUP, MEASUREMENT, () -> {
+                long productId = productIds[ThreadLocalRandom.current().nextInt(productIds.length)];
+                return HttpRequest.newBuilder(orders)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("""
+                                {"customerName":"Load","customerEmail":"load@test.com","items":[{"productId":%d,"quantity":1}]}
+                                """.formatted(productId)))
+                        .build();
+            });
+        }
+    }
+}
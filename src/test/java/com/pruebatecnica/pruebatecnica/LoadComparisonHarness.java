@@ -0,0 +1,135 @@
+package com.pruebatecnica.pruebatecnica;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Carga en bucle cerrado compartida por los tests de comparación (@Tag
+ * "load"): cada cliente envía su siguiente petición en cuanto recibe la
+ * respuesta anterior, primero durante un calentamiento y después midiendo.
+ */
+final class LoadComparisonHarness {
+
+    private LoadComparisonHarness() {
+    }
+
+    /**
+     * Arranca la aplicación en un puerto aleatorio, con una base H2 propia
+     * para cada modo y los logs por petición desactivados.
+     */
+    static ConfigurableApplicationContext start(String mode, String... properties) {
+        List<String> all = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:load-" + mode,
+                "spring.jpa.show-sql=false",
+                "logging.level.com.pruebatecnica.pruebatecnica=INFO",
+                "logging.level.org.springframework.web=INFO"));
+        all.addAll(List.of(properties));
+        return new SpringApplicationBuilder(PruebatecnicaApplication.class)
+                .properties(all.toArray(new String[0]))
+                .run();
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    static LoadResult measure(String mode, int clients, Duration warmup, Duration measurement,
+                              Supplier<HttpRequest> requests) throws InterruptedException {
+        drive(clients, warmup, requests, null);
+        LoadResult result = new LoadResult(mode, measurement);
+        drive(clients, measurement, requests, result);
+        return result;
+    }
+
+    static void print(String modeHeader, String throughputHeader, List<LoadResult> results) {
+        System.out.println();
+        System.out.printf("%-10s %12s %10s %10s %10s %8s%n",
+                modeHeader, throughputHeader, "p50 ms", "p99 ms", "max ms", "errors");
+        for (LoadResult result : results) {
+            System.out.printf("%-10s %12.0f %10.1f %10.1f %10.1f %8d%n", result.mode, result.throughput(),
+                    result.percentileMillis(0.50), result.percentileMillis(0.99), result.percentileMillis(1.0),
+                    result.errors);
+        }
+    }
+
+    private static void drive(int clients, Duration duration, Supplier<HttpRequest> requests, LoadResult result)
+            throws InterruptedException {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().executor(executor).build()) {
+            long deadline = System.nanoTime() + duration.toNanos();
+            for (int client = 0; client < clients; client++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = requests.get();
+                        long start = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 300;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        if (result != null) {
+                            result.record(System.nanoTime() - start, ok);
+                        }
+                    }
+                    return null;
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        }
+    }
+
+    static final class LoadResult {
+
+        private final String mode;
+        private final Duration duration;
+        private final List<Long> latencies = new ArrayList<>();
+        private long requests;
+        private long errors;
+
+        private LoadResult(String mode, Duration duration) {
+            this.mode = mode;
+            this.duration = duration;
+        }
+
+        synchronized void record(long nanos, boolean ok) {
+            latencies.add(nanos);
+            requests++;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        synchronized long getRequests() {
+            return requests;
+        }
+
+        synchronized double throughput() {
+            return requests / (double) duration.toSeconds();
+        }
+
+        synchronized double percentileMillis(double percentile) {
+            if (latencies.isEmpty()) {
+                return 0;
+            }
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.pruebatecnica.pruebatecnica;
+
+import com.pruebatecnica.pruebatecnica.LoadComparisonHarness.LoadResult;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.repository.ProductRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Ejecuta la misma carga en el modo de hilos de plataforma y en el de hilos
+ * virtuales + bulkhead, con 1000 clientes concurrentes (80% lecturas de
+ * producto, 20% pedidos), e imprime throughput y latencias de cada uno. No
+ * afirma que un modo sea mejor: solo comprueba que ambos atienden
+ * peticiones; las cifras hay que leerlas en la salida de cada máquina.
+ * Se ejecuta con ./gradlew loadTest.
+ */
+@Tag("load")
+class VirtualThreadLoadComparisonTest {
+
+    private static final int CLIENTS = 1_000;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(20);
+
+    @Test
+    void compareThreadingModesAtOneThousandClients() throws Exception {
+        LoadResult platform = run("platform", false);
+        LoadResult virtual = run("virtual", true);
+
+        LoadComparisonHarness.print("mode", "req/s", List.of(platform, virtual));
+
+        assertTrue(platform.getRequests() > 0 && virtual.getRequests() > 0);
+    }
+
+    private LoadResult run(String mode, boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = LoadComparisonHarness.start(mode,
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "db.bulkhead.enabled=" + virtualThreads)) {
+            Long productId = context.getBean(ProductRepository.class)
+                    .save(new Product("Load SKU", BigDecimal.valueOf(10.00), Integer.MAX_VALUE))
+                    .getId();
+
+            String base = "http://localhost:" + LoadComparisonHarness.port(context);
+            URI product = URI.create(base + "/api/products/" + productId);
+            URI orders = URI.create(base + "/api/orders");
+            String orderBody = """
+                    {"customerName":"Load","customerEmail":"load@test.com","items":[{"productId":%d,"quantity":1}]}
+                    """.formatted(productId);
+            return LoadComparisonHarness.measure(mode, CLIENTS, WARMUP, MEASUREMENT, () ->
+                    ThreadLocalRandom.current().nextInt(100) < 80
+                            ? HttpRequest.newBuilder(product).GET().build()
+                            : HttpRequest.newBuilder(orders)
+                                    .header("Content-Type", "application/json")
+                                    .POST(HttpRequest.BodyPublishers.ofString(orderBody))
+                                    .build());
+        }
+    }
+}
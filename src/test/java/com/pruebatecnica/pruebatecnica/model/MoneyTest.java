@@ -0,0 +1,37 @@
+package com.pruebatecnica.pruebatecnica.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void toCents_shouldRoundHalfEvenToTwoDecimals() {
+        assertEquals(99999, Money.toCents(new BigDecimal("999.99")));
+        assertEquals(150, Money.toCents(BigDecimal.valueOf(1.5)));
+        assertEquals(1002, Money.toCents(new BigDecimal("10.025")));
+        assertEquals(1004, Money.toCents(new BigDecimal("10.035")));
+    }
+
+    @Test
+    void toBigDecimal_shouldAlwaysUseScaleTwo() {
+        assertEquals(new BigDecimal("60.00"), Money.toBigDecimal(6000));
+        assertEquals(new BigDecimal("0.05"), Money.toBigDecimal(5));
+    }
+
+    @Test
+    void percentOf_shouldRoundHalfEvenToTheCent() {
+        assertEquals(400, Money.percentOf(4000, 1_000));
+        assertEquals(2, Money.percentOf(15, 1_000));
+        assertEquals(2, Money.percentOf(25, 1_000));
+        assertEquals(1236, Money.percentOf(12355, 1_000));
+    }
+
+    @Test
+    void times_shouldFailInsteadOfOverflowing() {
+        assertThrows(ArithmeticException.class, () -> Money.times(Long.MAX_VALUE / 2, 3));
+    }
+}
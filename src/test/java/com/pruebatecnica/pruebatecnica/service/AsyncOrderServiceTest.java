@@ -0,0 +1,154 @@
+package com.pruebatecnica.pruebatecnica.service;
+
+import com.pruebatecnica.pruebatecnica.exception.OrderQueueFullException;
+import com.pruebatecnica.pruebatecnica.exception.ProductNotFoundException;
+import com.pruebatecnica.pruebatecnica.model.Order;
+import com.pruebatecnica.pruebatecnica.model.OrderStatus;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.repository.OrderRepository;
+import com.pruebatecnica.pruebatecnica.repository.ProductRepository;
+import com.pruebatecnica.pruebatecnica.repository.ProductStockView;
+import com.pruebatecnica.pruebatecnica.service.order.AsyncOrderService;
+import com.pruebatecnica.pruebatecnica.service.order.OrderService;
+import com.pruebatecnica.pruebatecnica.service.order.validation.OrderRequestValidator;
+import com.pruebatecnica.pruebatecnica.service.sales.SalesAggregates;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.pruebatecnica.pruebatecnica.service.OrderTestSupport.awaitFinalStatus;
+import static com.pruebatecnica.pruebatecnica.service.OrderTestSupport.order;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = {
+        "orders.async.queue-capacity=2",
+        "orders.async.workers=1"
+})
+class AsyncOrderServiceTest {
+
+    @Autowired
+    private AsyncOrderService asyncOrderService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @AfterEach
+    void waitForWorkers() throws InterruptedException {
+        awaitQueueDrained();
+    }
+
+    private void awaitQueueDrained() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (asyncOrderService.getQueuedOrders() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    void givenValidOrder_shouldAcceptAsPendingAndConfirmInBackground() throws InterruptedException {
+        Product product = productRepository.save(new Product("Async Product", new BigDecimal("12.50"), 10));
+
+        Order accepted = asyncOrderService.submit(order(product.getId(), 2));
+
+        assertEquals(OrderStatus.PENDING, accepted.getStatus());
+        assertEquals(OrderStatus.CONFIRMED, awaitFinalStatus(orderService, accepted.getId()));
+
+        Order confirmed = orderRepository.findWithItemsById(accepted.getId()).orElseThrow();
+        assertEquals(new BigDecimal("25.00"), confirmed.getTotalAmount());
+        assertEquals(new BigDecimal("25.00"), confirmed.getItems().get(0).getTotalPrice());
+        assertEquals(8, productRepository.findStockById(product.getId()).orElseThrow());
+    }
+
+    @Test
+    void givenInsufficientStock_shouldCancelOrder() throws InterruptedException {
+        Product product = productRepository.save(new Product("Scarce Product", new BigDecimal("5.00"), 1));
+
+        Order accepted = asyncOrderService.submit(order(product.getId(), 3));
+
+        assertEquals(OrderStatus.CANCELLED, awaitFinalStatus(orderService, accepted.getId()));
+        assertEquals(1, productRepository.findStockById(product.getId()).orElseThrow());
+    }
+
+    @Test
+    void givenUnknownProduct_shouldRejectBeforeSaving() {
+        long ordersBefore = orderRepository.count();
+
+        assertThrows(ProductNotFoundException.class, () -> asyncOrderService.submit(order(999_999L, 1)));
+        assertEquals(ordersBefore, orderRepository.count());
+    }
+
+    @Test
+    void givenFullQueue_shouldRejectWithoutSaving() throws InterruptedException {
+        OrderRepository mockOrders = mockOrderRepository();
+        OrderService blockingOrderService = mock(OrderService.class);
+        CountDownLatch release = new CountDownLatch(1);
+        when(blockingOrderService.confirmPendingOrder(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        });
+
+        AsyncOrderService service = mockedService(mockOrders, blockingOrderService);
+        try {
+            service.submit(order(1L, 1));
+            service.submit(order(1L, 1));
+
+            assertThrows(OrderQueueFullException.class, () -> service.submit(order(1L, 1)));
+            verify(mockOrders, times(2)).save(any(Order.class));
+        } finally {
+            release.countDown();
+            service.shutdown();
+        }
+        assertEquals(0, service.getQueuedOrders());
+    }
+
+    @Test
+    void givenStoppedWorkers_shouldRejectAndReleaseTheSlot() throws InterruptedException {
+        AsyncOrderService service = mockedService(mockOrderRepository(), mock(OrderService.class));
+        service.shutdown();
+
+        assertThrows(OrderQueueFullException.class, () -> service.submit(order(1L, 1)));
+        assertEquals(0, service.getQueuedOrders());
+    }
+
+    private static OrderRepository mockOrderRepository() {
+        OrderRepository mockOrders = mock(OrderRepository.class);
+        when(mockOrders.save(any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            order.setId(System.nanoTime());
+            return order;
+        });
+        return mockOrders;
+    }
+
+    /**
+     * Servicio con cola de 2 y un worker sobre repositorios simulados.
+     */
+    private static AsyncOrderService mockedService(OrderRepository mockOrders, OrderService orderService) {
+        ProductRepository mockProducts = mock(ProductRepository.class);
+        ProductStockView stock = mock(ProductStockView.class);
+        when(stock.getId()).thenReturn(1L);
+        when(mockProducts.findStockByIdIn(any())).thenReturn(List.of(stock));
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        return new AsyncOrderService(new OrderRequestValidator(), mockOrders, mockProducts,
+                orderService, transactionTemplate, mock(SalesAggregates.class), 2, 1, false);
+    }
+}
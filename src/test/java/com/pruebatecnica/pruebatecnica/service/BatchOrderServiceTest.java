@@ -0,0 +1,82 @@
+package com.pruebatecnica.pruebatecnica.service;
+
+import com.pruebatecnica.pruebatecnica.dto.BatchOrderResponse;
+import com.pruebatecnica.pruebatecnica.dto.BatchOrderResult;
+import com.pruebatecnica.pruebatecnica.dto.CreateOrderRequest;
+import com.pruebatecnica.pruebatecnica.dto.OrderItemRequest;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.repository.ProductRepository;
+import com.pruebatecnica.pruebatecnica.service.order.BatchOrderService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.pruebatecnica.pruebatecnica.service.OrderTestSupport.order;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "orders.batch.chunk-size=4")
+class BatchOrderServiceTest {
+
+    @Autowired
+    private BatchOrderService batchOrderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void givenMixedBatch_shouldReportEachOrderAndNeverOversell() {
+        Product product = productRepository.save(new Product("Batch SKU", BigDecimal.valueOf(5.00), 6));
+
+        List<CreateOrderRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            requests.add(order(product.getId(), 1));
+        }
+        requests.set(2, new CreateOrderRequest("", "bad@test.com", List.of(new OrderItemRequest(product.getId(), 1))));
+        requests.set(5, order(999_999L, 1));
+
+        BatchOrderResponse response = batchOrderService.createOrders(requests);
+
+        assertEquals(10, response.getResults().size());
+        assertEquals(6, response.getCreated());
+        assertEquals(4, response.getRejected());
+        assertEquals(BatchOrderResult.Status.REJECTED, response.getResults().get(2).getStatus());
+        assertEquals(BatchOrderResult.Status.REJECTED, response.getResults().get(5).getStatus());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, response.getResults().get(i).getIndex());
+        }
+        assertEquals(0, productRepository.findStockById(product.getId()).orElseThrow());
+    }
+
+    @Test
+    void givenRejectedOrderInCommittedChunk_shouldCountItOnce() {
+        Product product = productRepository.save(new Product("Batch Metrics SKU", BigDecimal.valueOf(5.00), 5));
+        Counter validation = meterRegistry.get("orders.rejected").tag("cause", "validation").counter();
+        double before = validation.count();
+
+        batchOrderService.createOrders(List.of(
+                new CreateOrderRequest("", "bad@test.com", List.of(new OrderItemRequest(product.getId(), 1))),
+                order(product.getId(), 1)));
+
+        assertEquals(before + 1, validation.count());
+    }
+
+    @Test
+    void givenOversizedBatch_shouldRejectWholeRequest() {
+        List<CreateOrderRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 10_001; i++) {
+            requests.add(order(1L, 1));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> batchOrderService.createOrders(requests));
+    }
+
+}
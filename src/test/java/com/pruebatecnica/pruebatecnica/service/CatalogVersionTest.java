@@ -0,0 +1,71 @@
+package com.pruebatecnica.pruebatecnica.service;
+
+import com.pruebatecnica.pruebatecnica.exception.InsufficientStockException;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.repository.ProductRepository;
+import com.pruebatecnica.pruebatecnica.service.catalog.CatalogVersion;
+import com.pruebatecnica.pruebatecnica.service.order.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static com.pruebatecnica.pruebatecnica.service.OrderTestSupport.order;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CatalogVersionTest {
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void givenOrderDecrementingStock_shouldChangeVersionAndETag() {
+        Product product = productService.saveProduct(new Product("Versioned", BigDecimal.valueOf(3.00), 10));
+        CatalogVersion.Snapshot before = catalogVersion.current();
+
+        orderService.createOrder(order(product.getId(), 2));
+
+        CatalogVersion.Snapshot after = catalogVersion.current();
+        assertTrue(after.getVersion() > before.getVersion());
+        assertNotEquals(before.getETag(), after.getETag());
+        assertTrue(after.getLastModifiedMillis() >= before.getLastModifiedMillis());
+    }
+
+    @Test
+    void givenRejectedOrder_shouldKeepVersion() {
+        Product product = productRepository.save(new Product("Versioned", BigDecimal.valueOf(3.00), 1));
+        CatalogVersion.Snapshot before = catalogVersion.current();
+
+        assertThrows(InsufficientStockException.class, () -> orderService.createOrder(order(product.getId(), 5)));
+
+        assertEquals(before.getVersion(), catalogVersion.current().getVersion());
+    }
+
+    @Test
+    void givenRolledBackTransaction_shouldNotChangeVersion() {
+        CatalogVersion.Snapshot before = catalogVersion.current();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            catalogVersion.changed();
+            assertEquals(before.getVersion(), catalogVersion.current().getVersion());
+            status.setRollbackOnly();
+        });
+
+        assertEquals(before.getVersion(), catalogVersion.current().getVersion());
+    }
+}
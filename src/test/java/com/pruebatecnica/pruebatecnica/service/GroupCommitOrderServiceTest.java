@@ -0,0 +1,176 @@
+package com.pruebatecnica.pruebatecnica.service;
+
+import com.pruebatecnica.pruebatecnica.dto.CreateOrderRequest;
+import com.pruebatecnica.pruebatecnica.dto.OrderItemRequest;
+import com.pruebatecnica.pruebatecnica.exception.GroupCommitUnavailableException;
+import com.pruebatecnica.pruebatecnica.exception.InsufficientStockException;
+import com.pruebatecnica.pruebatecnica.exception.ProductNotFoundException;
+import com.pruebatecnica.pruebatecnica.model.Order;
+import com.pruebatecnica.pruebatecnica.model.OrderStatus;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.repository.ProductRepository;
+import com.pruebatecnica.pruebatecnica.service.order.BatchOrderService;
+import com.pruebatecnica.pruebatecnica.service.order.GroupCommitOrderService;
+import com.pruebatecnica.pruebatecnica.service.order.OrderOutcome;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.pruebatecnica.pruebatecnica.service.OrderTestSupport.order;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "orders.group-commit.enabled=true",
+        "orders.group-commit.window=PT0.02S",
+        "orders.group-commit.max-batch=16"
+})
+class GroupCommitOrderServiceTest {
+
+    private static final int BUYERS = 40;
+    private static final int INITIAL_STOCK = 25;
+
+    @Autowired
+    private GroupCommitOrderService groupCommitOrderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void givenConcurrentBuyers_shouldGiveEachCallerItsOwnResultWithoutOverselling() throws Exception {
+        Product product = productRepository.save(new Product("Group SKU", BigDecimal.valueOf(3.00), INITIAL_STOCK));
+
+        AtomicInteger confirmed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService buyers = Executors.newFixedThreadPool(BUYERS);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < BUYERS; i++) {
+            String email = "buyer" + i + "@test.com";
+            futures.add(buyers.submit(() -> {
+                start.await();
+                try {
+                    Order order = groupCommitOrderService.createOrder(new CreateOrderRequest(
+                            "Buyer", email, List.of(new OrderItemRequest(product.getId(), 1))));
+                    assertEquals(OrderStatus.CONFIRMED, order.getStatus());
+                    assertEquals(email, order.getCustomerEmail());
+                    assertNotNull(order.getId());
+                    confirmed.incrementAndGet();
+                } catch (InsufficientStockException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        buyers.shutdown();
+
+        int finalStock = productRepository.findStockById(product.getId()).orElseThrow();
+        assertEquals(INITIAL_STOCK, confirmed.get());
+        assertEquals(BUYERS - INITIAL_STOCK, rejected.get());
+        assertEquals(0, finalStock);
+    }
+
+    @Test
+    void givenRejectedOrderInGroup_shouldOnlyFailThatCaller() {
+        assertThrows(ProductNotFoundException.class, () -> groupCommitOrderService.createOrder(
+                new CreateOrderRequest("Buyer", "ghost@test.com", List.of(new OrderItemRequest(999_999L, 1)))));
+    }
+
+    @Test
+    void givenBatchFailingWithError_shouldFailCallersAndKeepCommitting() throws Exception {
+        BatchOrderService batchOrderService = mock(BatchOrderService.class);
+        when(batchOrderService.createChunk(any()))
+                .thenThrow(new AssertionError("boom"))
+                .thenThrow(new IllegalStateException("second batch"));
+        GroupCommitOrderService service = new GroupCommitOrderService(
+                batchOrderService, Duration.ZERO, 16, Duration.ofSeconds(5), false);
+        try {
+            assertThrows(IllegalStateException.class, () -> service.createOrder(order(1L, 1)));
+            // El hilo sigue vivo: el segundo grupo también recibe su resultado
+            IllegalStateException second = assertThrows(IllegalStateException.class, () -> service.createOrder(order(1L, 1)));
+            assertEquals("second batch", second.getMessage());
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void givenSlowCommit_shouldOnlyGiveUpOnOrdersStillQueued() throws Exception {
+        BatchOrderService batchOrderService = mock(BatchOrderService.class);
+        CountDownLatch committing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Order order = new Order("Buyer", "buyer@test.com");
+        when(batchOrderService.createChunk(any())).thenAnswer(invocation -> {
+            committing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(OrderOutcome.created(order));
+        });
+        GroupCommitOrderService service = new GroupCommitOrderService(
+                batchOrderService, Duration.ZERO, 1, Duration.ofMillis(100), false);
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+        try {
+            Future<Order> grouped = callers.submit(() -> service.createOrder(order(1L, 1)));
+            assertTrue(committing.await(5, TimeUnit.SECONDS));
+
+            // Sigue en la cola detrás del grupo lento: se retira y se rechaza
+            assertThrows(GroupCommitUnavailableException.class, () -> service.createOrder(order(1L, 1)));
+
+            // Ya estaba en un grupo: espera más allá del timeout a su resultado
+            release.countDown();
+            assertSame(order, grouped.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            callers.shutdown();
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void givenVirtualThreads_shouldCommitOnAVirtualThread() throws Exception {
+        BatchOrderService batchOrderService = mock(BatchOrderService.class);
+        Order order = new Order("Buyer", "buyer@test.com");
+        AtomicBoolean virtual = new AtomicBoolean();
+        when(batchOrderService.createChunk(any())).thenAnswer(invocation -> {
+            virtual.set(Thread.currentThread().isVirtual());
+            return List.of(OrderOutcome.created(order));
+        });
+        GroupCommitOrderService service = new GroupCommitOrderService(
+                batchOrderService, Duration.ZERO, 1, Duration.ofSeconds(5), true);
+        try {
+            assertSame(order, service.createOrder(order(1L, 1)));
+            assertTrue(virtual.get());
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void givenShutdown_shouldRejectNewOrders() throws Exception {
+        GroupCommitOrderService service = new GroupCommitOrderService(
+                mock(BatchOrderService.class), Duration.ZERO, 16, Duration.ofSeconds(5), false);
+        service.shutdown();
+
+        assertThrows(GroupCommitUnavailableException.class, () -> service.createOrder(order(1L, 1)));
+    }
+
+}
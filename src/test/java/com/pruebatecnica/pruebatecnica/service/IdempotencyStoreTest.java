@@ -0,0 +1,152 @@
+package com.pruebatecnica.pruebatecnica.service;
+
+import com.pruebatecnica.pruebatecnica.exception.IdempotencyKeyReusedException;
+import com.pruebatecnica.pruebatecnica.service.order.idempotency.IdempotencyStore;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.pruebatecnica.pruebatecnica.service.OrderTestSupport.order;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+    private final IdempotencyStore store = new IdempotencyStore(
+            JsonMapper.builder().build(), 1_000, Duration.ofMinutes(5), Duration.ofSeconds(5));
+
+    @Test
+    void givenRepeatedKey_shouldReturnOriginalResultWithoutRunningAgain() {
+        AtomicInteger executions = new AtomicInteger();
+
+        String first = store.execute("key-1", order(1L, 1), () -> "order-" + executions.incrementAndGet(), result -> true);
+        String second = store.execute("key-1", order(1L, 1), () -> "order-" + executions.incrementAndGet(), result -> true);
+
+        assertEquals("order-1", first);
+        assertEquals("order-1", second);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void givenKeyReusedWithDifferentBody_shouldReject() {
+        store.execute("key-1", order(1L, 1), () -> "order-1", result -> true);
+
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> store.execute("key-1", order(1L, 2), () -> "order-2", result -> true));
+    }
+
+    @Test
+    void givenResultNotKept_shouldRunAgainOnRetry() {
+        AtomicInteger executions = new AtomicInteger();
+
+        store.execute("key-1", order(1L, 1), executions::incrementAndGet, result -> false);
+        int retried = store.execute("key-1", order(1L, 1), executions::incrementAndGet, result -> false);
+
+        assertEquals(2, retried);
+    }
+
+    @Test
+    void givenFailedAttempt_shouldReleaseKey() {
+        assertThrows(IllegalStateException.class, () -> store.execute("key-1", order(1L, 1),
+                () -> { throw new IllegalStateException("boom"); }, result -> true));
+
+        assertEquals("order-1", store.execute("key-1", order(1L, 1), () -> "order-1", result -> true));
+    }
+
+    @Test
+    void givenAttemptFailingWithError_shouldReleaseKey() {
+        assertThrows(AssertionError.class, () -> store.execute("key-1", order(1L, 1),
+                () -> { throw new AssertionError("boom"); }, result -> true));
+
+        assertEquals("order-1", store.execute("key-1", order(1L, 1), () -> "order-1", result -> true));
+    }
+
+    @Test
+    void givenFullCache_shouldNotEvictRequestInProgress() throws Exception {
+        IdempotencyStore smallStore = new IdempotencyStore(
+                JsonMapper.builder().build(), 1, Duration.ofMinutes(5), Duration.ofSeconds(5));
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<String> first = executor.submit(() -> smallStore.execute("key-1", order(1L, 1), () -> {
+                executions.incrementAndGet();
+                firstStarted.countDown();
+                awaitQuietly(release);
+                return "order-1";
+            }, result -> true));
+            assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+
+            for (int i = 0; i < 100; i++) {
+                smallStore.execute("other-" + i, order(1L, 1), () -> "other", result -> true);
+            }
+            Future<String> duplicate = executor.submit(() -> smallStore.execute("key-1", order(1L, 1), () -> {
+                executions.incrementAndGet();
+                return "duplicate";
+            }, result -> true));
+            // Sigue esperando a la primera en lugar de ejecutar otra vez
+            assertThrows(TimeoutException.class, () -> duplicate.get(200, TimeUnit.MILLISECONDS));
+            release.countDown();
+
+            assertEquals("order-1", first.get(5, TimeUnit.SECONDS));
+            assertEquals("order-1", duplicate.get(5, TimeUnit.SECONDS));
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void givenConcurrentDuplicates_shouldWaitForFirstAttempt() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            Future<String> first = executor.submit(() -> store.execute("key-1", order(1L, 1), () -> {
+                executions.incrementAndGet();
+                firstStarted.countDown();
+                awaitQuietly(release);
+                return "order-1";
+            }, result -> true));
+            assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+
+            List<Future<String>> duplicates = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                duplicates.add(executor.submit(() -> store.execute("key-1", order(1L, 1), () -> {
+                    executions.incrementAndGet();
+                    return "duplicate";
+                }, result -> true)));
+            }
+            release.countDown();
+
+            assertEquals("order-1", first.get(5, TimeUnit.SECONDS));
+            for (Future<String> duplicate : duplicates) {
+                assertEquals("order-1", duplicate.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.pruebatecnica.pruebatecnica.service;
+
+import com.pruebatecnica.pruebatecnica.dto.CreateOrderRequest;
+import com.pruebatecnica.pruebatecnica.dto.OrderItemRequest;
+import com.pruebatecnica.pruebatecnica.exception.InsufficientStockException;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.repository.ProductRepository;
+import com.pruebatecnica.pruebatecnica.service.order.OrderService;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class InventoryConcurrencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryConcurrencyTest.class);
+
+    private static final int BUYERS = 64;
+    private static final int ORDERS_PER_BUYER = 5;
+    private static final int INITIAL_STOCK = 100;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void givenParallelBuyersOfSameProduct_shouldNeverOversell() throws Exception {
+        Product product = productRepository.save(new Product("Flash Sale SKU", BigDecimal.valueOf(9.99), INITIAL_STOCK));
+
+        AtomicInteger confirmed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService buyers = Executors.newFixedThreadPool(BUYERS);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < BUYERS; i++) {
+            String email = "buyer" + i + "@test.com";
+            futures.add(buyers.submit(() -> {
+                start.await();
+                for (int j = 0; j < ORDERS_PER_BUYER; j++) {
+                    try {
+                        orderService.createOrder(new CreateOrderRequest(
+                                "Buyer", email, List.of(new OrderItemRequest(product.getId(), 1))));
+                        confirmed.incrementAndGet();
+                    } catch (InsufficientStockException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        buyers.shutdown();
+
+        int finalStock = productRepository.findStockById(product.getId()).orElseThrow();
+        int attempts = BUYERS * ORDERS_PER_BUYER;
+        log.debug("{} parallel buyers, {} attempts: {} confirmed, {} rejected, {} orders/s",
+                BUYERS, attempts, confirmed.get(), rejected.get(), Math.round(attempts / (elapsedNanos / 1e9)));
+
+        assertEquals(INITIAL_STOCK, confirmed.get());
+        assertEquals(attempts - INITIAL_STOCK, rejected.get());
+        assertEquals(0, finalStock);
+    }
+}
@@ -0,0 +1,112 @@
+package com.pruebatecnica.pruebatecnica.service;
+
+import com.pruebatecnica.pruebatecnica.model.Order;
+import com.pruebatecnica.pruebatecnica.model.OrderItem;
+import com.pruebatecnica.pruebatecnica.model.OrderStatus;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.repository.OrderRepository;
+import com.pruebatecnica.pruebatecnica.repository.ProductRepository;
+import com.pruebatecnica.pruebatecnica.service.order.OrderExportFormat;
+import com.pruebatecnica.pruebatecnica.service.order.OrderExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class OrderExportServiceTest {
+
+    // Ventana propia en el pasado para no ver las órdenes de otros tests
+    private static final LocalDateTime FROM = LocalDateTime.of(2001, 1, 1, 0, 0);
+    private static final LocalDateTime TO = FROM.plusDays(1);
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Order confirmed;
+    private Order pending;
+
+    @BeforeEach
+    void createOrders() {
+        orderRepository.deleteAll(orderRepository.findAll().stream()
+                .filter(order -> order.getCreatedAt().getYear() == FROM.getYear())
+                .toList());
+
+        Product manzana = productRepository.findById(1L).orElseThrow();
+        Product pera = productRepository.findById(2L).orElseThrow();
+
+        confirmed = new Order("Pérez, Ana", "ana@test.com");
+        confirmed.setCreatedAt(FROM.plusHours(10));
+        confirmed.setStatus(OrderStatus.CONFIRMED);
+        confirmed.addItem(new OrderItem(manzana, 2));
+        confirmed.addItem(new OrderItem(pera, 1));
+        confirmed.setTotalAmount(new BigDecimal("5.00"));
+        confirmed = orderRepository.save(confirmed);
+
+        pending = new Order("Luis", "luis@test.com");
+        pending.setCreatedAt(FROM.plusHours(12));
+        pending = orderRepository.save(pending);
+
+        Order outsideWindow = new Order("Fuera", "fuera@test.com");
+        outsideWindow.setCreatedAt(TO);
+        orderRepository.save(outsideWindow);
+    }
+
+    private List<String> export(OrderStatus status, OrderExportFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        orderExportService.export(FROM, TO, status, format, out);
+        return out.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+    @Test
+    void givenCsv_shouldWriteOneRowPerLineWithHeader() throws IOException {
+        List<String> lines = export(null, OrderExportFormat.CSV);
+
+        assertEquals(4, lines.size());
+        assertTrue(lines.get(0).startsWith("order_id,created_at,status"));
+        assertEquals(confirmed.getId() + ",2001-01-01T10:00,CONFIRMED,\"Pérez, Ana\",ana@test.com,5.00,1,Manzana,2,1.50,3.00",
+                lines.get(1));
+        assertTrue(lines.get(2).startsWith(confirmed.getId() + ","));
+        // Una orden sin líneas sale con los campos de producto vacíos
+        assertEquals(pending.getId() + ",2001-01-01T12:00,PENDING,Luis,luis@test.com,0.00,,,,,", lines.get(3));
+    }
+
+    @Test
+    void givenStatus_shouldOnlyExportMatchingOrders() throws IOException {
+        List<String> lines = export(OrderStatus.PENDING, OrderExportFormat.CSV);
+
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(1).startsWith(pending.getId() + ","));
+    }
+
+    @Test
+    void givenNdjson_shouldWriteOneJsonObjectPerRow() throws IOException {
+        List<String> lines = export(OrderStatus.CONFIRMED, OrderExportFormat.NDJSON);
+
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("\"orderId\":" + confirmed.getId()));
+        assertTrue(lines.get(0).contains("\"productName\":\"Manzana\""));
+        assertTrue(lines.get(1).contains("\"productName\":\"Pera\""));
+    }
+
+    @Test
+    void givenEmptyRange_shouldReject() {
+        assertThrows(IllegalArgumentException.class,
+                () -> orderExportService.export(TO, FROM, null, OrderExportFormat.CSV, new ByteArrayOutputStream()));
+    }
+}
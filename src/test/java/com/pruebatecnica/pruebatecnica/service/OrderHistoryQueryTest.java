@@ -0,0 +1,131 @@
+package com.pruebatecnica.pruebatecnica.service;
+
+import com.pruebatecnica.pruebatecnica.dto.OrderPageResponse;
+import com.pruebatecnica.pruebatecnica.dto.OrderResponse;
+import com.pruebatecnica.pruebatecnica.model.Order;
+import com.pruebatecnica.pruebatecnica.model.OrderStatus;
+import com.pruebatecnica.pruebatecnica.repository.OrderRepository;
+import com.pruebatecnica.pruebatecnica.service.order.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class OrderHistoryQueryTest {
+
+    private static final String EMAIL = "history@test.com";
+    // Ventana propia en el pasado para no ver las órdenes de otros tests
+    private static final LocalDateTime START = LocalDateTime.of(2002, 3, 1, 0, 0);
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 12 órdenes del cliente, una por día; las de día par quedan PENDING.
+     * Dos comparten fecha para probar el desempate por id.
+     */
+    @BeforeEach
+    void createOrders() {
+        orderRepository.deleteAll(orderRepository.findAll().stream()
+                .filter(order -> order.getCreatedAt().getYear() == START.getYear())
+                .toList());
+
+        List<Order> orders = new ArrayList<>();
+        for (int day = 0; day < 12; day++) {
+            Order order = new Order("History", EMAIL);
+            order.setCreatedAt(START.plusDays(Math.min(day, 10)));
+            order.setStatus(day % 2 == 0 ? OrderStatus.PENDING : OrderStatus.CONFIRMED);
+            orders.add(order);
+        }
+        Order otherCustomer = new Order("Other", "other-history@test.com");
+        otherCustomer.setCreatedAt(START.plusDays(3));
+        orders.add(otherCustomer);
+        orderRepository.saveAll(orders);
+    }
+
+    @Test
+    void givenCustomerHistory_shouldPageNewestFirstWithoutGapsOrRepeats() {
+        List<OrderResponse> orders = new ArrayList<>();
+        String cursor = null;
+        do {
+            OrderPageResponse page = orderService.getCustomerOrders(EMAIL, null, null, cursor, 5);
+            orders.addAll(page.getOrders());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(12, orders.size());
+        assertTrue(orders.stream().allMatch(order -> EMAIL.equals(order.getCustomerEmail())));
+        for (int i = 1; i < orders.size(); i++) {
+            OrderResponse newer = orders.get(i - 1);
+            OrderResponse older = orders.get(i);
+            assertTrue(newer.getCreatedAt().isAfter(older.getCreatedAt())
+                    || newer.getCreatedAt().equals(older.getCreatedAt()) && newer.getId() > older.getId());
+        }
+    }
+
+    @Test
+    void givenDateRange_shouldOnlyReturnOrdersCreatedInside() {
+        OrderPageResponse page = orderService.getCustomerOrders(EMAIL, START.plusDays(2), START.plusDays(5), null, 20);
+
+        assertEquals(List.of(START.plusDays(4), START.plusDays(3), START.plusDays(2)),
+                page.getOrders().stream().map(OrderResponse::getCreatedAt).toList());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void givenStatus_shouldReturnOnlyOrdersInThatStatus() {
+        OrderPageResponse page = orderService.getOrdersByStatus(
+                OrderStatus.PENDING, START, START.plusMonths(1), null, 20);
+
+        // Días 0, 2, 4, 6, 8 y 10 del cliente más la del otro cliente (PENDING por defecto)
+        assertEquals(7, page.getOrders().size());
+        assertTrue(page.getOrders().stream().allMatch(order -> order.getStatus() == OrderStatus.PENDING));
+        assertEquals(START.plusDays(10), page.getOrders().get(0).getCreatedAt());
+    }
+
+    @Test
+    void givenInvalidParameters_shouldReject() {
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.getCustomerOrders(" ", null, null, null, 20));
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.getCustomerOrders(EMAIL, START.plusDays(1), START, null, 20));
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.getOrdersByStatus(OrderStatus.PENDING, null, null, "not-a-cursor", 20));
+    }
+
+    @Test
+    void givenHistoryQueries_shouldUseCompositeIndexes() {
+        String keyset = " AND o.created_at >= ? AND o.created_at <= ? AND (o.created_at < ? OR o.id < ?)"
+                + " ORDER BY o.created_at DESC, o.id DESC LIMIT 21";
+        Object[] range = {START, START.plusMonths(1), START.plusMonths(1), Long.MIN_VALUE};
+
+        String byCustomer = explain("SELECT o.id FROM orders o WHERE o.customer_email = ?" + keyset, EMAIL, range);
+        String byStatus = explain("SELECT o.id FROM orders o WHERE o.status = ?" + keyset, "PENDING", range);
+
+        assertTrue(byCustomer.contains("IDX_ORDERS_CUSTOMER_CREATED"), byCustomer);
+        assertTrue(byStatus.contains("IDX_ORDERS_STATUS_CREATED"), byStatus);
+        assertFalse(byCustomer.contains("ORDERS.tableScan"), byCustomer);
+        assertFalse(byStatus.contains("ORDERS.tableScan"), byStatus);
+    }
+
+    private String explain(String sql, Object first, Object[] rest) {
+        Object[] args = new Object[rest.length + 1];
+        args[0] = first;
+        System.arraycopy(rest, 0, args, 1, rest.length);
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args));
+    }
+}
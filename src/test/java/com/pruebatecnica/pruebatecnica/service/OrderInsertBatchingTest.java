@@ -0,0 +1,89 @@
+package com.pruebatecnica.pruebatecnica.service;
+
+import com.pruebatecnica.pruebatecnica.dto.CreateOrderRequest;
+import com.pruebatecnica.pruebatecnica.dto.OrderItemRequest;
+import com.pruebatecnica.pruebatecnica.model.Order;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.repository.OrderRepository;
+import com.pruebatecnica.pruebatecnica.repository.ProductRepository;
+import com.pruebatecnica.pruebatecnica.service.order.OrderService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderInsertBatchingTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderInsertBatchingTest.class);
+
+    private static final int LINES_PER_ORDER = 10;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void savingOrderWithTenLines_shouldSendItemsAsOneBatch() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        CreateOrderRequest request = requestWithDistinctProducts();
+
+        // La primera orden inicializa los rangos de ids de las secuencias
+        saveAndFlush(request, null);
+
+        saveAndFlush(request, statistics);
+
+        long statements = statistics.getPrepareStatementCount();
+        log.debug("Statements to insert an order with {} lines: {} (IDENTITY ids needed {})",
+                LINES_PER_ORDER, statements, LINES_PER_ORDER + 1);
+
+        // Un INSERT para orders, un batch para order_items y, como mucho, una
+        // consulta a cada secuencia si se agotó el rango reservado
+        assertTrue(statements <= 4, "Expected at most 4 statements, got " + statements);
+    }
+
+    /**
+     * Prepara la orden y la guarda; si se pasan estadísticas, se reinician
+     * justo antes de guardar para contar solo las sentencias del INSERT.
+     */
+    private void saveAndFlush(CreateOrderRequest request, Statistics statistics) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Order order = orderService.prepareOrder(request).getOrder();
+            if (statistics != null) {
+                statistics.clear();
+            }
+            orderRepository.saveAndFlush(order);
+        });
+    }
+
+    private CreateOrderRequest requestWithDistinctProducts() {
+        List<OrderItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < LINES_PER_ORDER; i++) {
+            Product product = productRepository.save(new Product("Batching " + i, BigDecimal.ONE, 1_000));
+            items.add(new OrderItemRequest(product.getId(), 1));
+        }
+        return new CreateOrderRequest("Batcher", "batch@test.com", items);
+    }
+}
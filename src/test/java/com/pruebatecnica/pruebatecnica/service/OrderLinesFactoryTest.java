@@ -0,0 +1,130 @@
+package com.pruebatecnica.pruebatecnica.service;
+
+import com.pruebatecnica.pruebatecnica.dto.CreateOrderRequest;
+import com.pruebatecnica.pruebatecnica.dto.OrderItemRequest;
+import com.pruebatecnica.pruebatecnica.exception.ProductNotFoundException;
+import com.pruebatecnica.pruebatecnica.model.OrderLine;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.repository.ProductRepository;
+import com.pruebatecnica.pruebatecnica.repository.ProductStockView;
+import com.pruebatecnica.pruebatecnica.service.catalog.ProductCatalogCache;
+import com.pruebatecnica.pruebatecnica.service.catalog.ProductCatalogEntry;
+import com.pruebatecnica.pruebatecnica.service.order.OrderLinesFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderLinesFactoryTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductCatalogCache productCatalogCache;
+
+    @InjectMocks
+    private OrderLinesFactory orderLinesFactory;
+
+    @Test
+    void givenManyLines_shouldResolveProductsWithSingleQuery() {
+        Product p1 = new Product("Manzana", BigDecimal.valueOf(1.50), 100); p1.setId(1L);
+        Product p2 = new Product("Pera",    BigDecimal.valueOf(2.00), 80);  p2.setId(2L);
+
+        CreateOrderRequest request = new CreateOrderRequest(
+                "John Doe",
+                "john@test.com",
+                List.of(new OrderItemRequest(1L, 1), new OrderItemRequest(2L, 3))
+        );
+
+        when(productRepository.findAllById(any())).thenReturn(List.of(p2, p1));
+
+        List<OrderLine> lines = orderLinesFactory.fromRequest(request);
+
+        assertEquals(2, lines.size());
+        assertSame(p1, lines.get(0).getProduct());
+        assertSame(p2, lines.get(1).getProduct());
+        verify(productRepository, times(1)).findAllById(any());
+        verify(productRepository, never()).findById(any());
+    }
+
+    @Test
+    void givenRepeatedProduct_shouldMergeIntoSingleLine() {
+        Product p1 = new Product("Manzana", BigDecimal.valueOf(1.50), 5); p1.setId(1L);
+
+        CreateOrderRequest request = new CreateOrderRequest(
+                "John Doe",
+                "john@test.com",
+                List.of(new OrderItemRequest(1L, 3), new OrderItemRequest(1L, 4))
+        );
+
+        when(productRepository.findAllById(any())).thenReturn(List.of(p1));
+
+        List<OrderLine> lines = orderLinesFactory.fromRequest(request);
+
+        assertEquals(1, lines.size());
+        assertEquals(7, lines.get(0).getQuantity());
+    }
+
+    @Test
+    void givenRepeatedProductOverflowingQuantity_shouldRejectRequest() {
+        CreateOrderRequest request = new CreateOrderRequest(
+                "John Doe",
+                "john@test.com",
+                List.of(new OrderItemRequest(1L, Integer.MAX_VALUE), new OrderItemRequest(1L, 2))
+        );
+
+        assertThrows(IllegalArgumentException.class, () -> orderLinesFactory.fromRequest(request));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void givenUnknownProduct_shouldThrowProductNotFound() {
+        Product p1 = new Product("Manzana", BigDecimal.valueOf(1.50), 5); p1.setId(1L);
+
+        CreateOrderRequest request = new CreateOrderRequest(
+                "John Doe",
+                "john@test.com",
+                List.of(new OrderItemRequest(1L, 1), new OrderItemRequest(99L, 1))
+        );
+
+        when(productRepository.findAllById(any())).thenReturn(List.of(p1));
+
+        ProductNotFoundException exception = assertThrows(ProductNotFoundException.class,
+                () -> orderLinesFactory.fromRequest(request));
+        assertEquals(99L, exception.getProductId());
+    }
+
+    @Test
+    void givenCachedProduct_shouldOnlyReadItsStock() {
+        ProductCatalogEntry entry = new ProductCatalogEntry(1L, "Manzana", BigDecimal.valueOf(1.50), null);
+        ProductStockView stock = mock(ProductStockView.class);
+        when(stock.getId()).thenReturn(1L);
+        when(stock.getStock()).thenReturn(42);
+
+        CreateOrderRequest request = new CreateOrderRequest(
+                "John Doe",
+                "john@test.com",
+                List.of(new OrderItemRequest(1L, 2))
+        );
+
+        when(productCatalogCache.getIfPresent(1L)).thenReturn(entry);
+        when(productRepository.findStockByIdIn(any())).thenReturn(List.of(stock));
+
+        List<OrderLine> lines = orderLinesFactory.fromRequest(request);
+
+        assertEquals(1, lines.size());
+        assertEquals("Manzana", lines.get(0).getProduct().getName());
+        assertEquals(42, lines.get(0).getProduct().getStock());
+        verify(productRepository, never()).findAllById(any());
+    }
+}
@@ -0,0 +1,81 @@
+package com.pruebatecnica.pruebatecnica.service;
+
+import com.pruebatecnica.pruebatecnica.dto.CreateOrderRequest;
+import com.pruebatecnica.pruebatecnica.dto.OrderItemRequest;
+import com.pruebatecnica.pruebatecnica.dto.OrderPageResponse;
+import com.pruebatecnica.pruebatecnica.dto.OrderResponse;
+import com.pruebatecnica.pruebatecnica.model.Order;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.repository.ProductRepository;
+import com.pruebatecnica.pruebatecnica.service.order.OrderService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderQueryCountTest {
+
+    private static final int ORDERS = 10;
+    private static final int LINES_PER_ORDER = 5;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long lastOrderId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        List<OrderItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < LINES_PER_ORDER; i++) {
+            Product product = productRepository.save(new Product("Query Count " + i, BigDecimal.valueOf(2.50), 1_000));
+            items.add(new OrderItemRequest(product.getId(), 1));
+        }
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = orderService.createOrder(new CreateOrderRequest("Reader", "reader@test.com", items));
+            lastOrderId = order.getId();
+        }
+    }
+
+    @Test
+    void getOrderById_shouldLoadOrderItemsAndProductsInAtMostTwoQueries() {
+        statistics.clear();
+
+        OrderResponse order = orderService.getOrderById(lastOrderId);
+
+        assertEquals(LINES_PER_ORDER, order.getItems().size());
+        assertNotNull(order.getItems().get(0).getProductName());
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "Expected at most 2 statements, got " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getOrdersPage_shouldUseFixedNumberOfQueriesRegardlessOfPageSize() {
+        statistics.clear();
+
+        OrderPageResponse page = orderService.getOrdersPage(null, OrderService.MAX_PAGE_SIZE);
+
+        assertTrue(page.getOrders().size() >= ORDERS);
+        page.getOrders().forEach(order -> assertFalse(order.getItems().isEmpty()));
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "Expected at most 2 statements, got " + statistics.getPrepareStatementCount());
+    }
+}
@@ -6,6 +6,7 @@ import com.pruebatecnica.pruebatecnica.model.*;
 import com.pruebatecnica.pruebatecnica.repository.OrderRepository;
 import com.pruebatecnica.pruebatecnica.repository.ProductRepository;
 import com.pruebatecnica.pruebatecnica.service.order.InventoryUpdater;
+import com.pruebatecnica.pruebatecnica.service.order.OrderMetrics;
 import com.pruebatecnica.pruebatecnica.service.order.OrderLinesFactory;
 import com.pruebatecnica.pruebatecnica.service.order.OrderService;
 import com.pruebatecnica.pruebatecnica.service.order.discount.DiscountPolicy;
@@ -13,6 +14,8 @@ import com.pruebatecnica.pruebatecnica.service.order.discount.VarietyDiscountPol
 import com.pruebatecnica.pruebatecnica.service.order.pricing.PriceCalculator;
 import com.pruebatecnica.pruebatecnica.service.order.validation.OrderRequestValidator;
 import com.pruebatecnica.pruebatecnica.service.order.validation.StockValidator;
+import com.pruebatecnica.pruebatecnica.service.sales.SalesAggregates;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -52,14 +55,20 @@ class OrderServiceTest {
     @Mock
     private InventoryUpdater inventoryUpdater;
 
+    @Mock
+    private SalesAggregates salesAggregates;
+
     private final DiscountPolicy discountPolicy = new VarietyDiscountPolicy();
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private OrderService orderService;
 
     @BeforeEach
     void setUp() {
         ReflectionTestUtils.setField(orderService, "discountPolicy", discountPolicy);
+        ReflectionTestUtils.setField(orderService, "orderMetrics", new OrderMetrics(meterRegistry));
     }
 
     @Test
@@ -85,8 +94,8 @@ class OrderServiceTest {
         );
 
         when(orderLinesFactory.fromRequest(request)).thenReturn(orderLines);
-        when(priceCalculator.calculateSubtotal(orderLines)).thenReturn(new BigDecimal("60.00"));
-        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(priceCalculator.calculateSubtotalCents(orderLines)).thenReturn(6000L);
+        when(orderRepository.saveAndFlush(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         BigDecimal expectedTotal = new BigDecimal("60.00");
 
@@ -122,8 +131,8 @@ class OrderServiceTest {
         );
 
         when(orderLinesFactory.fromRequest(request)).thenReturn(orderLines);
-        when(priceCalculator.calculateSubtotal(orderLines)).thenReturn(new BigDecimal("40.00"));
-        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(priceCalculator.calculateSubtotalCents(orderLines)).thenReturn(4000L);
+        when(orderRepository.saveAndFlush(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         BigDecimal expectedTotal = new BigDecimal("36.00");
 
@@ -150,8 +159,8 @@ class OrderServiceTest {
         );
 
         when(orderLinesFactory.fromRequest(request)).thenReturn(orderLines);
-        when(priceCalculator.calculateSubtotal(orderLines)).thenReturn(new BigDecimal("100.00"));
-        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(priceCalculator.calculateSubtotalCents(orderLines)).thenReturn(10000L);
+        when(orderRepository.saveAndFlush(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         BigDecimal expectedTotal = new BigDecimal("100.00");
 
@@ -177,8 +186,8 @@ class OrderServiceTest {
         );
 
         when(orderLinesFactory.fromRequest(request)).thenReturn(orderLines);
-        when(priceCalculator.calculateSubtotal(orderLines)).thenReturn(new BigDecimal("20.00"));
-        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(priceCalculator.calculateSubtotalCents(orderLines)).thenReturn(2000L);
+        when(orderRepository.saveAndFlush(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         assertDoesNotThrow(() -> {
             Order result = orderService.createOrder(request);
@@ -187,4 +196,40 @@ class OrderServiceTest {
             assertEquals(new BigDecimal("20.00"), result.getTotalAmount());
         });
     }
+
+    @Test
+    void testCreateOrder_ShouldRecordEveryStage() {
+        Product p1 = new Product("Test Product", BigDecimal.valueOf(10.00), 5); p1.setId(1L);
+        List<OrderLine> orderLines = List.of(new OrderLine(p1, 1));
+        CreateOrderRequest request = new CreateOrderRequest(
+                "John Doe",
+                "john@test.com",
+                List.of(new OrderItemRequest(1L, 1))
+        );
+
+        when(orderLinesFactory.fromRequest(request)).thenReturn(orderLines);
+        when(priceCalculator.calculateSubtotalCents(orderLines)).thenReturn(1000L);
+        when(orderRepository.saveAndFlush(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        orderService.createOrder(request);
+
+        for (String stage : List.of("validate", "build_lines", "check_stock", "subtotal",
+                "discount", "build_items", "update_inventory", "save")) {
+            assertEquals(1, meterRegistry.get("orders.create.stage").tag("stage", stage).timer().count(), stage);
+        }
+        assertEquals(0.0, meterRegistry.get("orders.create.active").gauge().value());
+    }
+
+    @Test
+    void testCreateOrderWithInvalidRequest_ShouldCountValidationRejection() {
+        CreateOrderRequest request = new CreateOrderRequest("John Doe", "john@test.com", List.of());
+        doThrow(new IllegalArgumentException("Order must contain at least one item"))
+                .when(orderRequestValidator).validate(request);
+
+        assertThrows(IllegalArgumentException.class, () -> orderService.createOrder(request));
+
+        assertEquals(1.0, meterRegistry.get("orders.rejected").tag("cause", "validation").counter().count());
+        assertEquals(0.0, meterRegistry.get("orders.rejected").tag("cause", "insufficient_stock").counter().count());
+        verify(orderRepository, never()).saveAndFlush(any());
+    }
 }
@@ -0,0 +1,39 @@
+package com.pruebatecnica.pruebatecnica.service;
+
+import com.pruebatecnica.pruebatecnica.dto.CreateOrderRequest;
+import com.pruebatecnica.pruebatecnica.dto.OrderItemRequest;
+import com.pruebatecnica.pruebatecnica.model.OrderStatus;
+import com.pruebatecnica.pruebatecnica.service.order.OrderService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Peticiones y esperas que comparten los tests de pedidos.
+ */
+public final class OrderTestSupport {
+
+    private OrderTestSupport() {
+    }
+
+    /**
+     * Pedido de una sola línea.
+     */
+    public static CreateOrderRequest order(Long productId, int quantity) {
+        return new CreateOrderRequest("Buyer", "buyer@test.com", List.of(new OrderItemRequest(productId, quantity)));
+    }
+
+    /**
+     * Espera hasta 10 s a que la orden deje de estar PENDING y devuelve su
+     * estado (PENDING si no cambió a tiempo).
+     */
+    public static OrderStatus awaitFinalStatus(OrderService orderService, Long orderId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        OrderStatus status = orderService.getOrderStatus(orderId);
+        while (status == OrderStatus.PENDING && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            status = orderService.getOrderStatus(orderId);
+        }
+        return status;
+    }
+}
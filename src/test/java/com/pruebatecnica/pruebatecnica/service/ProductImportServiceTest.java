@@ -0,0 +1,123 @@
+package com.pruebatecnica.pruebatecnica.service;
+
+import com.pruebatecnica.pruebatecnica.dto.ProductImportError;
+import com.pruebatecnica.pruebatecnica.dto.ProductImportResult;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.repository.ProductRepository;
+import com.pruebatecnica.pruebatecnica.service.catalog.ProductImportFormat;
+import com.pruebatecnica.pruebatecnica.service.catalog.ProductImportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "catalog.import.batch-size=2")
+class ProductImportServiceTest {
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void givenCsv_shouldInsertProductsWithQuotedFields() throws IOException {
+        ProductImportResult result = productImportService.importCatalog(body("""
+                sku,name,price,stock,description
+                CSV-1,Webcam,59.90,35,"Full HD, con ""micrófono"""
+                CSV-2,Tablet,349.00,12,
+                CSV-3,Cargador,19.99,200,USB-C
+                """), ProductImportFormat.CSV);
+
+        assertEquals(3, result.getRowsRead());
+        assertEquals(3, result.getImported());
+        assertEquals(0, result.getFailed());
+
+        Product webcam = productRepository.findBySku("CSV-1").orElseThrow();
+        assertEquals("Webcam", webcam.getName());
+        assertEquals(0, BigDecimal.valueOf(59.90).compareTo(webcam.getPrice()));
+        assertEquals(35, webcam.getStock());
+        assertEquals("Full HD, con \"micrófono\"", webcam.getDescription());
+        assertNull(productRepository.findBySku("CSV-2").orElseThrow().getDescription());
+    }
+
+    @Test
+    void givenExistingSku_shouldUpdateInsteadOfInserting() throws IOException {
+        productImportService.importCatalog(body("""
+                {"sku": "UPS-1", "name": "Lámpara", "price": 20.00, "stock": 5}
+                """), ProductImportFormat.NDJSON);
+        Long id = productRepository.findBySku("UPS-1").orElseThrow().getId();
+        long count = productRepository.count();
+
+        ProductImportResult result = productImportService.importCatalog(body("""
+                {"sku": "UPS-1", "name": "Lámpara LED", "price": 25.50, "stock": 9, "description": "Blanca"}
+                """), ProductImportFormat.NDJSON);
+
+        assertEquals(1, result.getImported());
+        assertEquals(count, productRepository.count());
+        Product product = productRepository.findById(id).orElseThrow();
+        assertEquals("UPS-1", product.getSku());
+        assertEquals("Lámpara LED", product.getName());
+        assertEquals(9, product.getStock());
+        assertEquals("Blanca", product.getDescription());
+    }
+
+    @Test
+    void givenInvalidRows_shouldReportLineAndImportTheRest() throws IOException {
+        ProductImportResult result = productImportService.importCatalog(body("""
+                sku,name,price,stock
+                ERR-1,Bueno,1.00,1
+                ERR-2,,1.00,1
+                ERR-3,Precio,abc,1
+                ERR-4,Negativo,1.00,-3
+
+                ERR-5,Otro bueno,2.00,2
+                """), ProductImportFormat.CSV);
+
+        assertEquals(5, result.getRowsRead());
+        assertEquals(2, result.getImported());
+        assertEquals(3, result.getFailed());
+        assertEquals(List.of(3L, 4L, 5L), result.getErrors().stream().map(ProductImportError::getLine).toList());
+        assertTrue(productRepository.findBySku("ERR-1").isPresent());
+        assertTrue(productRepository.findBySku("ERR-5").isPresent());
+        assertTrue(productRepository.findBySku("ERR-2").isEmpty());
+    }
+
+    @Test
+    void givenMalformedJsonLine_shouldReportItAndContinue() throws IOException {
+        ProductImportResult result = productImportService.importCatalog(body("""
+                {"sku": "JSON-1", "name": "Silla", "price": 80.00, "stock": 4}
+                {"sku": "JSON-2", "name":
+                {"sku": "JSON-3", "name": "Mesa", "price": 120.00, "stock": 2}
+                """), ProductImportFormat.NDJSON);
+
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(2, result.getErrors().get(0).getLine());
+    }
+
+    @Test
+    void givenCsvWithoutRequiredColumn_shouldReject() {
+        assertThrows(IllegalArgumentException.class, () -> productImportService.importCatalog(body("""
+                sku,name,stock
+                X-1,Sin precio,1
+                """), ProductImportFormat.CSV));
+    }
+
+    @Test
+    void givenSeedData_shouldHaveLoadedSampleCatalog() {
+        assertEquals("Manzana", productRepository.findBySku("FRU-0001").orElseThrow().getName());
+    }
+}
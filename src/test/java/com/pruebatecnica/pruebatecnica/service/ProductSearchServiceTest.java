@@ -0,0 +1,139 @@
+package com.pruebatecnica.pruebatecnica.service;
+
+import com.pruebatecnica.pruebatecnica.dto.ProductPageResponse;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.repository.ProductSearchQuery;
+import com.pruebatecnica.pruebatecnica.repository.ProductSearchRepository;
+import com.pruebatecnica.pruebatecnica.service.catalog.ProductImportFormat;
+import com.pruebatecnica.pruebatecnica.service.catalog.ProductImportService;
+import com.pruebatecnica.pruebatecnica.service.catalog.ProductSearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.pruebatecnica.pruebatecnica.repository.ProductSearchQuery.NameMatch.CONTAINS;
+import static com.pruebatecnica.pruebatecnica.repository.ProductSearchQuery.NameMatch.PREFIX;
+import static com.pruebatecnica.pruebatecnica.repository.ProductSearchQuery.Sort.NAME;
+import static com.pruebatecnica.pruebatecnica.repository.ProductSearchQuery.Sort.PRICE;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ProductSearchServiceTest {
+
+    private static final int PRODUCTS = 300;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private ProductSearchRepository productSearchRepository;
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    /**
+     * Catálogo propio con un prefijo que no usa ningún otro test: nombres
+     * "Zq Lámpara NNN", precio NNN/10 y stock 0 en uno de cada tres. El
+     * upsert por sku hace que repetirlo en cada test no duplique filas.
+     */
+    @BeforeEach
+    void importCatalog() throws IOException {
+        StringBuilder csv = new StringBuilder("sku,name,price,stock\n");
+        for (int i = 0; i < PRODUCTS; i++) {
+            csv.append(String.format("ZQ-%03d,Zq Lámpara %03d,%d.%d,%d%n", i, i, i / 10, i % 10, i % 3));
+        }
+        productImportService.importCatalog(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), ProductImportFormat.CSV);
+    }
+
+    private List<Product> allPages(String name, BigDecimal minPrice, BigDecimal maxPrice, boolean inStock,
+                                   ProductSearchQuery.Sort sort, int size) {
+        List<Product> products = new ArrayList<>();
+        String cursor = null;
+        do {
+            ProductPageResponse page = productSearchService.search(name, PREFIX, minPrice, maxPrice, inStock, sort, cursor, size);
+            assertTrue(page.getProducts().size() <= size);
+            products.addAll(page.getProducts());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return products;
+    }
+
+    @Test
+    void givenNamePrefix_shouldMatchIgnoringCaseAcrossPages() {
+        List<Product> products = allPages("zQ lámpara 1", null, null, false, NAME, 7);
+
+        assertEquals(100, products.size());
+        assertEquals("Zq Lámpara 100", products.get(0).getName());
+        assertEquals("Zq Lámpara 199", products.get(99).getName());
+        for (int i = 1; i < products.size(); i++) {
+            assertTrue(products.get(i - 1).getName().compareTo(products.get(i).getName()) < 0);
+        }
+    }
+
+    @Test
+    void givenPriceRangeAndInStock_shouldFilterAndSortByPrice() {
+        List<Product> products = allPages("zq", new BigDecimal("5.0"), new BigDecimal("9.9"), true, PRICE, 10);
+
+        // Precios 5.0..9.9 son los índices 50..99; un tercio no tiene stock
+        assertEquals(33, products.size());
+        for (Product product : products) {
+            assertTrue(product.getStock() > 0);
+            assertTrue(product.getPrice().compareTo(new BigDecimal("5.0")) >= 0);
+            assertTrue(product.getPrice().compareTo(new BigDecimal("9.9")) <= 0);
+        }
+        for (int i = 1; i < products.size(); i++) {
+            assertTrue(products.get(i - 1).getPrice().compareTo(products.get(i).getPrice()) <= 0);
+        }
+    }
+
+    @Test
+    void givenContains_shouldMatchInsideTheName() {
+        ProductPageResponse page = productSearchService.search("LÁMPARA 25", CONTAINS, null, null, false, NAME, null, 50);
+
+        assertEquals(List.of("Zq Lámpara 250", "Zq Lámpara 251", "Zq Lámpara 252", "Zq Lámpara 253", "Zq Lámpara 254",
+                        "Zq Lámpara 255", "Zq Lámpara 256", "Zq Lámpara 257", "Zq Lámpara 258", "Zq Lámpara 259"),
+                page.getProducts().stream().map(Product::getName).toList());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void givenCursorOfAnotherSort_shouldReject() {
+        String cursor = productSearchService.search("zq", PREFIX, null, null, false, NAME, null, 5).getNextCursor();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> productSearchService.search("zq", PREFIX, null, null, false, PRICE, cursor, 5));
+        assertThrows(IllegalArgumentException.class,
+                () -> productSearchService.search("zq", PREFIX, null, null, false, NAME, "not-a-cursor", 5));
+    }
+
+    @Test
+    void givenNamePrefix_shouldUseNameIndexInsteadOfTableScan() {
+        ProductSearchQuery query = productSearchService.buildQuery("zq lámpara", PREFIX, null, null, true, NAME)
+                .after("zq lámpara 100", 100L);
+
+        String plan = productSearchRepository.explain(query, 21);
+
+        assertTrue(plan.contains("IDX_PRODUCTS_SEARCH_NAME"), plan);
+        assertFalse(plan.contains("PRODUCTS.tableScan"), plan);
+    }
+
+    @Test
+    void givenPriceRange_shouldUsePriceIndexInsteadOfTableScan() {
+        ProductSearchQuery query = productSearchService.buildQuery(
+                null, PREFIX, new BigDecimal("5.0"), new BigDecimal("9.9"), false, PRICE);
+
+        String plan = productSearchRepository.explain(query, 21);
+
+        assertTrue(plan.contains("IDX_PRODUCTS_PRICE"), plan);
+        assertFalse(plan.contains("PRODUCTS.tableScan"), plan);
+    }
+}
@@ -0,0 +1,87 @@
+package com.pruebatecnica.pruebatecnica.service;
+
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.repository.ProductRepository;
+import com.pruebatecnica.pruebatecnica.repository.ProductStockView;
+import com.pruebatecnica.pruebatecnica.service.catalog.CatalogVersion;
+import com.pruebatecnica.pruebatecnica.service.catalog.ProductCatalogCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ProductCatalogCache productCatalogCache = new ProductCatalogCache(meterRegistry, 100, Duration.ofMinutes(5));
+
+    @InjectMocks
+    private ProductService productService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(productService, "productCatalogCache", productCatalogCache);
+        ReflectionTestUtils.setField(productService, "catalogVersion", new CatalogVersion());
+        ReflectionTestUtils.setField(productService, "eventPublisher", mock(ApplicationEventPublisher.class));
+    }
+
+    @Test
+    void givenCachedProduct_shouldServeCatalogFromCacheAndFreshStock() {
+        Product product = new Product("Mouse", BigDecimal.valueOf(25.99), 50); product.setId(7L);
+        when(productRepository.findById(7L)).thenReturn(Optional.of(product));
+        ProductStockView stock = mock(ProductStockView.class);
+        when(stock.getStock()).thenReturn(3);
+        when(productRepository.findStockViewById(7L)).thenReturn(Optional.of(stock));
+
+        productService.getProductById(7L);
+        Product second = productService.getProductById(7L);
+
+        assertEquals("Mouse", second.getName());
+        assertEquals(3, second.getStock());
+        verify(productRepository, times(1)).findById(7L);
+        assertEquals(1, productCatalogCache.stats().hitCount());
+        assertEquals(1, productCatalogCache.stats().missCount());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tags("cache", "products", "result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void givenProductList_shouldNotFillCache() {
+        Product product = new Product("Mouse", BigDecimal.valueOf(25.99), 50); product.setId(7L);
+        when(productRepository.findAll()).thenReturn(List.of(product));
+
+        productService.getAllProducts();
+
+        assertNull(productCatalogCache.getIfPresent(7L));
+    }
+
+    @Test
+    void givenSavedProduct_shouldInvalidateCachedCatalogData() {
+        Product product = new Product("Mouse", BigDecimal.valueOf(25.99), 50); product.setId(7L);
+        when(productRepository.findById(7L)).thenReturn(Optional.of(product));
+        when(productRepository.save(product)).thenReturn(product);
+
+        productService.getProductById(7L);
+        product.setPrice(BigDecimal.valueOf(19.99));
+        productService.saveProduct(product);
+
+        assertNull(productCatalogCache.getIfPresent(7L));
+    }
+}
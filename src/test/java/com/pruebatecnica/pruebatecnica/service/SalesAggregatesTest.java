@@ -0,0 +1,109 @@
+package com.pruebatecnica.pruebatecnica.service;
+
+import com.pruebatecnica.pruebatecnica.dto.SalesRebuildResult;
+import com.pruebatecnica.pruebatecnica.exception.InsufficientStockException;
+import com.pruebatecnica.pruebatecnica.model.DailySales;
+import com.pruebatecnica.pruebatecnica.model.Order;
+import com.pruebatecnica.pruebatecnica.model.OrderStatus;
+import com.pruebatecnica.pruebatecnica.model.OrderStatusCount;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.model.ProductSales;
+import com.pruebatecnica.pruebatecnica.repository.ProductRepository;
+import com.pruebatecnica.pruebatecnica.service.order.OrderService;
+import com.pruebatecnica.pruebatecnica.service.sales.SalesRebuildService;
+import com.pruebatecnica.pruebatecnica.service.sales.SalesReportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.pruebatecnica.pruebatecnica.service.OrderTestSupport.order;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Bloques pequeños para que la reconstrucción use varios hilos
+@SpringBootTest(properties = "sales.rebuild.chunk-size=3")
+class SalesAggregatesTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SalesReportService salesReportService;
+
+    @Autowired
+    private SalesRebuildService salesRebuildService;
+
+    private Map<OrderStatus, Long> statusCounts() {
+        return salesReportService.getStatusCounts().stream()
+                .collect(Collectors.toMap(OrderStatusCount::getStatus, OrderStatusCount::getOrderCount));
+    }
+
+    @Test
+    void givenCreatedOrder_shouldUpdateAggregatesInSameTransaction() {
+        Product product = productRepository.save(new Product("Sales Product", BigDecimal.valueOf(2.50), 10));
+        LocalDate today = LocalDate.now();
+        DailySales dayBefore = salesReportService.getDailySales(today);
+        long confirmedBefore = statusCounts().getOrDefault(OrderStatus.CONFIRMED, 0L);
+
+        Order order = orderService.createOrder(order(product.getId(), 4));
+
+        ProductSales productSales = salesReportService.getProductSales(product.getId());
+        assertEquals(4, productSales.getUnitsSold());
+        assertEquals(0, BigDecimal.valueOf(10).compareTo(productSales.getRevenue()));
+
+        DailySales day = salesReportService.getDailySales(order.getCreatedAt().toLocalDate());
+        if (today.equals(order.getCreatedAt().toLocalDate())) {
+            assertEquals(dayBefore.getOrderCount() + 1, day.getOrderCount());
+            assertEquals(0, dayBefore.getRevenue().add(order.getTotalAmount()).compareTo(day.getRevenue()));
+        }
+        assertEquals(confirmedBefore + 1, statusCounts().get(OrderStatus.CONFIRMED));
+    }
+
+    @Test
+    void givenRejectedOrder_shouldLeaveAggregatesUnchanged() {
+        Product product = productRepository.save(new Product("Sales Scarce Product", BigDecimal.valueOf(3.00), 1));
+        Map<OrderStatus, Long> countsBefore = statusCounts();
+
+        assertThrows(InsufficientStockException.class, () -> orderService.createOrder(order(product.getId(), 2)));
+
+        ProductSales productSales = salesReportService.getProductSales(product.getId());
+        assertEquals(0, productSales.getUnitsSold());
+        assertEquals(countsBefore, statusCounts());
+    }
+
+    @Test
+    void givenRebuild_shouldMatchIncrementalTotals() {
+        Product product = productRepository.save(new Product("Sales Rebuild Product", BigDecimal.valueOf(1.25), 100));
+        // Otros tests guardan órdenes sin pasar por OrderService: se parte de unos agregados recalculados
+        salesRebuildService.rebuild();
+
+        for (int i = 1; i <= 5; i++) {
+            orderService.createOrder(order(product.getId(), i));
+        }
+        Map<OrderStatus, Long> incrementalCounts = statusCounts();
+        ProductSales incrementalProduct = salesReportService.getProductSales(product.getId());
+        DailySales incrementalDay = salesReportService.getDailySales(LocalDate.now());
+
+        SalesRebuildResult result = salesRebuildService.rebuild();
+
+        assertTrue(result.getChunks() > 1);
+        assertEquals(incrementalCounts, statusCounts());
+        assertEquals(incrementalCounts.values().stream().mapToLong(Long::longValue).sum(), result.getOrdersCounted());
+
+        ProductSales rebuiltProduct = salesReportService.getProductSales(product.getId());
+        assertEquals(15, rebuiltProduct.getUnitsSold());
+        assertEquals(incrementalProduct.getUnitsSold(), rebuiltProduct.getUnitsSold());
+        assertEquals(0, incrementalProduct.getRevenue().compareTo(rebuiltProduct.getRevenue()));
+
+        DailySales rebuiltDay = salesReportService.getDailySales(LocalDate.now());
+        assertEquals(incrementalDay.getOrderCount(), rebuiltDay.getOrderCount());
+        assertEquals(0, incrementalDay.getRevenue().compareTo(rebuiltDay.getRevenue()));
+    }
+}
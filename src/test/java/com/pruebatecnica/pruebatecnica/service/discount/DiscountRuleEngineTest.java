@@ -0,0 +1,172 @@
+package com.pruebatecnica.pruebatecnica.service.discount;
+
+import com.pruebatecnica.pruebatecnica.model.OrderLine;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.service.order.discount.rules.DiscountRule;
+import com.pruebatecnica.pruebatecnica.service.order.discount.rules.DiscountRuleEngine;
+import com.pruebatecnica.pruebatecnica.service.order.discount.rules.DiscountRuleType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiscountRuleEngineTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-15T12:00:00Z");
+
+    private final MutableClock clock = new MutableClock(NOW);
+    private final DiscountRuleEngine engine = new DiscountRuleEngine(clock);
+
+    private static List<OrderLine> lines(int distinctProducts, int quantityEach) {
+        List<OrderLine> lines = new ArrayList<>();
+        for (int i = 1; i <= distinctProducts; i++) {
+            Product product = new Product("Product " + i, BigDecimal.valueOf(10.00), 100);
+            product.setId((long) i);
+            lines.add(new OrderLine(product, quantityEach));
+        }
+        return lines;
+    }
+
+    private static DiscountRule rule(String id, DiscountRuleType type, int priority, boolean stackable, int basisPoints) {
+        return new DiscountRule(id, type, priority, stackable, basisPoints);
+    }
+
+    @Test
+    void givenDefaultRules_shouldBehaveLikeVarietyDiscount() {
+        assertEquals(3000L, engine.applyDiscount(3000L, lines(3, 1)));
+        assertEquals(3600L, engine.applyDiscount(4000L, lines(4, 1)));
+    }
+
+    @Test
+    void givenVolumeTiers_shouldApplyHighestPriorityTierReached() {
+        DiscountRule tier10 = rule("tier-10", DiscountRuleType.VOLUME_TIER, 1, false, 500);
+        tier10.setMinQuantity(10);
+        DiscountRule tier50 = rule("tier-50", DiscountRuleType.VOLUME_TIER, 2, false, 1_500);
+        tier50.setMinQuantity(50);
+        engine.reload(List.of(tier10, tier50));
+
+        assertEquals(2000L, engine.applyDiscount(2000L, lines(1, 2)));
+        assertEquals(9500L, engine.applyDiscount(10000L, lines(1, 10)));
+        assertEquals(42500L, engine.applyDiscount(50000L, lines(1, 50)));
+    }
+
+    @Test
+    void givenStackableRules_shouldAddThemUnlessAnExclusiveRuleHasHigherPriority() {
+        DiscountRule product = rule("product-1", DiscountRuleType.PRODUCT, 1, true, 5_000);
+        product.setProductId(1L);
+        DiscountRule customer = rule("vip", DiscountRuleType.CUSTOMER, 1, true, 1_000);
+        customer.setCustomerEmail("VIP@test.com");
+        engine.reload(List.of(product, customer));
+
+        // 50% de la línea del producto 1 (1000) + 10% del subtotal (2000)
+        assertEquals(1300L, engine.applyDiscount(2000L, lines(2, 1), "vip@test.com"));
+        assertEquals(1500L, engine.applyDiscount(2000L, lines(2, 1), "other@test.com"));
+
+        DiscountRule exclusive = rule("flash", DiscountRuleType.VOLUME_TIER, 5, false, 2_000);
+        exclusive.setMinQuantity(1);
+        engine.reload(List.of(product, customer, exclusive));
+
+        assertEquals(1600L, engine.applyDiscount(2000L, lines(2, 1), "vip@test.com"));
+    }
+
+    @Test
+    void givenTimeWindow_shouldOnlyApplyWhileActive() {
+        DiscountRule weekend = rule("weekend", DiscountRuleType.VOLUME_TIER, 0, false, 1_000);
+        weekend.setMinQuantity(1);
+        weekend.setValidFrom(NOW.plus(Duration.ofHours(1)));
+        weekend.setValidUntil(NOW.plus(Duration.ofHours(2)));
+        engine.reload(List.of(weekend));
+
+        assertEquals(1000L, engine.applyDiscount(1000L, lines(1, 1)));
+        clock.advance(Duration.ofMinutes(90));
+        assertEquals(900L, engine.applyDiscount(1000L, lines(1, 1)));
+        clock.advance(Duration.ofHours(1));
+        assertEquals(1000L, engine.applyDiscount(1000L, lines(1, 1)));
+    }
+
+    @Test
+    void givenInvalidRule_shouldKeepPreviousRules() {
+        DiscountRule incomplete = rule("broken", DiscountRuleType.PRODUCT, 0, false, 1_000);
+
+        assertThrows(IllegalArgumentException.class, () -> engine.reload(List.of(incomplete)));
+        assertEquals("variety-4", engine.getRules().get(0).getId());
+    }
+
+    @Test
+    void givenHugeThreshold_shouldRejectRule() {
+        DiscountRule huge = rule("huge", DiscountRuleType.VARIETY, 0, false, 1_000);
+        huge.setMinDistinctProducts(Integer.MAX_VALUE);
+
+        assertThrows(IllegalArgumentException.class, () -> engine.reload(List.of(huge)));
+        assertEquals("variety-4", engine.getRules().get(0).getId());
+    }
+
+    @Test
+    void givenReservedPriority_shouldRejectRule() {
+        DiscountRule lowest = rule("lowest", DiscountRuleType.VARIETY, Integer.MIN_VALUE, false, 1_000);
+        lowest.setMinDistinctProducts(1);
+
+        assertThrows(IllegalArgumentException.class, () -> engine.reload(List.of(lowest)));
+        assertEquals("variety-4", engine.getRules().get(0).getId());
+    }
+
+    @Test
+    void givenRuleChangedAfterReload_shouldKeepCompiledCopy() {
+        DiscountRule tier = rule("tier-1", DiscountRuleType.VOLUME_TIER, 0, false, 1_000);
+        tier.setMinQuantity(1);
+        engine.reload(List.of(tier));
+
+        tier.setBasisPoints(9_000);
+        tier.setMinQuantity(100);
+
+        assertEquals(900L, engine.applyDiscount(1000L, lines(1, 1)));
+        assertEquals(1_000, engine.getRules().get(0).getBasisPoints());
+    }
+
+    @Test
+    void givenDiscountsAboveSubtotal_shouldNeverGoBelowZero() {
+        DiscountRule a = rule("a", DiscountRuleType.VOLUME_TIER, 0, true, 8_000);
+        a.setMinQuantity(1);
+        DiscountRule b = rule("b", DiscountRuleType.VARIETY, 0, true, 8_000);
+        b.setMinDistinctProducts(1);
+        engine.reload(List.of(a, b));
+
+        assertEquals(0L, engine.applyDiscount(1000L, lines(1, 1)));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
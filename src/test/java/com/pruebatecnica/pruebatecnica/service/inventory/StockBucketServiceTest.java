@@ -0,0 +1,148 @@
+package com.pruebatecnica.pruebatecnica.service.inventory;
+
+import com.pruebatecnica.pruebatecnica.exception.InsufficientStockException;
+import com.pruebatecnica.pruebatecnica.model.OrderLine;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.repository.ProductRepository;
+import com.pruebatecnica.pruebatecnica.service.ProductService;
+import com.pruebatecnica.pruebatecnica.service.order.InventoryUpdater;
+import com.pruebatecnica.pruebatecnica.service.order.OrderService;
+import com.pruebatecnica.pruebatecnica.service.order.inventory.StockBucketService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.pruebatecnica.pruebatecnica.service.OrderTestSupport.order;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class StockBucketServiceTest {
+
+    @Autowired
+    private StockBucketService stockBucketService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private InventoryUpdater inventoryUpdater;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void givenHotProduct_shouldReportSumOfBucketsAsStock() {
+        Product product = productRepository.save(new Product("Promo SKU", BigDecimal.valueOf(5.00), 103));
+
+        stockBucketService.markHot(product.getId(), 4);
+
+        assertEquals(103, productRepository.findStockById(product.getId()).orElseThrow());
+        assertEquals(103, productService.getProductById(product.getId()).getStock());
+        assertEquals(103, productService.getAllProducts().stream()
+                .filter(listed -> listed.getId().equals(product.getId()))
+                .findFirst().orElseThrow().getStock());
+        assertTrue(productRepository.findById(product.getId()).orElseThrow().isHot());
+    }
+
+    @Test
+    void givenNoSingleBucketWithEnoughStock_shouldSpreadDecrementAcrossBuckets() {
+        Product product = productRepository.save(new Product("Promo SKU", BigDecimal.valueOf(5.00), 40));
+        stockBucketService.markHot(product.getId(), 4);
+
+        // Cada bucket tiene 10 unidades: 25 solo caben sumando varios
+        orderService.createOrder(order(product.getId(), 25));
+
+        assertEquals(15, productRepository.findStockById(product.getId()).orElseThrow());
+        assertThrows(InsufficientStockException.class, () -> orderService.createOrder(order(product.getId(), 16)));
+        assertEquals(15, productRepository.findStockById(product.getId()).orElseThrow());
+    }
+
+    @Test
+    void givenParallelBuyersOfHotProduct_shouldNeverOversell() throws Exception {
+        int initialStock = 100;
+        int buyers = 32;
+        int ordersPerBuyer = 5;
+        Product product = productRepository.save(new Product("Flash SKU", BigDecimal.valueOf(9.99), initialStock));
+        stockBucketService.markHot(product.getId(), 8);
+
+        AtomicInteger confirmed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(buyers);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < buyers; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < ordersPerBuyer; j++) {
+                    try {
+                        orderService.createOrder(order(product.getId(), 1));
+                        confirmed.incrementAndGet();
+                    } catch (InsufficientStockException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(initialStock, confirmed.get());
+        assertEquals(buyers * ordersPerBuyer - initialStock, rejected.get());
+        assertEquals(0, productRepository.findStockById(product.getId()).orElseThrow());
+    }
+
+    @Test
+    void givenColdAgain_shouldMoveBucketStockBackToProduct() {
+        Product product = productRepository.save(new Product("Promo SKU", BigDecimal.valueOf(5.00), 30));
+        stockBucketService.markHot(product.getId(), 3);
+        orderService.createOrder(order(product.getId(), 4));
+
+        stockBucketService.markCold(product.getId());
+
+        Product cold = productRepository.findById(product.getId()).orElseThrow();
+        assertFalse(cold.isHot());
+        assertEquals(26, cold.getStock());
+    }
+
+    @Test
+    void givenHotFlagChangedAfterRead_shouldDecrementWhereTheStockIs() {
+        Product product = productRepository.save(new Product("Promo SKU", BigDecimal.valueOf(5.00), 20));
+
+        Product readAsCold = productRepository.findById(product.getId()).orElseThrow();
+        stockBucketService.markHot(product.getId(), 2);
+        updateStock(readAsCold, 3);
+        assertEquals(17, productRepository.findStockById(product.getId()).orElseThrow());
+
+        Product readAsHot = productRepository.findById(product.getId()).orElseThrow();
+        stockBucketService.markCold(product.getId());
+        updateStock(readAsHot, 2);
+        assertEquals(15, productRepository.findStockById(product.getId()).orElseThrow());
+    }
+
+    private void updateStock(Product product, int quantity) {
+        transactionTemplate.executeWithoutResult(status ->
+                inventoryUpdater.updateStock(List.of(new OrderLine(product, quantity))));
+    }
+}
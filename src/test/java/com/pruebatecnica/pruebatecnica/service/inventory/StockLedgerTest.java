@@ -0,0 +1,128 @@
+package com.pruebatecnica.pruebatecnica.service.inventory;
+
+import com.pruebatecnica.pruebatecnica.exception.InsufficientStockException;
+import com.pruebatecnica.pruebatecnica.model.OrderLine;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.service.order.inventory.LedgerInventoryUpdater;
+import com.pruebatecnica.pruebatecnica.service.order.inventory.StockLedger;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockLedgerTest {
+
+    private final StockLedger stockLedger = new StockLedger();
+
+    @Test
+    void givenParallelReservations_shouldNeverReserveMoreThanAvailable() throws Exception {
+        stockLedger.load(1L, 100);
+
+        AtomicInteger reserved = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService buyers = Executors.newFixedThreadPool(64);
+        for (int i = 0; i < 64; i++) {
+            buyers.submit(() -> {
+                start.await();
+                for (int j = 0; j < 10; j++) {
+                    if (stockLedger.tryReserve(1L, 1)) {
+                        reserved.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        buyers.shutdown();
+        assertTrue(buyers.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(100, reserved.get());
+        assertEquals(0, stockLedger.available(1L));
+    }
+
+    @Test
+    void givenRecordedSales_shouldDrainNetDeltasOnce() {
+        stockLedger.recordSold(1L, 3);
+        stockLedger.recordSold(1L, 2);
+        stockLedger.recordSold(2L, 1);
+
+        assertEquals(Map.of(1L, 5, 2L, 1), stockLedger.drainPendingDeltas());
+        assertTrue(stockLedger.drainPendingDeltas().isEmpty());
+    }
+
+    @Test
+    void givenUnflushedSales_shouldSubtractThemOnReload() {
+        stockLedger.load(1L, 10);
+        assertTrue(stockLedger.tryReserve(1L, 4));
+        stockLedger.recordSold(1L, 4);
+
+        // products todavía no refleja las 4 unidades vendidas
+        stockLedger.reload(1L, 50);
+
+        assertEquals(46, stockLedger.available(1L));
+        assertEquals(Map.of(1L, 4), stockLedger.drainPendingDeltas());
+    }
+
+    @Test
+    void givenReservationInFlight_shouldKeepItAcrossReloadAndCommit() {
+        stockLedger.load(1L, 10);
+        Product product = new Product("Manzana", BigDecimal.valueOf(1.50), 10); product.setId(1L);
+        LedgerInventoryUpdater inventoryUpdater = new LedgerInventoryUpdater(stockLedger);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            inventoryUpdater.updateStock(List.of(new OrderLine(product, 4)));
+
+            // Una escritura de catálogo sube products de 10 a 15 con el pedido aún abierto
+            stockLedger.reload(1L, 15);
+            assertEquals(11, stockLedger.available(1L));
+
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(11, stockLedger.available(1L));
+        assertEquals(Map.of(1L, 4), stockLedger.drainPendingDeltas());
+    }
+
+    @Test
+    void givenFlushedSales_shouldNotTakeThemForAnExternalWrite() {
+        stockLedger.load(1L, 10);
+        assertTrue(stockLedger.tryReserve(1L, 4));
+        stockLedger.recordSold(1L, 4);
+        stockLedger.recordFlushed(stockLedger.drainPendingDeltas());
+
+        // products ya refleja las 4 unidades: la recarga no cambia nada
+        stockLedger.reload(1L, 6);
+
+        assertEquals(6, stockLedger.available(1L));
+    }
+
+    @Test
+    void givenOneLineWithoutStock_shouldReleaseTheOtherReservations() {
+        Product p1 = new Product("Manzana", BigDecimal.valueOf(1.50), 10); p1.setId(1L);
+        Product p2 = new Product("Pera",    BigDecimal.valueOf(2.00), 1);  p2.setId(2L);
+        LedgerInventoryUpdater inventoryUpdater = new LedgerInventoryUpdater(stockLedger);
+
+        List<OrderLine> lines = List.of(new OrderLine(p1, 4), new OrderLine(p2, 2));
+
+        assertThrows(InsufficientStockException.class, () -> inventoryUpdater.updateStock(lines));
+        assertEquals(10, stockLedger.available(1L));
+        assertEquals(1, stockLedger.available(2L));
+        assertTrue(stockLedger.drainPendingDeltas().isEmpty());
+    }
+}
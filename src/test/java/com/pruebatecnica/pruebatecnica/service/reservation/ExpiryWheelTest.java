@@ -0,0 +1,67 @@
+package com.pruebatecnica.pruebatecnica.service.reservation;
+
+import com.pruebatecnica.pruebatecnica.service.order.reservation.ExpiryWheel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiryWheelTest {
+
+    @Test
+    void givenDeadlines_shouldExpireEachAtItsTickAndNotBefore() {
+        ExpiryWheel wheel = new ExpiryWheel(100, 8, 0);
+        wheel.schedule(1, 250);
+        wheel.schedule(2, 300);
+        wheel.schedule(3, 301);
+
+        assertEquals(List.of(), wheel.advance(200));
+        assertEquals(List.of(1L, 2L), wheel.advance(300));
+        assertEquals(List.of(), wheel.advance(399));
+        assertEquals(List.of(3L), wheel.advance(400));
+        assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    void givenDeadlineSeveralRoundsAhead_shouldWaitForItsRound() {
+        ExpiryWheel wheel = new ExpiryWheel(10, 4, 0);
+        // Misma ranura que el tick 2, tres vueltas después
+        wheel.schedule(7, 140);
+
+        for (long now = 0; now < 140; now += 10) {
+            assertEquals(List.of(), wheel.advance(now), "expired early at " + now);
+        }
+        assertEquals(List.of(7L), wheel.advance(140));
+    }
+
+    @Test
+    void givenPastDeadline_shouldExpireOnNextTick() {
+        ExpiryWheel wheel = new ExpiryWheel(10, 4, 0);
+        wheel.advance(500);
+        wheel.schedule(9, 20);
+
+        assertEquals(List.of(), wheel.advance(505));
+        assertEquals(List.of(9L), wheel.advance(510));
+    }
+
+    @Test
+    void givenPauseLongerThanOneRound_shouldExpireEverythingDue() {
+        ExpiryWheel wheel = new ExpiryWheel(10, 16, 0);
+        List<Long> due = new ArrayList<>();
+        for (long id = 0; id < 1000; id++) {
+            wheel.schedule(id, id * 7);
+            if (id * 7 <= 5000) {
+                due.add(id);
+            }
+        }
+
+        List<Long> expired = new ArrayList<>(wheel.advance(5000));
+        expired.sort(null);
+
+        assertEquals(due, expired);
+        assertEquals(1000 - due.size(), wheel.pending());
+        assertEquals(1000 - due.size(), wheel.advance(7000).size());
+    }
+}
@@ -0,0 +1,107 @@
+package com.pruebatecnica.pruebatecnica.service.reservation;
+
+import com.pruebatecnica.pruebatecnica.dto.ReservationResponse;
+import com.pruebatecnica.pruebatecnica.exception.InsufficientStockException;
+import com.pruebatecnica.pruebatecnica.exception.ReservationExpiredException;
+import com.pruebatecnica.pruebatecnica.model.Order;
+import com.pruebatecnica.pruebatecnica.model.OrderStatus;
+import com.pruebatecnica.pruebatecnica.model.Product;
+import com.pruebatecnica.pruebatecnica.repository.ProductRepository;
+import com.pruebatecnica.pruebatecnica.repository.StockReservationRepository;
+import com.pruebatecnica.pruebatecnica.service.order.OrderService;
+import com.pruebatecnica.pruebatecnica.service.order.reservation.ReservationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.pruebatecnica.pruebatecnica.service.OrderTestSupport.awaitFinalStatus;
+import static com.pruebatecnica.pruebatecnica.service.OrderTestSupport.order;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Reservas cortas y ticks pequeños para ver vencer las reservas en el test
+@SpringBootTest(properties = {
+        "reservations.ttl=PT2S",
+        "reservations.expiry.tick=PT0.05S",
+        "reservations.expiry.batch-size=2"
+})
+class ReservationServiceTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockReservationRepository reservationRepository;
+
+    private int stockOf(Product product) {
+        return productRepository.findStockById(product.getId()).orElseThrow();
+    }
+
+    @Test
+    void givenReservation_shouldHoldStockUntilPaid() {
+        Product product = productRepository.save(new Product("Checkout Product", new BigDecimal("4.00"), 10));
+
+        ReservationResponse reservation = reservationService.reserve(order(product.getId(), 3));
+
+        assertEquals(OrderStatus.PENDING, reservation.getStatus());
+        assertEquals(new BigDecimal("12.00"), reservation.getTotalAmount());
+        assertEquals(7, stockOf(product));
+
+        Order paid = reservationService.pay(reservation.getOrderId());
+
+        assertEquals(OrderStatus.CONFIRMED, paid.getStatus());
+        assertEquals(OrderStatus.CONFIRMED, orderService.getOrderStatus(reservation.getOrderId()));
+        assertTrue(reservationRepository.findByOrderId(reservation.getOrderId()).isEmpty());
+        assertEquals(7, stockOf(product));
+        // Pagar otra vez no cambia nada
+        assertEquals(OrderStatus.CONFIRMED, reservationService.pay(reservation.getOrderId()).getStatus());
+    }
+
+    @Test
+    void givenInsufficientStock_shouldNotReserve() {
+        Product product = productRepository.save(new Product("Checkout Scarce Product", new BigDecimal("4.00"), 1));
+
+        assertThrows(InsufficientStockException.class, () -> reservationService.reserve(order(product.getId(), 2)));
+        assertEquals(1, stockOf(product));
+    }
+
+    @Test
+    void givenCancel_shouldCancelOrderAndRestoreStock() {
+        Product product = productRepository.save(new Product("Checkout Cancelled Product", new BigDecimal("4.00"), 10));
+        ReservationResponse reservation = reservationService.reserve(order(product.getId(), 4));
+
+        assertTrue(reservationService.cancel(reservation.getOrderId()));
+
+        assertEquals(OrderStatus.CANCELLED, orderService.getOrderStatus(reservation.getOrderId()));
+        assertEquals(10, stockOf(product));
+        assertFalse(reservationService.cancel(reservation.getOrderId()));
+        assertThrows(ReservationExpiredException.class, () -> reservationService.pay(reservation.getOrderId()));
+        assertEquals(10, stockOf(product));
+    }
+
+    @Test
+    void givenExpiredReservations_shouldReleaseThemInBatches() throws InterruptedException {
+        Product product = productRepository.save(new Product("Checkout Expiring Product", new BigDecimal("1.00"), 20));
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            orderIds.add(reservationService.reserve(order(product.getId(), 2)).getOrderId());
+        }
+        assertEquals(10, stockOf(product));
+
+        for (Long orderId : orderIds) {
+            assertEquals(OrderStatus.CANCELLED, awaitFinalStatus(orderService, orderId));
+        }
+
+        assertEquals(20, stockOf(product));
+        assertThrows(ReservationExpiredException.class, () -> reservationService.pay(orderIds.get(0)));
+    }
+}